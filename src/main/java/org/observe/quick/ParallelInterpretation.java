@@ -0,0 +1,127 @@
+package org.observe.quick;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.observe.expresso.ExpressoInterpretationException;
+import org.observe.expresso.qonfig.ExElement;
+import org.qommons.ex.ExConsumer;
+
+/**
+ * <p>
+ * Supports interpreting sibling widget subtrees of a Quick document concurrently.
+ * </p>
+ * <p>
+ * Sibling subtrees such as tabs, dialogs or the panes of a split generally have no interpretation-time dependency on each other beyond the
+ * document's models, which are interpreted by the head section before any widget is. For large documents, interpreting these on multiple
+ * cores can significantly reduce startup time.
+ * </p>
+ * <p>
+ * Parallel interpretation is disabled by default, since custom interpretations and some lazily-interpreted model structures may not be
+ * safe to interpret concurrently. It is enabled by setting the system property {@value #PARALLEL_PROPERTY} to <code>true</code>.
+ * </p>
+ * <p>
+ * Errors are deterministic regardless of scheduling: every sibling is interpreted to completion, and the error thrown is that of the
+ * first failed sibling in document order. The failures of any later siblings are held until all the siblings are done, then reported
+ * through each sibling's own {@link ExElement.Interpreted#reporting() reporting} in document order.
+ * </p>
+ */
+public final class ParallelInterpretation {
+	/** The system property which, if <code>true</code>, enables parallel interpretation of sibling widgets */
+	public static final String PARALLEL_PROPERTY = "quick.interpret.parallel";
+
+	private static volatile Boolean isParallel;
+
+	private ParallelInterpretation() {
+	}
+
+	/** @return Whether sibling widgets should be interpreted in parallel */
+	public static boolean isParallel() {
+		Boolean parallel = isParallel;
+		if (parallel == null) {
+			parallel = Boolean.getBoolean(PARALLEL_PROPERTY) && ForkJoinPool.getCommonPoolParallelism() > 1;
+			isParallel = parallel;
+		}
+		return parallel;
+	}
+
+	/**
+	 * Overrides the {@link #PARALLEL_PROPERTY system property}
+	 *
+	 * @param parallel Whether sibling widgets should be interpreted in parallel, or null to revert to the system property
+	 */
+	public static void setParallel(Boolean parallel) {
+		isParallel = parallel;
+	}
+
+	/**
+	 * Updates each of a set of sibling elements, in parallel if {@link #isParallel() enabled}
+	 *
+	 * @param <T> The type of the elements to update
+	 * @param siblings The sibling elements to update
+	 * @param update The update operation for each element
+	 * @throws ExpressoInterpretationException The exception thrown by the first element (in the given order) whose update failed
+	 */
+	public static <T extends ExElement.Interpreted<?>> void updateAll(List<? extends T> siblings,
+		ExConsumer<? super T, ExpressoInterpretationException> update) throws ExpressoInterpretationException {
+		if (siblings.size() < 2 || !isParallel()) {
+			for (T sibling : siblings)
+				update.accept(sibling);
+			return;
+		}
+		List<UpdateTask<T>> tasks = new ArrayList<>(siblings.size());
+		for (T sibling : siblings)
+			tasks.add(new UpdateTask<>(sibling, update));
+		if (ForkJoinTask.inForkJoinPool())
+			ForkJoinTask.invokeAll(tasks);
+		else
+			ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			});
+		UpdateTask<T> failed = null;
+		for (UpdateTask<T> task : tasks) {
+			if (task.theError == null)
+				continue;
+			else if (failed == null)
+				failed = task;
+			else // Only the first failure can be thrown
+				task.theElement.reporting().error(
+					task.theError.getMessage() == null ? task.theError.toString() : task.theError.getMessage(), task.theError);
+		}
+		if (failed == null)
+			return;
+		else if (failed.theError instanceof ExpressoInterpretationException)
+			throw (ExpressoInterpretationException) failed.theError;
+		else if (failed.theError instanceof RuntimeException)
+			throw (RuntimeException) failed.theError;
+		else
+			throw (Error) failed.theError;
+	}
+
+	static class UpdateTask<T extends ExElement.Interpreted<?>> extends RecursiveAction {
+		final T theElement;
+		private final ExConsumer<? super T, ExpressoInterpretationException> theUpdate;
+		Throwable theError;
+
+		UpdateTask(T element, ExConsumer<? super T, ExpressoInterpretationException> update) {
+			theElement = element;
+			theUpdate = update;
+		}
+
+		@Override
+		protected void compute() {
+			// Capture the error instead of completing exceptionally so that the other siblings are still interpreted
+			try {
+				theUpdate.accept(theElement);
+			} catch (ExpressoInterpretationException | RuntimeException | Error e) {
+				theError = e;
+			}
+		}
+	}
+}
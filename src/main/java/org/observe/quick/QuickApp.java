@@ -1,5 +1,8 @@
 package org.observe.quick;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.SplashScreen;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -150,11 +153,9 @@ public class QuickApp extends QonfigApp {
 	public QuickDocument.Def parseQuick(QuickDocument.Def previous)
 		throws IllegalArgumentException, IOException, TextParseException, QonfigParseException, QonfigInterpretationException {
 		ValueHolder<AbstractQIS<?>> docSession = new ValueHolder<>();
-		QuickDocument.Def quickDocDef;
+		QuickDocument.Def quickDocDef = interpretApp(QuickDocument.Def.class, docSession);
 		if (previous != null)
-			quickDocDef = previous;
-		else
-			quickDocDef = interpretApp(QuickDocument.Def.class, docSession);
+			quickDocDef = previous; // Update the previous definition from the new parse, retaining unchanged elements
 		quickDocDef.update(docSession.get().as(ExpressoQIS.class));
 		docSession.clear(); // Free up memory
 		return quickDocDef;
@@ -188,8 +189,28 @@ public class QuickApp extends QonfigApp {
 	 */
 	public BiTuple<QuickApplication, QuickDocument> prepareQuick()
 		throws QonfigInterpretationException, IllegalArgumentException, TextParseException, IOException, QonfigParseException {
+		return prepareQuick(null);
+	}
+
+	/**
+	 * A shortcut to parse, interpret, and instantiate this configured Quick application
+	 *
+	 * @param status Accepts messages describing the progress of the preparation, e.g. for display on a splash screen (may be null)
+	 * @return A tuple containing the {@link QuickApplication} ready to run and the {@link QuickDocument} instance to run it with
+	 * @throws IllegalArgumentException If the {@link #getAppFile()} cannot be resolved
+	 * @throws IOException If the application file or the quick file cannot be read
+	 * @throws TextParseException If the application file or the quick file cannot be parsed as XML
+	 * @throws QonfigParseException If the application file or the quick file cannot be validated
+	 * @throws QonfigInterpretationException If the quick file cannot be interpreted
+	 * @throws ExpressoInterpretationException If model configuration or references in the quick file contain errors
+	 * @throws ModelInstantiationException If the quick document could not be loaded
+	 */
+	public BiTuple<QuickApplication, QuickDocument> prepareQuick(Consumer<String> status)
+		throws QonfigInterpretationException, IllegalArgumentException, TextParseException, IOException, QonfigParseException {
+		reportStatus(status, "Parsing " + getAppFile());
 		QuickDocument.Def quickDocDef = parseQuick(null);
 
+		reportStatus(status, "Interpreting models");
 		InterpretedExpressoEnv env = InterpretedExpressoEnv.INTERPRETED_STANDARD_JAVA;
 		if (quickDocDef.getHead().getClassViewElement() != null)
 			env = env.with(quickDocDef.getHead().getClassViewElement().configureClassView(env.getClassView().copy()).build());
@@ -198,12 +219,14 @@ public class QuickApp extends QonfigApp {
 		ObservableModelSet.ExternalModelSet extModels = parseExtModels(headEnv.getBuiltModels(), getCommandLineArgs(),
 			ObservableModelSet.buildExternal(ObservableModelSet.JAVA_NAME_CHECKER), env);
 
+		reportStatus(status, "Interpreting user interface");
 		QuickDocument.Interpreted interpretedDoc = quickDocDef.interpret(null);
 		quickDocDef = null; // Free up memory
 		interpretedDoc.updateDocument(env.withExt(extModels));
 
 		QuickApplication app = interpretQuickApplication(interpretedDoc);
 
+		reportStatus(status, "Creating user interface");
 		QuickDocument doc = interpretedDoc.create();
 		doc.update(interpretedDoc);
 		doc.instantiated();
@@ -215,6 +238,11 @@ public class QuickApp extends QonfigApp {
 		return new BiTuple<>(app, doc);
 	}
 
+	private static void reportStatus(Consumer<String> status, String message) {
+		if (status != null)
+			status.accept(message);
+	}
+
 	@Override
 	protected void appFileParsed(QonfigDocument doc) {
 		super.appFileParsed(doc);
@@ -261,9 +289,8 @@ public class QuickApp extends QonfigApp {
 	 *        quick document's external models (not yet implemented)
 	 */
 	public static void main(String... clArgs) {
-		// TODO Status (replace Splash Screen a la OSGi)
 		try {
-			startQuick(clArgs);
+			startQuick(splashStatus(), clArgs);
 		} catch (TextParseException e) {
 			e.printStackTrace();
 			JOptionPane.showMessageDialog(null, "<html>" + e.getPosition() + "<br>" + StringUtils.htmlIfy(e.getMessage()),
@@ -290,14 +317,77 @@ public class QuickApp extends QonfigApp {
 	 */
 	public static void startQuick(String... clArgs) throws IllegalArgumentException, IOException, TextParseException, QonfigParseException,
 	QonfigInterpretationException, ExpressoInterpretationException, ModelInstantiationException, IllegalStateException {
+		startQuick(null, clArgs);
+	}
+
+	/**
+	 * Parses, interprets, instantiates, and runs a Quick application
+	 *
+	 * @param status Accepts messages describing the progress of the application startup, e.g. for display on a splash screen (may be
+	 *        null)
+	 * @param clArgs Command-line arguments. --quick-app=? may be used to specify the application setup file. The rest will be passed to the
+	 *        quick document's external models (not yet implemented)
+	 * @throws IllegalArgumentException If the argument does not contain a reference to a quick-app file
+	 * @throws IOException If the application file or the quick file cannot be read
+	 * @throws TextParseException If the application file or the quick file cannot be parsed as XML
+	 * @throws QonfigParseException If the application file or the quick file cannot be validated
+	 * @throws QonfigInterpretationException If the quick file cannot be interpreted
+	 * @throws ExpressoInterpretationException If model configuration or references in the quick file contain errors
+	 * @throws ModelInstantiationException If the quick document could not be loaded
+	 * @throws IllegalStateException If an error occurs loading any internal resources, such as toolkits
+	 */
+	public static void startQuick(Consumer<String> status, String... clArgs) throws IllegalArgumentException, IOException,
+	TextParseException, QonfigParseException, QonfigInterpretationException, ExpressoInterpretationException, ModelInstantiationException,
+	IllegalStateException {
+		reportStatus(status, "Loading application");
 		QuickApp quickApp = parseQuickApp(clArgs);
 
-		BiTuple<QuickApplication, QuickDocument> prepared = quickApp.prepareQuick();
+		BiTuple<QuickApplication, QuickDocument> prepared = quickApp.prepareQuick(status);
 
+		reportStatus(status, "Initializing models");
 		prepared.getValue2().instantiate(Observable.empty());
+		reportStatus(status, "Building user interface");
 		prepared.getValue1().runApplication(prepared.getValue2(), Observable.empty());
 	}
 
+	/**
+	 * @return A status consumer that prints status messages onto the application's {@link SplashScreen splash screen}, or null if the
+	 *         application was not launched with a splash screen
+	 */
+	public static Consumer<String> splashStatus() {
+		SplashScreen splash;
+		try {
+			splash = SplashScreen.getSplashScreen();
+		} catch (UnsupportedOperationException e) { // Headless
+			return null;
+		}
+		if (splash == null)
+			return null;
+		return message -> {
+			if (!splash.isVisible())
+				return;
+			Graphics2D g;
+			try {
+				g = splash.createGraphics();
+			} catch (IllegalStateException e) { // Splash screen closed
+				return;
+			}
+			try {
+				int width = splash.getSize().width;
+				int height = splash.getSize().height;
+				int lineHeight = g.getFontMetrics().getHeight();
+				g.setColor(Color.white);
+				g.fillRect(0, height - lineHeight - 4, width, lineHeight + 4);
+				g.setColor(Color.black);
+				g.drawString(message, 4, height - 4 - g.getFontMetrics().getDescent());
+				splash.update();
+			} catch (IllegalStateException e) { // Splash screen closed
+			} finally {
+				g.dispose();
+			}
+		};
+	}
+
 	/**
 	 * <p>
 	 * Parses an instance of this class from command-line arguments and the application environment.
@@ -120,9 +120,16 @@ public interface QuickContainer<W extends QuickWidget> extends QuickWidget {
 			@Override
 			protected void doUpdate() throws ExpressoInterpretationException {
 				super.doUpdate();
-				syncChildren(getDefinition().getContents(), theContents,
-					def -> (QuickWidget.Interpreted<? extends C>) def.interpret(Interpreted.Abstract.this),
-					QuickWidget.Interpreted::updateElement);
+				if (ParallelInterpretation.isParallel() && getDefinition().getContents().size() > 1) {
+					// Synchronize the structure here, then interpret the independent content subtrees concurrently
+					syncChildren(getDefinition().getContents(), theContents,
+						def -> (QuickWidget.Interpreted<? extends C>) def.interpret(Interpreted.Abstract.this), content -> {
+						});
+					ParallelInterpretation.updateAll(theContents, QuickWidget.Interpreted::updateElement);
+				} else
+					syncChildren(getDefinition().getContents(), theContents,
+						def -> (QuickWidget.Interpreted<? extends C>) def.interpret(Interpreted.Abstract.this),
+						QuickWidget.Interpreted::updateElement);
 			}
 
 			@Override
@@ -2,6 +2,8 @@ package org.observe.quick;
 
 import java.awt.Image;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
 
@@ -364,34 +366,100 @@ public class QuickCoreInterpretation implements QonfigInterpretation {
 	 */
 	public static ModelSetInstanceBuilder copyModels(ModelSetInstance modelModels, ModelComponentId targetVariable, Observable<?> until)
 		throws ModelInstantiationException {
-		return copyModels(modelModels, null, targetVariable, until);
+		return modelCopier(null, modelModels, targetVariable).copy(until);
 	}
 
-	private static ModelSetInstanceBuilder copyModels(ModelSetInstance models, ModelSetInstanceBuilder rootCopy,
-		ModelComponentId targetVariable, Observable<?> until) throws ModelInstantiationException {
+	/**
+	 * Creates a copier for callers that copy the same models many times, e.g. for each row or column of a widget. The caller should keep
+	 * the copier and pass it back in for each copy.
+	 *
+	 * @param previous The copier previously returned from this method for the caller, or null
+	 * @param modelModels The expresso models to copy
+	 * @param targetVariable A variable belonging to the highest-level model to copy
+	 * @return The previous copier if it copies the same models for the same variable, or a new copier otherwise
+	 */
+	public static ModelCopier modelCopier(ModelCopier previous, ModelSetInstance modelModels, ModelComponentId targetVariable) {
+		if (previous != null && previous.theModels == modelModels && previous.theTargetVariable == targetVariable)
+			return previous;
+		return new ModelCopier(modelModels, targetVariable);
+	}
+
+	private static ModelSetInstanceBuilder copyModels(ModelSetInstance models, ModelSetInstanceBuilder rootCopy, CopyPlan plan,
+		Observable<?> until) throws ModelInstantiationException {
 		ModelSetInstanceBuilder copy = models.copy(until);
 		if (rootCopy == null)
 			rootCopy = copy;
-		Iterable<ModelComponentId> components;
-		if (models.getTopLevelModels().size() == 1)
-			components = models.getInheritance();
-		else
-			components = models.getTopLevelModels();
-		for (ModelComponentId modelId : components) {
+		for (int c = 0; c < plan.components.length; c++) {
+			ModelComponentId modelId = plan.components[c];
 			ModelSetInstance model = models.getInherited(modelId);
 			ModelSetInstance inheritedCopy = rootCopy.getInherited(modelId);
 			if (inheritedCopy != model) { // Already copied
 				if (!copy.isSatisfied(modelId) || copy.getInherited(modelId) != inheritedCopy)
 					copy.withAll(inheritedCopy);
-			} else if (modelId == targetVariable.getOwnerId()) {
+			} else if (plan.inherited[c] == null) { // The owner of the target variable
 				ModelSetInstance componentCopy = model.copy(until).build();
 				copy.withAll(componentCopy);
 				if (copy != rootCopy)
 					rootCopy.withAll(componentCopy);
-			} else if (model.getInheritance().contains(targetVariable.getOwnerId())) {
-				copy.withAll(copyModels(model, rootCopy, targetVariable, until).build());
-			}
+			} else
+				copy.withAll(copyModels(model, rootCopy, plan.inherited[c], until).build());
 		}
 		return copy;
 	}
+
+	/** Copies a model set for a target variable, visiting only the models that must be copied for it */
+	public static class ModelCopier {
+		private final ModelSetInstance theModels;
+		private final ModelComponentId theTargetVariable;
+		private final CopyPlan thePlan;
+
+		ModelCopier(ModelSetInstance models, ModelComponentId targetVariable) {
+			theModels = models;
+			theTargetVariable = targetVariable;
+			thePlan = new CopyPlan(models, targetVariable.getOwnerId());
+		}
+
+		/**
+		 * @param until The observable to dismantle the model copy
+		 * @return A model instance containing copies of the model and all other models with the target variable in scope
+		 * @throws ModelInstantiationException If the models could not be copied
+		 */
+		public ModelSetInstanceBuilder copy(Observable<?> until) throws ModelInstantiationException {
+			return copyModels(theModels, null, thePlan, until);
+		}
+	}
+
+	/**
+	 * The models of a model set that must be copied (or linked to copies) to copy it for a target variable. Models that neither own the
+	 * target variable nor inherit its owner are never copied, so they are shared by every copy without being inspected.
+	 */
+	private static class CopyPlan {
+		final ModelComponentId[] components;
+		/** For each component, the plan for copying it, or null if it is the owner of the target variable */
+		final CopyPlan[] inherited;
+
+		CopyPlan(ModelSetInstance models, ModelComponentId owner) {
+			Iterable<ModelComponentId> modelComponents;
+			if (models.getTopLevelModels().size() == 1)
+				modelComponents = models.getInheritance();
+			else
+				modelComponents = models.getTopLevelModels();
+			List<ModelComponentId> components = new ArrayList<>();
+			List<CopyPlan> inherited = new ArrayList<>();
+			for (ModelComponentId modelId : modelComponents) {
+				if (modelId == owner) {
+					components.add(modelId);
+					inherited.add(null);
+				} else {
+					ModelSetInstance model = models.getInherited(modelId);
+					if (model.getInheritance().contains(owner)) {
+						components.add(modelId);
+						inherited.add(new CopyPlan(model, owner));
+					}
+				}
+			}
+			this.components = components.toArray(new ModelComponentId[components.size()]);
+			this.inherited = inherited.toArray(new CopyPlan[inherited.size()]);
+		}
+	}
 }
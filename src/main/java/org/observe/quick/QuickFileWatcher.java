@@ -0,0 +1,214 @@
+package org.observe.quick;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.qommons.Subscription;
+
+/**
+ * <p>
+ * Watches local files for changes using a {@link WatchService}, which is shared by all {@link QuickOsgiComponent}s.
+ * </p>
+ * <p>
+ * Each watched directory is registered once, regardless of how many files in it are watched or by how many components. Bursts of
+ * events for a file (e.g. an editor writing, renaming, and touching the file as part of a single save) are debounced so that each
+ * listener is notified once the file has been quiet for {@link #DEBOUNCE_MILLIS}.
+ * </p>
+ * <p>
+ * If a directory can no longer be watched (e.g. because it has been deleted), the listeners for files in it are told so, and must
+ * check those files some other way.
+ * </p>
+ */
+class QuickFileWatcher {
+	/** The amount of time a file must be quiet after a change before listeners are notified */
+	static final long DEBOUNCE_MILLIS = 250;
+
+	private static QuickFileWatcher theInstance;
+	private static boolean isUnavailable;
+
+	/**
+	 * @param onUnavailable Accepts a message and the cause if the {@link WatchService} cannot be created. Since this is a condition of
+	 *        the whole file system, it is only reported to the first caller.
+	 * @return The shared file watcher, or null if a {@link WatchService} is not available for the default file system
+	 */
+	static synchronized QuickFileWatcher getInstance(BiConsumer<String, Throwable> onUnavailable) {
+		if (theInstance == null && !isUnavailable) {
+			try {
+				theInstance = new QuickFileWatcher(FileSystems.getDefault().newWatchService());
+			} catch (IOException | UnsupportedOperationException e) {
+				isUnavailable = true;
+				onUnavailable.accept("File watching unavailable, falling back to polling", e);
+			}
+		}
+		return theInstance;
+	}
+
+	private final WatchService theService;
+	private final Map<Path, WatchKey> theDirectories;
+	private final Map<Path, List<FileListener>> theListeners;
+	/** Listeners with changes that have not yet been reported, with the time of the most recent change */
+	private final Map<FileListener, Long> thePending;
+
+	private QuickFileWatcher(WatchService service) {
+		theService = service;
+		theDirectories = new HashMap<>();
+		theListeners = new HashMap<>();
+		thePending = new LinkedHashMap<>();
+		Thread thread = new Thread(this::watch, "Quick File Watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @param file The local file to watch
+	 * @param onChange The listener to notify when the file is created, modified, or deleted
+	 * @param onUnwatched The listener to notify if the file's directory can no longer be watched, after which the listener will not be
+	 *        notified of changes to the file
+	 * @param onError Accepts a message and the cause if the listener throws an exception
+	 * @return A subscription to stop watching the file, or null if the file's directory could not be watched
+	 */
+	Subscription watch(Path file, Runnable onChange, Runnable onUnwatched, BiConsumer<String, Throwable> onError) {
+		Path absFile = file.toAbsolutePath().normalize();
+		Path dir = absFile.getParent();
+		if (dir == null)
+			return null;
+		FileListener listener = new FileListener(absFile, onChange, onUnwatched, onError);
+		synchronized (this) {
+			if (!theDirectories.containsKey(dir)) {
+				try {
+					theDirectories.put(dir, dir.register(theService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+				} catch (IOException | UnsupportedOperationException e) {
+					return null;
+				}
+			}
+			theListeners.computeIfAbsent(absFile, __ -> new ArrayList<>(2)).add(listener);
+		}
+		return () -> unwatch(absFile, listener);
+	}
+
+	private synchronized void unwatch(Path file, FileListener listener) {
+		List<FileListener> listeners = theListeners.get(file);
+		if (listeners == null || !listeners.remove(listener))
+			return;
+		thePending.remove(listener);
+		if (!listeners.isEmpty())
+			return;
+		theListeners.remove(file);
+		Path dir = file.getParent();
+		for (Path watched : theListeners.keySet()) {
+			if (dir.equals(watched.getParent()))
+				return; // Still watching other files in the directory
+		}
+		WatchKey key = theDirectories.remove(dir);
+		if (key != null)
+			key.cancel();
+	}
+
+	private void watch() {
+		while (true) {
+			WatchKey key;
+			try {
+				boolean pending;
+				synchronized (this) {
+					pending = !thePending.isEmpty();
+				}
+				if (pending)
+					key = theService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+				else
+					key = theService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			List<FileListener> toFire = new ArrayList<>();
+			List<FileListener> unwatched = new ArrayList<>();
+			synchronized (this) {
+				if (key != null) {
+					Path dir = (Path) key.watchable();
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							// Events were lost--assume everything in the directory changed
+							for (Map.Entry<Path, List<FileListener>> listeners : theListeners.entrySet()) {
+								if (dir.equals(listeners.getKey().getParent())) {
+									for (FileListener listener : listeners.getValue())
+										thePending.put(listener, now);
+								}
+							}
+						} else {
+							List<FileListener> listeners = theListeners.get(dir.resolve((Path) event.context()));
+							if (listeners != null) {
+								for (FileListener listener : listeners)
+									thePending.put(listener, now);
+							}
+						}
+					}
+					if (!key.reset()) { // The directory can no longer be watched, e.g. because it was deleted
+						theDirectories.values().remove(key);
+						Iterator<List<FileListener>> listenerIter = theListeners.values().iterator();
+						while (listenerIter.hasNext()) {
+							List<FileListener> listeners = listenerIter.next();
+							if (dir.equals(listeners.get(0).file.getParent())) {
+								for (FileListener listener : listeners) {
+									thePending.remove(listener);
+									unwatched.add(listener);
+								}
+								listenerIter.remove();
+							}
+						}
+					}
+				}
+				Iterator<Map.Entry<FileListener, Long>> pendingIter = thePending.entrySet().iterator();
+				while (pendingIter.hasNext()) {
+					Map.Entry<FileListener, Long> pending = pendingIter.next();
+					if (now - pending.getValue() >= DEBOUNCE_MILLIS) {
+						toFire.add(pending.getKey());
+						pendingIter.remove();
+					}
+				}
+			}
+			for (FileListener listener : toFire) {
+				try {
+					listener.onChange.run();
+				} catch (RuntimeException | Error e) {
+					listener.onError.accept("Could not handle change to " + listener.file, e);
+				}
+			}
+			for (FileListener listener : unwatched) {
+				try {
+					listener.onUnwatched.run();
+				} catch (RuntimeException | Error e) {
+					listener.onError.accept("Could not handle loss of watch on " + listener.file, e);
+				}
+			}
+		}
+	}
+
+	private static class FileListener {
+		final Path file;
+		final Runnable onChange;
+		final Runnable onUnwatched;
+		final BiConsumer<String, Throwable> onError;
+
+		FileListener(Path file, Runnable onChange, Runnable onUnwatched, BiConsumer<String, Throwable> onError) {
+			this.file = file;
+			this.onChange = onChange;
+			this.onUnwatched = onUnwatched;
+			this.onError = onError;
+		}
+	}
+}
@@ -2,16 +2,22 @@ package org.observe.quick;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.observe.Observable;
 import org.observe.ObservableValue;
 import org.observe.SettableValue;
 import org.observe.SimpleObservable;
@@ -45,6 +51,7 @@ import org.observe.util.TypeTokens;
 import org.qommons.Causable;
 import org.qommons.QommonsUtils;
 import org.qommons.StringUtils;
+import org.qommons.Subscription;
 import org.qommons.ThreadConstraint;
 import org.qommons.Transaction;
 import org.qommons.ValueHolder;
@@ -77,37 +84,50 @@ public abstract class QuickOsgiComponent {
 	private URL theQuickAppFile;
 	private QuickApp theQuickApp;
 	private boolean isPrintingDocument;
-	private final Map<BetterFile, Long> theRefreshFiles;
+	private final Map<BetterFile, RefreshFile> theRefreshFiles;
+	private final Set<BetterFile> theChangedFiles;
 
 	private final Set<Class<?>> theWaitingServices;
 	private QuickDocument.Interpreted theWaitingDoc;
 
+	// The loaded document structures, retained only when refreshing dynamically so they can be updated in place
+	private QonfigElement theDocElement;
+	private QuickDocument.Def theDocDef;
+	private QuickDocument.Interpreted theInterpretedDoc;
+	private QuickDocument theDocument;
+	private SimpleObservable<Void> theInstanceUntil;
+	private SimpleObservable<Void> theReplacedInstance;
+
 	/** @param threading The thread constraint for creating and modifying UI components */
 	protected QuickOsgiComponent(ThreadConstraint threading) {
 		theThreading = threading;
 		theUntil = new SimpleObservable<>();
+		theInstanceUntil = new SimpleObservable<>();
 		theWaitingServices = new LinkedHashSet<>();
 
 		if (isDynamicRefresh()) {
 			theRefreshFiles = new ConcurrentHashMap<>();
+			theChangedFiles = ConcurrentHashMap.newKeySet();
 			QommonsTimer.getCommonInstance().build(() -> {
 				if (theClassLoader == null || !isDynamicRefresh())
 					return;
-				BetterFile refresh = checkForRefresh();
-				if (refresh != null) {
-					System.out.println("Refreshing " + refresh);
+				Set<BetterFile> changed = collectChangedFiles();
+				if (!changed.isEmpty()) {
+					System.out.println("Refreshing " + changed);
 					Thread thread = Thread.currentThread();
 					ClassLoader preCCL = thread.getContextClassLoader();
 					try {
 						thread.setContextClassLoader(theClassLoader);
-						refresh();
+						refresh(changed);
 					} finally {
 						thread.setContextClassLoader(preCCL);
 					}
 				}
 			}, Duration.ofSeconds(1), false).setActive(true);
-		} else
+		} else {
 			theRefreshFiles = null;
+			theChangedFiles = null;
+		}
 	}
 
 	/** @param appFile The quick-app file defining the Quick UI to load */
@@ -147,6 +167,16 @@ public abstract class QuickOsgiComponent {
 		return theUntil;
 	}
 
+	/**
+	 * When a changed Quick document can be updated in place, {@link #getUntil()} does not fire. The model instances and UI of the
+	 * previous document instance are released through this observable instead.
+	 *
+	 * @return An observable that will fire when the current instance of the Quick document is replaced or reloaded
+	 */
+	public Observable<?> getInstanceUntil() {
+		return Observable.or(theUntil, theInstanceUntil);
+	}
+
 	/**
 	 * <p>
 	 * Whether this component should watch the Quick source documents and reload itself when they change
@@ -162,10 +192,59 @@ public abstract class QuickOsgiComponent {
 	 */
 	protected abstract boolean isDynamicRefresh();
 
-	/** @param file A file to watch. When the file changes this component will refresh itself (if so configured). */
+	/**
+	 * @param file A file to watch. When the file changes this component will refresh itself (if so configured). The file will be polled
+	 *        for changes.
+	 */
 	protected void addRefreshFile(BetterFile file) {
 		if (theRefreshFiles != null)
-			theRefreshFiles.put(file, file.getLastModified());
+			putRefreshFile(file, new RefreshFile(file.getLastModified(), null));
+	}
+
+	/**
+	 * Watches a source file for changes. Local files are watched by the shared {@link QuickFileWatcher}, so they only need to be
+	 * inspected when they actually change. Other sources are polled, as are local files whose directory can no longer be watched.
+	 *
+	 * @param url The URL of the file to watch
+	 */
+	private void addRefreshFile(URL url) {
+		if (theRefreshFiles == null)
+			return;
+		BetterFile file = FileUtils.ofUrl(url);
+		QuickFileWatcher watcher = "file".equals(url.getProtocol()) ? QuickFileWatcher.getInstance(this::warn) : null;
+		Subscription watch = null;
+		if (watcher != null) {
+			try {
+				watch = watcher.watch(Paths.get(url.toURI()), () -> theChangedFiles.add(file), () -> pollRefreshFile(file), this::error);
+			} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+			}
+		}
+		putRefreshFile(file, new RefreshFile(file.getLastModified(), watch));
+	}
+
+	/**
+	 * Called when a watched file can no longer be watched, so that it is polled instead
+	 *
+	 * @param file The file to poll
+	 */
+	private void pollRefreshFile(BetterFile file) {
+		warn("Can no longer watch " + file + " for changes, falling back to polling", null);
+		theRefreshFiles.computeIfPresent(file, (f, refresh) -> refresh.watch == null ? refresh : new RefreshFile(refresh.lastModified, null));
+	}
+
+	private void putRefreshFile(BetterFile file, RefreshFile refresh) {
+		RefreshFile old = theRefreshFiles.put(file, refresh);
+		if (old != null && old.watch != null)
+			old.watch.unsubscribe();
+	}
+
+	private void clearRefreshFiles() {
+		for (RefreshFile file : theRefreshFiles.values()) {
+			if (file.watch != null)
+				file.watch.unsubscribe();
+		}
+		theRefreshFiles.clear();
+		// Changes reported after the pending ones were collected are kept, so they are seen by the next check
 	}
 
 	/**
@@ -182,23 +261,56 @@ public abstract class QuickOsgiComponent {
 
 	/** @return Whether any of the Quick source documents for this component have changed */
 	protected BetterFile checkForRefresh() {
-		for (Map.Entry<BetterFile, Long> file : theRefreshFiles.entrySet()) {
-			if (file.getKey().getLastModified() != file.getValue().longValue())
-				return file.getKey();
+		Set<BetterFile> changed = collectChangedFiles();
+		return changed.isEmpty() ? null : changed.iterator().next();
+	}
+
+	/**
+	 * Collects and consumes all pending changes to this component's source files, so that a refresh can be decided from all of them
+	 * together
+	 *
+	 * @return All of the Quick source documents for this component that have changed since they were last loaded
+	 */
+	private Set<BetterFile> collectChangedFiles() {
+		Set<BetterFile> changed = new LinkedHashSet<>();
+		for (Map.Entry<BetterFile, RefreshFile> file : theRefreshFiles.entrySet()) {
+			if (file.getValue().watch != null && !theChangedFiles.remove(file.getKey()))
+				continue; // Watched file which has not changed
+			if (file.getKey().getLastModified() != file.getValue().lastModified)
+				changed.add(file.getKey());
 		}
-		return null;
+		// Forget changes to files which are no longer sources of the document
+		theChangedFiles.retainAll(theRefreshFiles.keySet());
+		return changed;
 	}
 
 	/** Reloads the Quick UI for this component */
 	protected void refresh() {
+		refresh(null);
+	}
+
+	/**
+	 * Reloads the Quick UI for this component. If the document has been loaded previously and dynamic refresh is enabled, the previous
+	 * definition is updated from the re-parsed source and the UI is rebuilt within the existing window. Model state is not retained: the
+	 * document is instantiated with new models each time.
+	 *
+	 * @param changed All source files whose changes triggered the refresh, or null if the refresh was not triggered by file changes
+	 */
+	private void refresh(Set<BetterFile> changed) {
+		boolean inPlace = theDocument != null;
+		boolean refreshed = false;
+		SimpleObservable<Void> replacedInstance = theInstanceUntil;
+		QuickApp previousApp = theQuickApp;
 		try {
-			theUntil.onNext(null);
+			if (!inPlace)
+				theUntil.onNext(null);
+			theInstanceUntil = new SimpleObservable<>();
 			theWaitingDoc = null;
 			theWaitingServices.clear();
 
 			if (theRefreshFiles != null)
-				theRefreshFiles.clear();
-			addRefreshFile(FileUtils.ofUrl(theQuickAppFile));
+				clearRefreshFiles();
+			addRefreshFile(theQuickAppFile);
 			theQuickApp = null;
 			URL quickAppToolkitUrl = QuickApplication.class.getResource("quick-app.qtd");
 			if (quickAppToolkitUrl == null) {
@@ -212,23 +324,29 @@ public abstract class QuickOsgiComponent {
 			else
 				printDocument = null;
 
-			try {
-				theQuickApp = QuickApp.parseApp(theQuickAppFile, new URL[] { quickAppToolkitUrl }, Collections.emptyList(), printDocument);
-			} catch (TextParseException | IllegalStateException | IOException | QonfigParseException e) {
-				if (e instanceof QonfigParseException && theRefreshFiles != null) {
-					try {
-						addRefreshFile(
-							FileUtils.ofUrl(new URL(((QonfigParseException) e).getIssues().get(0).fileLocation.getFileLocation())));
-					} catch (MalformedURLException e2) {
+			// Parsing the app loads all of its toolkits. If only Quick documents changed, the previously parsed app can be re-used.
+			if (previousApp != null && changed != null && onlyDocuments(changed)
+				&& !changed.contains(FileUtils.ofUrl(theQuickAppFile)))
+				theQuickApp = previousApp;
+			else {
+				try {
+					theQuickApp = QuickApp.parseApp(theQuickAppFile, new URL[] { quickAppToolkitUrl }, Collections.emptyList(),
+						printDocument);
+				} catch (TextParseException | IllegalStateException | IOException | QonfigParseException e) {
+					if (e instanceof QonfigParseException && theRefreshFiles != null) {
+						try {
+							addRefreshFile(new URL(((QonfigParseException) e).getIssues().get(0).fileLocation.getFileLocation()));
+						} catch (MalformedURLException e2) {
+						}
 					}
+					error("Could not parse Quick application file " + theQuickAppFile, e);
+					return;
 				}
-				error("Could not parse Quick application file " + theQuickAppFile, e);
-				return;
 			}
 
 			if (theRefreshFiles != null) {
 				try {
-					addRefreshFile(FileUtils.ofUrl(new URL(QommonsConfig.resolve(theQuickApp.getAppFile(), theQuickAppFile.toString()))));
+					addRefreshFile(new URL(QommonsConfig.resolve(theQuickApp.getAppFile(), theQuickAppFile.toString())));
 				} catch (IOException e) {
 				}
 			}
@@ -242,7 +360,7 @@ public abstract class QuickOsgiComponent {
 					try {
 						for (ErrorReporting.Issue issue : ((QonfigParseException) e).getIssues()) {
 							if (issue.fileLocation != null)
-								addRefreshFile(FileUtils.ofUrl(new URL(issue.fileLocation.getFileLocation())));
+								addRefreshFile(new URL(issue.fileLocation.getFileLocation()));
 						}
 					} catch (MalformedURLException e2) {
 					}
@@ -252,8 +370,18 @@ public abstract class QuickOsgiComponent {
 			}
 			// We've successfully parsed the document as Qonfig.
 			// Now go through the whole structure and add refresh files for all the toolkits and documents
+			QonfigElement docElement = docSession.get().getElement();
 			if (theRefreshFiles != null)
-				monitorDocument(docSession.get().getElement(), new HashSet<>());
+				monitorDocument(docElement, new HashSet<>());
+			// Toolkit and style sheet changes can't be seen in the document structure, but if only documents were saved without any
+			// change to their content, there's nothing to do
+			if (inPlace && changed != null && onlyDocuments(changed) && isSameContent(theDocElement, docElement)) {
+				theInstanceUntil = replacedInstance;
+				refreshed = true;
+				return;
+			}
+			if (inPlace)
+				quickDocDef = theDocDef; // Update the previous definition so unchanged elements are retained
 
 			try {
 				quickDocDef.update(docSession.get().as(ExpressoQIS.class));
@@ -329,7 +457,11 @@ public abstract class QuickOsgiComponent {
 				return;
 			}
 
-			QuickDocument.Interpreted interpretedDoc = quickDocDef.interpret(null);
+			QuickDocument.Interpreted interpretedDoc = inPlace ? theInterpretedDoc : quickDocDef.interpret(null);
+			if (theRefreshFiles != null) {
+				theDocDef = quickDocDef;
+				theDocElement = docElement;
+			}
 			quickDocDef = null; // Free up memory
 			try {
 				interpretedDoc.updateDocument(env.withExt(extModels.build()));
@@ -339,6 +471,8 @@ public abstract class QuickOsgiComponent {
 			}
 
 			theWaitingDoc = interpretedDoc;
+			theReplacedInstance = replacedInstance;
+			refreshed = true;
 			if (theWaitingServices.isEmpty())
 				installDocInstance();
 			else {
@@ -356,19 +490,81 @@ public abstract class QuickOsgiComponent {
 			}
 		} catch (RuntimeException | Error e) {
 			error("Could not interpret Quick component", e);
+		} finally {
+			if (!refreshed)
+				discardDocument();
+		}
+	}
+
+	/** Releases the loaded document, so that the next refresh loads it from scratch */
+	private void discardDocument() {
+		theUntil.onNext(null);
+		if (theInterpretedDoc != null)
+			theInterpretedDoc.destroy();
+		theDocElement = null;
+		theDocDef = null;
+		theInterpretedDoc = null;
+		theDocument = null;
+		theReplacedInstance = null;
+	}
+
+	private static boolean onlyDocuments(Set<BetterFile> files) {
+		for (BetterFile file : files) {
+			if (!file.getName().endsWith(".qml"))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param previous The previously loaded document element
+	 * @param element The newly parsed document element
+	 * @return Whether the two elements are structurally identical, with the same attribute and text values
+	 */
+	private static boolean isSameContent(QonfigElement previous, QonfigElement element) {
+		// The toolkits may have been re-parsed, so types, roles, and attributes are compared by name
+		if (previous == null || !previous.getType().toString().equals(element.getType().toString()))
+			return false;
+		else if (!StringUtils.print(",", previous.getDeclaredRoles(), r -> r.toString()).toString()
+			.equals(StringUtils.print(",", element.getDeclaredRoles(), r -> r.toString()).toString()))
+			return false;
+		else if (!attributeText(previous).equals(attributeText(element)))
+			return false;
+		else if (!sameText(previous.getValue(), element.getValue()))
+			return false;
+		if (previous.getChildren().size() != element.getChildren().size())
+			return false;
+		Iterator<? extends QonfigElement> newChildren = element.getChildren().iterator();
+		for (QonfigElement child : previous.getChildren()) {
+			if (!isSameContent(child, newChildren.next()))
+				return false;
 		}
+		return true;
+	}
+
+	private static Map<String, String> attributeText(QonfigElement element) {
+		Map<String, String> text = new HashMap<>();
+		for (Map.Entry<?, QonfigElement.AttributeValue> attr : element.getAttributes().entrySet())
+			text.put(attr.getKey().toString(), attr.getValue().text);
+		return text;
+	}
+
+	private static boolean sameText(QonfigElement.QonfigValue previous, QonfigElement.QonfigValue value) {
+		if (previous == null || value == null)
+			return previous == value;
+		return String.valueOf(previous.text).equals(String.valueOf(value.text));
 	}
 
 	private void monitorDocument(QonfigElement element, Set<String> files) {
 		if (files.add(element.getPositionInFile().getFileLocation())) {
 			try {
-				addRefreshFile(FileUtils.ofUrl(new URL(element.getPositionInFile().getFileLocation())));
+				addRefreshFile(new URL(element.getPositionInFile().getFileLocation()));
 			} catch (MalformedURLException e) {
 			}
 		}
 		if (files.add(element.getType().getDeclarer().getLocationString())) {
 			try {
-				addRefreshFile(FileUtils.ofUrl(new URL(element.getType().getDeclarer().getLocationString())));
+				addRefreshFile(new URL(element.getType().getDeclarer().getLocationString()));
 			} catch (MalformedURLException e) {
 			}
 		}
@@ -376,6 +572,17 @@ public abstract class QuickOsgiComponent {
 			monitorDocument(child, files);
 	}
 
+	private static class RefreshFile {
+		final long lastModified;
+		/** The subscription to the {@link QuickFileWatcher} watching the file, or null if the file is polled */
+		final Subscription watch;
+
+		RefreshFile(long lastModified, Subscription watch) {
+			this.lastModified = lastModified;
+			this.watch = watch;
+		}
+	}
+
 	/**
 	 * Provides subclasses with a chance to augment the expresso environment in which this component's models are interpreted
 	 *
@@ -400,35 +607,46 @@ public abstract class QuickOsgiComponent {
 				return;
 			}
 
-			QuickDocument doc = interpretedDoc.create();
+			QuickDocument doc = theDocument != null ? theDocument : interpretedDoc.create();
 			try {
 				doc.update(interpretedDoc);
 
 				doc.instantiated();
 
 				ModelSetInstanceBuilder runtimeModels = InterpretedExpressoEnv.INTERPRETED_STANDARD_JAVA.getModels()
-					.createInstance(getUntil());
+					.createInstance(getInstanceUntil());
 				configureRuntimeModels(runtimeModels);
 				doc.instantiate(runtimeModels.build());
 			} catch (ModelInstantiationException e) {
 				System.err.println("Could not instantiate Quick UI for " + theQuickApp.getAppFile());
 				e.printStackTrace();
+				discardDocument();
 				return;
 			}
 
-			// Clean up to free memory
-			interpretedDoc.destroy();
+			if (theRefreshFiles != null) { // Keep the document so it can be updated in place
+				theInterpretedDoc = interpretedDoc;
+				theDocument = doc;
+			} else // Clean up to free memory
+				interpretedDoc.destroy();
 			interpretedDoc = null;
+			SimpleObservable<Void> replaced = theReplacedInstance;
+			theReplacedInstance = null;
 
 			theThreading.invoke(() -> {
 				try {
 					installQuickUI(app, doc);
 				} catch (RuntimeException | Error e) {
 					error("Could not interpret Quick component", e);
+				} finally {
+					// Release the models and UI of the previous instance
+					if (replaced != null)
+						replaced.onNext(null);
 				}
 			});
 		} catch (RuntimeException | Error e) {
 			error("Could not interpret Quick component", e);
+			discardDocument();
 		}
 	}
 
@@ -446,6 +664,17 @@ public abstract class QuickOsgiComponent {
 	 */
 	protected abstract void error(String message, Throwable x);
 
+	/**
+	 * Reports a problem that does not prevent the Quick UI from being displayed, e.g. a feature falling back to a less efficient
+	 * implementation
+	 *
+	 * @param message The message describing the problem
+	 * @param x The cause of the problem, or null
+	 */
+	protected void warn(String message, Throwable x) {
+		System.err.println(message + (x == null ? "" : ": " + x));
+	}
+
 	/**
 	 * @param app The Quick application
 	 * @param doc The Quick document
@@ -522,7 +751,7 @@ public abstract class QuickOsgiComponent {
 					.refreshEach(provider -> provider.getStage().noInitChanges())//
 					.filter(provider -> provider.getStage().get() == ComponentStage.Satisfied ? null : "Not satisfied")//
 					.<T> transform(tx -> tx.cache(false).map(provider -> provider.provide((Service<T>) service))))//
-				.collectActive(getUntil())//
+				.collectActive(getInstanceUntil())//
 				.observeFind(__ -> true).first().find();
 			// Don't connect the UI to the service locking at all
 			Object[] value = new Object[] { serviceValue.get() };
@@ -536,7 +765,7 @@ public abstract class QuickOsgiComponent {
 					throw new ExpressoInterpretationException("Service " + serviceType.getName() + " requested multiple times",
 						valueEl.reporting().getFileLocation());
 			}
-			serviceValue.changes().takeUntil(getUntil()).act(evt -> {
+			serviceValue.changes().takeUntil(getInstanceUntil()).act(evt -> {
 				if (evt.getNewValue() == value[0])
 					return;
 				value[0] = evt.getNewValue();
@@ -555,7 +784,7 @@ public abstract class QuickOsgiComponent {
 				.filter(service -> service.getServiceType() == serviceType ? null : "Wrong service")//
 				.flatMap(service -> getDS().getProviders(service).flow()//
 					.<T> transform(tx -> tx.cache(false).map(provider -> provider.provide((Service<T>) service))))//
-				.collectActive(getUntil());
+				.collectActive(getInstanceUntil());
 			// Don't connect the UI to the service locking at all
 			ObservableCollection<T> serviceCopy = ObservableCollection.<T> build()//
 				.withThreadConstraint(ThreadConstraint.EDT)//
@@ -564,7 +793,7 @@ public abstract class QuickOsgiComponent {
 				if (!serviceValues.isEmpty()) {
 					getThreading().invoke(() -> serviceCopy.addAll(QommonsUtils.unmodifiableCopy(serviceValues)));
 				}
-				serviceValues.changes().takeUntil(getUntil()).act(evt -> {
+				serviceValues.changes().takeUntil(getInstanceUntil()).act(evt -> {
 					getThreading().invoke(() -> {
 						try (Transaction t2 = serviceCopy.lockWrite(false, Causable.broken(evt))) {
 							switch (evt.type) {
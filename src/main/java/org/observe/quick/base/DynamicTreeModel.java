@@ -170,6 +170,7 @@ public class DynamicTreeModel<N> extends ExElement.Abstract implements TreeModel
 	}
 
 	private ModelComponentId theActivePathVariable;
+	private QuickCoreInterpretation.ModelCopier theNodeModelCopier;
 	private ModelValueInstantiator<SettableValue<N>> theRootInstantiator;
 	private ModelValueInstantiator<? extends ObservableCollection<? extends N>> theChildren;
 	private ModelValueInstantiator<SettableValue<Boolean>> theLeafInstantiator;
@@ -194,8 +195,8 @@ public class DynamicTreeModel<N> extends ExElement.Abstract implements TreeModel
 		if (getParentElement() instanceof QuickWidget && PanelPopulation.isDebugging(//
 			((QuickWidget) getParentElement()).getName().get(), "tree-model", "children"))
 			BreakpointHere.breakpoint();
-		ModelSetInstance nodeModel = QuickCoreInterpretation.copyModels(getUpdatingModels(), theActivePathVariable, until)//
-			.build();
+		theNodeModelCopier = QuickCoreInterpretation.modelCopier(theNodeModelCopier, getUpdatingModels(), theActivePathVariable);
+		ModelSetInstance nodeModel = theNodeModelCopier.copy(until).build();
 		SettableValue<BetterList<N>> pathV;
 		if (path instanceof SettableValue && path.getThreadConstraint() == ThreadConstraint.NONE)
 			pathV = (SettableValue<BetterList<N>>) path;
@@ -2,6 +2,7 @@ package org.observe.quick.base;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.observe.Observable;
@@ -20,6 +21,7 @@ import org.observe.expresso.qonfig.ExpressoQIS;
 import org.observe.expresso.qonfig.QonfigAttributeGetter;
 import org.observe.expresso.qonfig.QonfigChildGetter;
 import org.observe.quick.QuickWidget;
+import org.observe.util.TypeTokens;
 import org.qommons.QommonsUtils;
 import org.qommons.collect.CollectionUtils;
 import org.qommons.config.QonfigElementOrAddOn;
@@ -48,6 +50,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		instance = QuickTable.class)
 	public static class Def<T extends QuickTable<?, ?>> extends TabularWidget.Def.Abstract<T> {
 		private CompiledExpression theRows;
+		private CompiledExpression theSortBy;
 		private final List<ExElement.Def<?>> theActionsAndOptions;
 		private boolean isOptionsOnTop;
 
@@ -71,6 +74,12 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 			return theRows;
 		}
 
+		/** @return The comparator by which to sort the rows of the table, if any */
+		@QonfigAttributeGetter("sort-by")
+		public CompiledExpression getSortBy() {
+			return theSortBy;
+		}
+
 		/**
 		 * @return The list containing the {@link #getActions() actions} and {@link #getOptions() table options} for this table, in order of
 		 *         their specification in the file
@@ -101,6 +110,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
 			super.doUpdate(session.asElement(TABULAR_WIDGET));
 			theRows = getAttributeExpression("rows", session);
+			theSortBy = getAttributeExpression("sort-by", session);
 			isOptionsOnTop = session.getAttribute("options-on-top", boolean.class);
 			syncChildren(ExElement.Def.class, theActionsAndOptions, session.forChildren("action", "option"));
 		}
@@ -125,6 +135,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 	 */
 	public static class Interpreted<R, C, T extends QuickTable<R, C>> extends TabularWidget.Interpreted.Abstract<R, C, T> {
 		private InterpretedValueSynth<ObservableCollection<?>, ObservableCollection<R>> theRows;
+		private InterpretedValueSynth<SettableValue<?>, SettableValue<Comparator<R>>> theSortBy;
 		private final List<ExElement.Interpreted<?>> theActionsAndOptions;
 
 		/**
@@ -154,6 +165,11 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 			return theRows;
 		}
 
+		/** @return The comparator by which to sort the rows of the table, if any */
+		public InterpretedValueSynth<SettableValue<?>, SettableValue<Comparator<R>>> getSortBy() {
+			return theSortBy;
+		}
+
 		/**
 		 * @return The list containing the {@link #getActions() actions} and {@link #getOptions() table options} for this table, in order of
 		 *         their specification in the file
@@ -177,6 +193,8 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		@Override
 		protected void doUpdate() throws ExpressoInterpretationException {
 			super.doUpdate();
+			theSortBy = interpret(getDefinition().getSortBy(),
+				ModelTypes.Value.forType(TypeTokens.get().keyFor(Comparator.class).<Comparator<R>> parameterized(getValueType())));
 			syncChildren(getDefinition().getActionsAndOptions(), theActionsAndOptions, def -> {
 				if (def instanceof ValueAction.Def)
 					return (ValueAction.Interpreted<R, ?>) ((ValueAction.Def<?>) def).interpret(this, getValueType());
@@ -199,8 +217,10 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 	}
 
 	private ModelValueInstantiator<ObservableCollection<R>> theRowsInstantiator;
+	private ModelValueInstantiator<SettableValue<Comparator<R>>> theSortByInstantiator;
 
 	private SettableValue<ObservableCollection<R>> theRows;
+	private SettableValue<SettableValue<Comparator<R>>> theSortBy;
 	private ObservableCollection<ExElement> theActionsAndOptions;
 	private ObservableCollection<ValueAction<R>> theActions;
 	private ObservableCollection<QuickWidget> theOptions;
@@ -210,6 +230,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 	protected QuickTable(Object id) {
 		super(id);
 		theActionsAndOptions = ObservableCollection.create();
+		theSortBy = SettableValue.create();
 	}
 
 	/** @return The row values for the table */
@@ -217,6 +238,19 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		return ObservableCollection.flattenValue(theRows);
 	}
 
+	/** @return Whether this table's rows are sorted by a {@link #getSortBy() comparator} */
+	public boolean isSorted() {
+		return theSortByInstantiator != null;
+	}
+
+	/**
+	 * @return The comparator by which to sort the rows of the table. The {@link #getRows() rows} collection itself is not sorted--the
+	 *         comparator is used to maintain a sorted view of it for display.
+	 */
+	public SettableValue<Comparator<R>> getSortBy() {
+		return SettableValue.flatten(theSortBy);
+	}
+
 	/**
 	 * @return The list containing the {@link #getActions() actions} and {@link #getOptions() table options} for this table, in order of
 	 *         their specification in the file
@@ -248,6 +282,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		theRows = SettableValue.<ObservableCollection<R>> build().build();
 
 		theRowsInstantiator = myInterpreted.getRows().instantiate();
+		theSortByInstantiator = myInterpreted.getSortBy() == null ? null : myInterpreted.getSortBy().instantiate();
 		CollectionUtils.synchronize(theActionsAndOptions, myInterpreted.getActionsAndOptions(), //
 			(a, i) -> a.getIdentity() == i.getIdentity())//
 		.<ModelInstantiationException> simpleX(aao -> {
@@ -271,6 +306,8 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		super.instantiated();
 
 		theRowsInstantiator.instantiate();
+		if (theSortByInstantiator != null)
+			theSortByInstantiator.instantiate();
 
 		for (ExElement aao : theActionsAndOptions)
 			aao.instantiated();
@@ -281,6 +318,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		myModels = super.doInstantiate(myModels);
 
 		theRows.set(theRowsInstantiator.get(myModels), null);
+		theSortBy.set(theSortByInstantiator == null ? null : theSortByInstantiator.get(myModels), null);
 		if (theActions == null) {
 			theActions = theActionsAndOptions.flow()//
 				.filter((Class<ValueAction<R>>) (Class<?>) ValueAction.class)//
@@ -302,6 +340,7 @@ public class QuickTable<R, C> extends TabularWidget.Abstract<R, C> {
 		QuickTable<R, C> copy = (QuickTable<R, C>) super.copy(parent);
 
 		copy.theRows = SettableValue.<ObservableCollection<R>> build().build();
+		copy.theSortBy = SettableValue.create();
 		copy.theActionsAndOptions = ObservableCollection.create();
 		copy.theActions = null;
 		copy.theOptions = null;
@@ -2,8 +2,11 @@ package org.observe.quick.base;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.observe.Observable;
 import org.observe.ObservableAction;
@@ -128,6 +131,39 @@ public interface QuickTableColumn<R, C> {
 		TableColumnSet<R> copy(ExElement parent);
 	}
 
+	/** Hit and miss counts for a column's {@link QuickTableColumn#getRenderCacheSize() render cache} */
+	public static class RenderCacheStats {
+		private final AtomicLong theHits = new AtomicLong();
+		private final AtomicLong theMisses = new AtomicLong();
+
+		/** @return The number of cells rendered from the cache */
+		public long getHits() {
+			return theHits.get();
+		}
+
+		/** @return The number of cells that were not cached and had to be rendered */
+		public long getMisses() {
+			return theMisses.get();
+		}
+
+		/**
+		 * Called by the implementation rendering the column each time the cache is queried for a cell
+		 *
+		 * @param hit Whether the cell was rendered from the cache
+		 */
+		public void cellRendered(boolean hit) {
+			if (hit)
+				theHits.getAndIncrement();
+			else
+				theMisses.getAndIncrement();
+		}
+
+		@Override
+		public String toString() {
+			return theHits.get() + " hits, " + theMisses.get() + " misses";
+		}
+	}
+
 	/** @return The ID of the column, if specified */
 	SettableValue<?> getId();
 
@@ -161,6 +197,12 @@ public interface QuickTableColumn<R, C> {
 	 */
 	Integer getWidth();
 
+	/** @return The number of rendered cells of this column to cache, or zero if cells should not be cached */
+	int getRenderCacheSize();
+
+	/** @return The hit and miss counts of this column's render cache, which stay zero if its cells are not cached */
+	RenderCacheStats getRenderCacheStats();
+
 	/** @return The renderers to represent the column value to the user when they are not interacting with it */
 	List<QuickWidget> getRenderers();
 
@@ -173,6 +215,31 @@ public interface QuickTableColumn<R, C> {
 	/** @return Transfer accepters for column values */
 	List<QuickTransfer.TransferAccept<C, ?>> getTransferAccepters();
 
+	/**
+	 * @return Whether this column's full configuration (e.g. its value and renderers) is available. A column that is not materialized
+	 *         will materialize itself when it is {@link #displayed() displayed}.
+	 */
+	default boolean isMaterialized() {
+		return true;
+	}
+
+	/** @return An observable that fires when this column is {@link #isMaterialized() materialized} or released */
+	default Observable<?> getMaterializationChanges() {
+		return Observable.empty();
+	}
+
+	/**
+	 * Notifies this column that it is being displayed, e.g. that one of its cells is being rendered. This should not be called while
+	 * painting, since the column may be materialized as a result.
+	 */
+	default void displayed() {
+	}
+
+	/** @return A message describing why this column could not be {@link #isMaterialized() materialized}, or null if it has not failed */
+	default String getMaterializationError() {
+		return null;
+	}
+
 	/** Updates or initializes this column */
 	void update();
 
@@ -1033,6 +1100,7 @@ public interface QuickTableColumn<R, C> {
 			private Integer thePrefWidth;
 			private Integer theMaxWidth;
 			private Integer theWidth;
+			private int theRenderCacheSize;
 			private final List<QuickWidget.Def<?>> theRenderers;
 			private ColumnEditing.Def theEditing;
 			private final List<QuickTransfer.TransferSource.Def> theTransferSources;
@@ -1106,6 +1174,12 @@ public interface QuickTableColumn<R, C> {
 				return theWidth;
 			}
 
+			/** @return The number of rendered cells of this column to cache, or zero if cells should not be cached */
+			@QonfigAttributeGetter(asType = COLUMN, value = "render-cache")
+			public int getRenderCacheSize() {
+				return theRenderCacheSize;
+			}
+
 			@QonfigChildGetter(asType = "rendering", value = "renderer")
 			@Override
 			public List<QuickWidget.Def<?>> getRenderers() {
@@ -1148,6 +1222,10 @@ public interface QuickTableColumn<R, C> {
 				theMaxWidth = w == null ? null : Integer.parseInt(w);
 				w = session.getAttributeText("width");
 				theWidth = w == null ? null : Integer.parseInt(w);
+				theRenderCacheSize = Integer.parseInt(session.getAttributeText("render-cache"));
+				if (theRenderCacheSize < 0)
+					throw new QonfigInterpretationException("render-cache must not be negative",
+						session.attributes().get("render-cache").getLocatedContent());
 
 				List<ExpressoQIS> renderers = session.forChildren("renderer");
 				if (renderers.isEmpty())
@@ -1327,6 +1405,7 @@ public interface QuickTableColumn<R, C> {
 		private Integer thePrefWidth;
 		private Integer theMaxWidth;
 		private Integer theWidth;
+		private int theRenderCacheSize;
 
 		private ModelComponentId theColumnValueVariable;
 		private List<QuickWidget> theRenderers;
@@ -1387,6 +1466,11 @@ public interface QuickTableColumn<R, C> {
 			return theWidth;
 		}
 
+		/** @return The number of rendered cells of this column to cache, or zero if cells should not be cached */
+		public int getRenderCacheSize() {
+			return theRenderCacheSize;
+		}
+
 		/** @return Transfer source configurations for tree nodes by path */
 		public List<QuickTransfer.TransferSource<C, ?>> getTransferSources() {
 			return Collections.unmodifiableList(theTransferSources);
@@ -1412,6 +1496,7 @@ public interface QuickTableColumn<R, C> {
 			thePrefWidth = myInterpreted.getDefinition().getPrefWidth();
 			theMaxWidth = myInterpreted.getDefinition().getMaxWidth();
 			theWidth = myInterpreted.getDefinition().getWidth();
+			theRenderCacheSize = myInterpreted.getDefinition().getRenderCacheSize();
 
 			syncChildren(myInterpreted.getRenderers(), theRenderers, QuickWidget.Interpreted::create, QuickWidget::update);
 			theEditing = syncChild(myInterpreted.getEditing(), theEditing, ColumnEditing.Interpreted::create, ColumnEditing::update);
@@ -1525,6 +1610,8 @@ public interface QuickTableColumn<R, C> {
 
 		/** A {@link QuickTableColumn} for an {@link AbstractSingleColumn} */
 		protected abstract class Column implements QuickTableColumn<R, C> {
+			private final RenderCacheStats theRenderCacheStats = new RenderCacheStats();
+
 			@Override
 			public TableColumnSet<R> getColumnSet() {
 				return AbstractSingleColumn.this;
@@ -1555,6 +1642,16 @@ public interface QuickTableColumn<R, C> {
 				return AbstractSingleColumn.this.getWidth();
 			}
 
+			@Override
+			public int getRenderCacheSize() {
+				return AbstractSingleColumn.this.getRenderCacheSize();
+			}
+
+			@Override
+			public RenderCacheStats getRenderCacheStats() {
+				return theRenderCacheStats;
+			}
+
 			@Override
 			public void update() {
 			}
@@ -1752,6 +1849,7 @@ public interface QuickTableColumn<R, C> {
 		public static class Def extends AbstractSingleColumn.Def<VariableColumns<?, ?, ?>> {
 			private ModelComponentId theColumnElementVariable;
 			private CompiledExpression theValues;
+			private int theMaterializedColumns;
 
 			/**
 			 * @param parent The parent of the column
@@ -1776,11 +1874,24 @@ public interface QuickTableColumn<R, C> {
 				return theColumnElementVariable;
 			}
 
+			/**
+			 * @return The maximum number of columns whose full configuration to keep, or zero if all columns should be fully configured
+			 *         when they are added
+			 */
+			@QonfigAttributeGetter("materialized-columns")
+			public int getMaterializedColumns() {
+				return theMaterializedColumns;
+			}
+
 			@Override
 			protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
 				super.doUpdate(session);
 
 				theValues = getAttributeExpression("for-each", session);
+				theMaterializedColumns = Integer.parseInt(session.getAttributeText("materialized-columns"));
+				if (theMaterializedColumns < 0)
+					throw new QonfigInterpretationException("materialized-columns must not be negative",
+						session.attributes().get("materialized-columns").getLocatedContent());
 				String columnValueName = session.getAttributeText("column-element-as");
 				ExWithElementModel.Def elModels = getAddOn(ExWithElementModel.Def.class);
 				theColumnElementVariable = elModels.getElementValueModelId(columnValueName);
@@ -1846,9 +1957,10 @@ public interface QuickTableColumn<R, C> {
 		private ModelValueInstantiator<ObservableCollection<E>> theValuesInstantiator;
 
 		private ModelComponentId theColumnElementVariable;
+		private int theMaterializedColumns;
 
 		private SettableValue<ObservableCollection<E>> theValuesHolder;
-		private SettableValue<ObservableCollection<VariableColumn>> theColumns;
+		private SettableValue<ObservableCollection<Column>> theColumns;
 
 		VariableColumns(Object id) {
 			super(id);
@@ -1861,6 +1973,14 @@ public interface QuickTableColumn<R, C> {
 			return theColumnElementVariable;
 		}
 
+		/**
+		 * @return The maximum number of columns whose full configuration to keep, or zero if all columns are fully configured when they
+		 *         are added
+		 */
+		public int getMaterializedColumns() {
+			return theMaterializedColumns;
+		}
+
 		@Override
 		public ObservableCollection<? extends QuickTableColumn<R, ?>> getColumns() {
 			return ObservableCollection.flattenValue(theColumns);
@@ -1874,6 +1994,7 @@ public interface QuickTableColumn<R, C> {
 
 			theValuesInstantiator = myInterpreted.getValues().instantiate();
 			theColumnElementVariable = myInterpreted.getDefinition().getColumnElementVariable();
+			theMaterializedColumns = myInterpreted.getDefinition().getMaterializedColumns();
 		}
 
 		@Override
@@ -1890,46 +2011,25 @@ public interface QuickTableColumn<R, C> {
 			theValuesHolder.set(theValuesInstantiator.get(myModels), null);
 
 			ObservableCollection<E> values = ObservableCollection.flattenValue(theValuesHolder);
-			ObservableCollection<VariableColumn> columns = ObservableCollection.<VariableColumn> build()//
+			ObservableCollection<Column> columns = ObservableCollection.<Column> build()//
 				.withThreadConstraint(values.getThreadConstraint())//
 				.build();
 			ThreadConstraint threading = values.getThreadConstraint();
-			ModelSetInstance fModels = myModels;
+			ColumnMaterializer materializer = new ColumnMaterializer(values, myModels, threading);
 			CollectionSubscription valueSub = values.subscribe(evt -> {
 				try (Transaction t = columns.lockWrite(false, evt)) {
 					switch (evt.getType()) {
 					case add:
-						SimpleObservable<Void> elementModelUntil = SimpleObservable.build()//
-						.withThreadConstraint(threading)//
-						.build();
-						SettableValue.Builder<E> elementValueBuilder = SettableValue.<E> build()//
-							.withValue(evt.getNewValue());
-						if (threading != ThreadConstraint.ANY)
-							elementValueBuilder.withThreadConstraint(threading);
-						SettableValue<E> elementValue = elementValueBuilder.build();
-						ModelSetInstance elementModelCopy;
-						try {
-							elementModelCopy = QuickCoreInterpretation.copyModels(fModels, theColumnElementVariable, elementModelUntil)
-								.build();
-							ExFlexibleElementModelAddOn.satisfyElementValue(theColumnElementVariable, elementModelCopy, elementValue);
-							columns.add(evt.getIndex(),
-								new VariableColumn(values, evt.getElementId(), elementValue, elementModelCopy, elementModelUntil));
-						} catch (ModelInstantiationException e) {
-							reporting().error("Could not add column for " + evt.getElementId() + ": " + evt.getNewValue(), e);
-							elementModelUntil.onNext(null);
-							// Put in a placeholder for bookkeeping and filter it out later
-							columns.add(evt.getIndex(), null);
-						}
+						// If the column could not be created, put in a placeholder for bookkeeping and filter it out later
+						columns.add(evt.getIndex(), materializer.create(evt.getElementId(), evt.getNewValue()));
 						break;
 					case remove:
-						VariableColumn column = columns.remove(evt.getIndex());
-						if (column != null)
-							column.destroy();
+						materializer.release(columns.remove(evt.getIndex()), evt.getElementId());
 						break;
 					case set:
-						column = columns.get(evt.getIndex());
-						if (column != null)
-							column.update(evt.getNewValue(), evt);
+						Column column = columns.get(evt.getIndex());
+						if (column instanceof VariableColumn)
+							((VariableColumn) column).update(evt.getNewValue(), evt);
 						break;
 					}
 				}
@@ -1937,10 +2037,8 @@ public interface QuickTableColumn<R, C> {
 			Observable.or(myModels.getUntil(), onDestroy()).take(1).act(__ -> {
 				valueSub.unsubscribe(true);
 				threading.invoke(() -> {
-					for (VariableColumn column : columns) {
-						if (column != null)
-							column.destroy();
-					}
+					for (Column column : columns)
+						materializer.release(column, null);
 				});
 			});
 			theColumns.set(columns, null);
@@ -1957,8 +2055,139 @@ public interface QuickTableColumn<R, C> {
 			return copy;
 		}
 
+		/**
+		 * Creates the columns for each value and their full configuration as it is needed. If the number of {@link #getMaterializedColumns()
+		 * materialized columns} is limited, this also releases the configuration of the least-recently displayed columns.
+		 */
+		class ColumnMaterializer {
+			/**
+			 * Columns displayed more recently than this are assumed to be visible and are never evicted, so that when more columns are
+			 * visible than may be materialized, they don't continually evict each other
+			 */
+			static final long VISIBLE_NANOS = 500_000_000L;
+
+			private final ObservableCollection<E> theValues;
+			private final ModelSetInstance theModels;
+			private QuickCoreInterpretation.ModelCopier theModelCopier;
+			private final ThreadConstraint theThreading;
+			/** Materialized columns by their element in the values collection, from least- to most-recently displayed */
+			private final LinkedHashMap<ElementId, VariableColumn> theMaterialized;
+
+			ColumnMaterializer(ObservableCollection<E> values, ModelSetInstance models, ThreadConstraint threading) {
+				theValues = values;
+				theModels = models;
+				theThreading = threading;
+				theMaterialized = new LinkedHashMap<>(16, 0.75f, true);
+			}
+
+			boolean isLazy() {
+				return theMaterializedColumns > 0;
+			}
+
+			/**
+			 * @param element The element in the values collection to create the column for
+			 * @param value The value of the element
+			 * @return The new column, or null if it could not be created. The column is only materialized if the number of materialized
+			 *         columns is not limited.
+			 */
+			VariableColumn create(ElementId element, E value) {
+				SimpleObservable<Void> elementModelUntil = SimpleObservable.build()//
+					.withThreadConstraint(theThreading)//
+					.build();
+				SettableValue.Builder<E> elementValueBuilder = SettableValue.<E> build()//
+					.withValue(value);
+				if (theThreading != ThreadConstraint.ANY)
+					elementValueBuilder.withThreadConstraint(theThreading);
+				SettableValue<E> elementValue = elementValueBuilder.build();
+				VariableColumn column;
+				try {
+					ModelSetInstance elementModelCopy = copyModels(elementValue, elementModelUntil);
+					column = new VariableColumn(this, theValues, element, elementValue, elementModelCopy, elementModelUntil);
+				} catch (ModelInstantiationException e) {
+					reporting().error("Could not add column for " + element + ": " + value, e);
+					elementModelUntil.onNext(null);
+					return null;
+				}
+				if (!isLazy() && !column.materialize()) {
+					column.destroy();
+					return null;
+				}
+				return column;
+			}
+
+			ModelSetInstance copyModels(SettableValue<E> elementValue, Observable<?> until) throws ModelInstantiationException {
+				theModelCopier = QuickCoreInterpretation.modelCopier(theModelCopier, theModels, theColumnElementVariable);
+				ModelSetInstance modelCopy = theModelCopier.copy(until).build();
+				ExFlexibleElementModelAddOn.satisfyElementValue(theColumnElementVariable, modelCopy, elementValue);
+				return modelCopy;
+			}
+
+			void displayed(VariableColumn column) {
+				if (!isLazy())
+					return;
+				if (column.isMaterialized()) {
+					synchronized (theMaterialized) {
+						theMaterialized.get(column.theElement); // Mark the column as recently displayed
+						column.theDisplayTime = System.nanoTime();
+					}
+					return;
+				} else if (column.theError != null)
+					return; // Already failed and reported. Materialization will be re-attempted if the column's value changes.
+				theThreading.invoke(() -> {
+					if (!column.theElement.isPresent() || column.isMaterialized())
+						return; // Removed or already materialized
+					if (!column.materialize())
+						return;
+					synchronized (theMaterialized) {
+						column.theDisplayTime = System.nanoTime();
+						theMaterialized.put(column.theElement, column);
+					}
+					evict();
+				});
+			}
+
+			private void evict() {
+				while (true) {
+					VariableColumn eldest;
+					synchronized (theMaterialized) {
+						if (theMaterialized.size() <= theMaterializedColumns)
+							return;
+						Iterator<VariableColumn> iter = theMaterialized.values().iterator();
+						eldest = iter.next();
+						if (System.nanoTime() - eldest.theDisplayTime < VISIBLE_NANOS)
+							return; // All remaining columns are visible, so exceed the limit rather than evicting one
+						iter.remove();
+					}
+					eldest.dematerialize();
+				}
+			}
+
+			/**
+			 * @param column The column that has been removed
+			 * @param element The element of the column in the values collection, or null if all columns are being released
+			 */
+			void release(Column column, ElementId element) {
+				if (column instanceof VariableColumn) {
+					if (element != null && isLazy()) {
+						synchronized (theMaterialized) {
+							theMaterialized.remove(element);
+						}
+					}
+					((VariableColumn) column).destroy();
+				}
+			}
+		}
+
+		/**
+		 * A column for an element in the values collection. The column's name and header tooltip are always available, but its value,
+		 * renderers, editing, and transfer are only instantiated while it is {@link #isMaterialized() materialized}. Columns are
+		 * materialized and released in place, so the column set itself only changes when the values collection does.
+		 */
 		class VariableColumn extends AbstractSingleColumn<R, C>.Column {
+			private final ColumnMaterializer theMaterializer;
+			final ElementId theElement;
 			private final SettableValue<E> theColumnElement;
+			private final SettableValue<SettableValue<C>> theColumnValueHolder;
 			private final SettableValue<C> theColumnValue;
 			private final SettableValue<String> theName;
 			private final SettableValue<String> theHeaderTooltip;
@@ -1966,42 +2195,44 @@ public interface QuickTableColumn<R, C> {
 			private final ColumnEditing<R, C> theEditing;
 			private final List<QuickTransfer.TransferSource<C, ?>> theTransferSources;
 			private final List<QuickTransfer.TransferAccept<C, ?>> theTransferAccepters;
+			private final ModelSetInstance theModels;
 			private final SimpleObservable<Void> theUntil;
+			private final SimpleObservable<Void> theMaterializationChanges;
+			/** Releases the models of the materialized configuration, or null if this column is not materialized */
+			private volatile SimpleObservable<Void> theMaterializedUntil;
 			private boolean theCallbackLock;
-
-			VariableColumn(ObservableCollection<E> columnValues, ElementId element, SettableValue<E> elementValue, ModelSetInstance models,
-				SimpleObservable<Void> elementUntil) throws ModelInstantiationException {
+			/** The {@link System#nanoTime()} when this column was last displayed, guarded by the materializer's lock */
+			long theDisplayTime;
+			volatile String theError;
+
+			VariableColumn(ColumnMaterializer materializer, ObservableCollection<E> columnValues, ElementId element,
+				SettableValue<E> elementValue, ModelSetInstance models, SimpleObservable<Void> elementUntil)
+					throws ModelInstantiationException {
+				theMaterializer = materializer;
+				theElement = element;
 				theColumnElement = elementValue;
+				theModels = models;
 				theUntil = elementUntil;
+				theMaterializationChanges = new SimpleObservable<>();
 				theName = theNameInstantiator.get(models);
-				theColumnValue = theValueInstantiator.get(models);
-				theRenderers = new ArrayList<>();
-				ExFlexibleElementModelAddOn.satisfyElementValue(getColumnValueVariable(), models, theColumnValue,
-					ExFlexibleElementModelAddOn.ActionIfSatisfied.Replace);
+				theColumnValueHolder = SettableValue.create();
+				theColumnValue = SettableValue.flatten(theColumnValueHolder);
 				theHeaderTooltip = theHeaderTooltipInstantiator == null ? SettableValue.of(null, "Constant")
 					: theHeaderTooltipInstantiator.get(models);
-				for (QuickWidget renderer : VariableColumns.this.getRenderers()) {
-					renderer = renderer.copy(VariableColumns.this);
-					renderer.instantiate(models);
-					theRenderers.add(renderer);
-				}
-				if (VariableColumns.this.getEditing() != null) {
+				// The configuration structures are created up front so they are stable, but they are only instantiated on materialization
+				theRenderers = new ArrayList<>();
+				for (QuickWidget renderer : VariableColumns.this.getRenderers())
+					theRenderers.add(renderer.copy(VariableColumns.this));
+				if (VariableColumns.this.getEditing() != null)
 					theEditing = VariableColumns.this.getEditing().copy(VariableColumns.this);
-					theEditing.instantiate(models);
-				} else
+				else
 					theEditing = null;
 				theTransferSources = new ArrayList<>(VariableColumns.this.getTransferSources().size());
-				for (QuickTransfer.TransferSource<C, ?> ts : VariableColumns.this.getTransferSources()) {
-					ts = ts.copy(VariableColumns.this);
-					ts.instantiate(models);
-					theTransferSources.add(ts);
-				}
+				for (QuickTransfer.TransferSource<C, ?> ts : VariableColumns.this.getTransferSources())
+					theTransferSources.add(ts.copy(VariableColumns.this));
 				theTransferAccepters = new ArrayList<>(VariableColumns.this.getTransferAccepters().size());
-				for (QuickTransfer.TransferAccept<C, ?> ta : VariableColumns.this.getTransferAccepters()) {
-					ta = ta.copy(VariableColumns.this);
-					ta.instantiate(models);
-					theTransferAccepters.add(ta);
-				}
+				for (QuickTransfer.TransferAccept<C, ?> ta : VariableColumns.this.getTransferAccepters())
+					theTransferAccepters.add(ta.copy(VariableColumns.this));
 
 				theColumnElement.noInitChanges().act(evt -> {
 					if (theCallbackLock)
@@ -2015,7 +2246,56 @@ public interface QuickTableColumn<R, C> {
 				});
 			}
 
+			/**
+			 * Instantiates this column's value, renderers, editing, and transfer. If the number of materialized columns is limited, this
+			 * is done in a fresh copy of the models so that they can be released separately from the column.
+			 *
+			 * @return Whether the column was materialized successfully. If not, the error has been reported.
+			 */
+			boolean materialize() {
+				SimpleObservable<Void> materializedUntil = SimpleObservable.build()//
+					.withThreadConstraint(theMaterializer.theThreading)//
+					.build();
+				try {
+					ModelSetInstance models = theMaterializer.isLazy()
+						? theMaterializer.copyModels(theColumnElement, Observable.or(materializedUntil, theUntil)) : theModels;
+					SettableValue<C> columnValue = theValueInstantiator.get(models);
+					ExFlexibleElementModelAddOn.satisfyElementValue(getColumnValueVariable(), models, columnValue,
+						ExFlexibleElementModelAddOn.ActionIfSatisfied.Replace);
+					for (QuickWidget renderer : theRenderers)
+						renderer.instantiate(models);
+					if (theEditing != null)
+						theEditing.instantiate(models);
+					for (QuickTransfer.TransferSource<C, ?> ts : theTransferSources)
+						ts.instantiate(models);
+					for (QuickTransfer.TransferAccept<C, ?> ta : theTransferAccepters)
+						ta.instantiate(models);
+					theColumnValueHolder.set(columnValue, null);
+				} catch (ModelInstantiationException e) {
+					reporting().error("Could not create column for " + theElement + ": " + theColumnElement.get(), e);
+					theError = "Could not create column";
+					materializedUntil.onNext(null);
+					return false;
+				}
+				theError = null;
+				theMaterializedUntil = materializedUntil;
+				theMaterializationChanges.onNext(null);
+				return true;
+			}
+
+			/** Releases the models of this column's value, renderers, editing, and transfer, keeping the column itself */
+			void dematerialize() {
+				SimpleObservable<Void> materializedUntil = theMaterializedUntil;
+				if (materializedUntil == null)
+					return;
+				theMaterializedUntil = null;
+				theColumnValueHolder.set(null, null);
+				materializedUntil.onNext(null);
+				theMaterializationChanges.onNext(null);
+			}
+
 			void update(E newValue, Object cause) {
+				theError = null; // Try again to materialize with the new value if needed
 				if (theCallbackLock)
 					return;
 				theCallbackLock = true;
@@ -2027,9 +2307,30 @@ public interface QuickTableColumn<R, C> {
 			}
 
 			void destroy() {
+				dematerialize();
 				theUntil.onNext(null);
 			}
 
+			@Override
+			public boolean isMaterialized() {
+				return theMaterializedUntil != null;
+			}
+
+			@Override
+			public void displayed() {
+				theMaterializer.displayed(this);
+			}
+
+			@Override
+			public String getMaterializationError() {
+				return theError;
+			}
+
+			@Override
+			public Observable<?> getMaterializationChanges() {
+				return theMaterializationChanges;
+			}
+
 			@Override
 			public SettableValue<E> getId() {
 				return theColumnElement;
@@ -2072,7 +2373,7 @@ public interface QuickTableColumn<R, C> {
 
 			@Override
 			public String toString() {
-				return super.toString() + " for " + theColumnElement.get();
+				return super.toString() + " for " + theColumnElement.get() + (isMaterialized() ? "" : " (not materialized)");
 			}
 		}
 	}
@@ -184,6 +184,7 @@ public abstract class QuickVariableContainer extends QuickContainer.Abstract<Qui
 		private SettableValue<ObservableCollection<T>> theValues;
 		private ObservableCollection<T> theFlatValues;
 		private ModelComponentId theActiveValueVariable;
+		private QuickCoreInterpretation.ModelCopier theModelCopier;
 		private ObservableCollection<MultiWidgetInstance> theWidgetInstances;
 		private QuickWidget theRenderer;
 		private int theInstantiatedModel;
@@ -195,6 +196,7 @@ public abstract class QuickVariableContainer extends QuickContainer.Abstract<Qui
 		}
 
 		private void init() {
+			theModelCopier = null;
 			theValues = SettableValue.create();
 			theWidgetInstances = ObservableCollection.create();
 			theFlatValues = ObservableCollection.flattenValue(theValues);
@@ -326,8 +328,8 @@ public abstract class QuickVariableContainer extends QuickContainer.Abstract<Qui
 			}
 
 			void instantiate(ModelSetInstance models) throws ModelInstantiationException {
-				ModelSetInstance copy = QuickCoreInterpretation
-					.copyModels(models, theActiveValueVariable, Observable.or(models.getUntil(), theRendererInstance.onDestroy())).build();
+				theModelCopier = QuickCoreInterpretation.modelCopier(theModelCopier, models, theActiveValueVariable);
+				ModelSetInstance copy = theModelCopier.copy(Observable.or(models.getUntil(), theRendererInstance.onDestroy())).build();
 				ExFlexibleElementModelAddOn.satisfyElementValue(theActiveValueVariable, copy, theValue);
 
 				theRendererInstance.instantiate(copy);
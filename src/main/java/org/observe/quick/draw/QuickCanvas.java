@@ -26,6 +26,9 @@ public class QuickCanvas extends QuickWidget.Abstract {
 	public static class Def extends QuickWidget.Def.Abstract<QuickCanvas> {
 		private CompiledExpression thePublishWidth;
 		private CompiledExpression thePublishHeight;
+		private int theMaxFps;
+		private int theRepaintCoalesce;
+		private CompiledExpression thePublishSkippedRepaints;
 
 		public Def(ExElement.Def<?> parent, QonfigElementOrAddOn qonfigType) {
 			super(parent, qonfigType);
@@ -41,12 +44,36 @@ public class QuickCanvas extends QuickWidget.Abstract {
 			return thePublishHeight;
 		}
 
+		@QonfigAttributeGetter("max-fps")
+		public int getMaxFps() {
+			return theMaxFps;
+		}
+
+		@QonfigAttributeGetter("repaint-coalesce")
+		public int getRepaintCoalesce() {
+			return theRepaintCoalesce;
+		}
+
+		@QonfigAttributeGetter("publish-skipped-repaints")
+		public CompiledExpression getPublishSkippedRepaints() {
+			return thePublishSkippedRepaints;
+		}
+
 		@Override
 		protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
 			super.doUpdate(session);
 
 			thePublishWidth = getAttributeExpression("publish-width", session);
 			thePublishHeight = getAttributeExpression("publish-height", session);
+			theMaxFps = Integer.parseInt(session.getAttributeText("max-fps"));
+			if (theMaxFps <= 0)
+				throw new QonfigInterpretationException("max-fps must be positive: " + theMaxFps,
+					session.attributes().get("max-fps").getLocatedContent());
+			theRepaintCoalesce = Integer.parseInt(session.getAttributeText("repaint-coalesce"));
+			if (theRepaintCoalesce < 0)
+				throw new QonfigInterpretationException("repaint-coalesce must not be negative: " + theRepaintCoalesce,
+					session.attributes().get("repaint-coalesce").getLocatedContent());
+			thePublishSkippedRepaints = getAttributeExpression("publish-skipped-repaints", session);
 		}
 
 		@Override
@@ -58,6 +85,7 @@ public class QuickCanvas extends QuickWidget.Abstract {
 	public static class Interpreted extends QuickWidget.Interpreted.Abstract<QuickCanvas> {
 		private InterpretedValueSynth<SettableValue<?>, SettableValue<Integer>> thePublishWidth;
 		private InterpretedValueSynth<SettableValue<?>, SettableValue<Integer>> thePublishHeight;
+		private InterpretedValueSynth<SettableValue<?>, SettableValue<Integer>> thePublishSkippedRepaints;
 
 		Interpreted(Def definition, ExElement.Interpreted<?> parent) {
 			super(definition, parent);
@@ -76,11 +104,16 @@ public class QuickCanvas extends QuickWidget.Abstract {
 			return thePublishHeight;
 		}
 
+		public InterpretedValueSynth<SettableValue<?>, SettableValue<Integer>> getPublishSkippedRepaints() {
+			return thePublishSkippedRepaints;
+		}
+
 		@Override
 		protected void doUpdate() throws ExpressoInterpretationException {
 			super.doUpdate();
 			thePublishWidth = interpret(getDefinition().getPublishWidth(), ModelTypes.Value.INT);
 			thePublishHeight = interpret(getDefinition().getPublishHeight(), ModelTypes.Value.INT);
+			thePublishSkippedRepaints = interpret(getDefinition().getPublishSkippedRepaints(), ModelTypes.Value.INT);
 		}
 
 		@Override
@@ -91,14 +124,19 @@ public class QuickCanvas extends QuickWidget.Abstract {
 
 	private ModelValueInstantiator<SettableValue<Integer>> thePublishWidthInstantiator;
 	private ModelValueInstantiator<SettableValue<Integer>> thePublishHeightInstantiator;
+	private ModelValueInstantiator<SettableValue<Integer>> thePublishSkippedRepaintsInstantiator;
 
 	private SettableValue<SettableValue<Integer>> thePublishWidth;
 	private SettableValue<SettableValue<Integer>> thePublishHeight;
+	private SettableValue<SettableValue<Integer>> thePublishSkippedRepaints;
+	private int theMaxFps;
+	private int theRepaintCoalesce;
 
 	QuickCanvas(Object id) {
 		super(id);
 		thePublishWidth = SettableValue.create();
 		thePublishHeight = SettableValue.create();
+		thePublishSkippedRepaints = SettableValue.create();
 	}
 
 	public SettableValue<Integer> getPublishWidth() {
@@ -109,12 +147,28 @@ public class QuickCanvas extends QuickWidget.Abstract {
 		return SettableValue.flatten(thePublishHeight);
 	}
 
+	public SettableValue<Integer> getPublishSkippedRepaints() {
+		return SettableValue.flatten(thePublishSkippedRepaints);
+	}
+
+	public int getMaxFps() {
+		return theMaxFps;
+	}
+
+	public int getRepaintCoalesce() {
+		return theRepaintCoalesce;
+	}
+
 	@Override
 	protected void doUpdate(ExElement.Interpreted<?> interpreted) throws ModelInstantiationException {
 		super.doUpdate(interpreted);
 		Interpreted myInterpreted = (Interpreted) interpreted;
 		thePublishWidthInstantiator = myInterpreted.getPublishWidth() == null ? null : myInterpreted.getPublishWidth().instantiate();
 		thePublishHeightInstantiator = myInterpreted.getPublishHeight() == null ? null : myInterpreted.getPublishHeight().instantiate();
+		thePublishSkippedRepaintsInstantiator = myInterpreted.getPublishSkippedRepaints() == null ? null
+			: myInterpreted.getPublishSkippedRepaints().instantiate();
+		theMaxFps = myInterpreted.getDefinition().getMaxFps();
+		theRepaintCoalesce = myInterpreted.getDefinition().getRepaintCoalesce();
 	}
 
 	@Override
@@ -124,6 +178,8 @@ public class QuickCanvas extends QuickWidget.Abstract {
 			thePublishWidthInstantiator.instantiate();
 		if (thePublishHeightInstantiator != null)
 			thePublishHeightInstantiator.instantiate();
+		if (thePublishSkippedRepaintsInstantiator != null)
+			thePublishSkippedRepaintsInstantiator.instantiate();
 	}
 
 	@Override
@@ -131,6 +187,7 @@ public class QuickCanvas extends QuickWidget.Abstract {
 		myModels = super.doInstantiate(myModels);
 		thePublishWidth.set(thePublishWidthInstantiator == null ? null : thePublishWidthInstantiator.get(myModels));
 		thePublishHeight.set(thePublishHeightInstantiator == null ? null : thePublishHeightInstantiator.get(myModels));
+		thePublishSkippedRepaints.set(thePublishSkippedRepaintsInstantiator == null ? null : thePublishSkippedRepaintsInstantiator.get(myModels));
 		return myModels;
 	}
 
@@ -139,6 +196,7 @@ public class QuickCanvas extends QuickWidget.Abstract {
 		QuickCanvas copy = (QuickCanvas) super.copy(parent);
 		copy.thePublishWidth = SettableValue.create();
 		copy.thePublishHeight = SettableValue.create();
+		copy.thePublishSkippedRepaints = SettableValue.create();
 		return copy;
 	}
 }
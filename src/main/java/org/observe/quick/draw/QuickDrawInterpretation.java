@@ -62,6 +62,7 @@ public class QuickDrawInterpretation implements QonfigInterpretation {
 		interpreter.createWith(QuickLine.LINE, QuickLine.Def.class, ExElement.creator(QuickLine.Def::new));
 		interpreter.createWith(QuickPoint.POINT, QuickPoint.Def.class, ExElement.creator(QuickPoint.Def::new));
 		interpreter.createWith(QuickFlexLine.FLEX_LINE, QuickFlexLine.Def.class, ExElement.creator(QuickFlexLine.Def::new));
+		interpreter.createWith(QuickSeriesLine.SERIES_LINE, QuickSeriesLine.Def.class, ExElement.creator(QuickSeriesLine.Def::new));
 		interpreter.createWith(QuickShapeContainer.SHAPE_CONTAINER, QuickShapeContainer.Def.class,
 			ExAddOn.creator(QuickShapeContainer.Def::new));
 		interpreter.createWith(QuickShapeCollection.SHAPE_COLLECTION, QuickShapeCollection.Def.class,
@@ -25,6 +25,14 @@ import com.google.common.reflect.TypeToken;
 public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinearShape {
 	public static final String FLEX_LINE = "flex-line";
 
+	/** Strategies for reducing the number of points of a line that are rendered */
+	public enum Decimation {
+		/** Every point is rendered */
+		None,
+		/** For each run of consecutive points in the same pixel column, only the first, last, minimum, and maximum points are rendered */
+		MinMax
+	}
+
 	@ExElementTraceable(toolkit = QuickDrawInterpretation.DRAW,
 		qonfigType = FLEX_LINE,
 		interpretation = Interpreted.class,
@@ -39,6 +47,7 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 		private ModelComponentId thePointDistanceAs;
 		private ModelComponentId theLinearPAs;
 		private CompiledExpression theStyleVarianceDistance;
+		private Decimation theDecimation;
 
 		public Def(ExElement.Def<?> parent, QonfigElementOrAddOn type) {
 			super(parent, type);
@@ -89,6 +98,11 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 			return theStyleVarianceDistance;
 		}
 
+		@QonfigAttributeGetter("decimation")
+		public Decimation getDecimation() {
+			return theDecimation;
+		}
+
 		@Override
 		protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
 			super.doUpdate(session);
@@ -97,6 +111,18 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 			thePointX = getAttributeExpression("point-x", session);
 			thePointY = getAttributeExpression("point-y", session);
 			theStyleVarianceDistance = getAttributeExpression("style-variance-distance", session);
+			String decimation = session.getAttributeText("decimation");
+			switch (decimation) {
+			case "none":
+				theDecimation = Decimation.None;
+				break;
+			case "min-max":
+				theDecimation = Decimation.MinMax;
+				break;
+			default:
+				throw new QonfigInterpretationException("Unrecognized decimation: " + decimation,
+					session.attributes().get("decimation").getLocatedContent());
+			}
 
 			String apaAttr = session.getAttributeText("active-point-as");
 			String piaAttr = session.getAttributeText("point-index-as");
@@ -194,6 +220,7 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 
 	private boolean isStyleDynamic;
 	private boolean isThicknessDynamic;
+	private Decimation theDecimation;
 
 	QuickFlexLine(Object id) {
 		super(id);
@@ -255,6 +282,11 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 		return isStyleDynamic;
 	}
 
+	/** @return The strategy to use to reduce the number of points rendered for this line */
+	public Decimation getDecimation() {
+		return theDecimation;
+	}
+
 	public boolean isDistanceNeeded() {
 		return thePointDistanceAsVbl != null;
 	}
@@ -278,6 +310,7 @@ public class QuickFlexLine<T> extends QuickShape.Abstract implements QuickLinear
 		theNextPointAsVbl = myInterpreted.getDefinition().getNextPointAs();
 		thePointDistanceAsVbl = myInterpreted.getDefinition().getPointDistanceAs();
 		theLinearPAsVbl = myInterpreted.getDefinition().getLinearPAs();
+		theDecimation = myInterpreted.getDefinition().getDecimation();
 	}
 
 	@Override
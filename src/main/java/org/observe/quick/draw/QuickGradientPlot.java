@@ -7,6 +7,7 @@ import java.util.List;
 import org.observe.Observable;
 import org.observe.ObservableValue;
 import org.observe.SettableValue;
+import org.observe.SimpleObservable;
 import org.observe.expresso.ExpressoInterpretationException;
 import org.observe.expresso.ModelInstantiationException;
 import org.observe.expresso.ObservableModelSet.ModelSetInstance;
@@ -28,6 +29,12 @@ public class QuickGradientPlot extends QuickRectangle{
 		float getValue(int minX, int maxX, int minY, int maxY);
 
 		Color getColor(float value);
+
+		/**
+		 * @return Whether the color for a pixel depends only on the pixel's value, i.e. not on the grid indexes of the pixel. If true,
+		 *         {@link #getColor(float)} will always return the same color for the same value while this renderer is open.
+		 */
+		boolean isColorValueOnly();
 	}
 
 	public static final Comparator<Float> FLOAT_SORT = FunctionUtils.printableComparator(Float::compareTo, () -> "compareNumbers", null);
@@ -133,9 +140,12 @@ public class QuickGradientPlot extends QuickRectangle{
 	}
 
 	private ExElementType.InstanceTypeData theTypeData;
+	private Boolean isColorValueOnly;
+	private SimpleObservable<Void> theInstanceChanges;
 
 	QuickGradientPlot(Object id) {
 		super(id);
+		theInstanceChanges = new SimpleObservable<>();
 	}
 
 	protected ExElementType.InstanceTypeData getTypeData() {
@@ -151,19 +161,28 @@ public class QuickGradientPlot extends QuickRectangle{
 	}
 
 	public Renderer getRenderer() {
+		SettableValue<Integer> minXValue = theTypeData.satisfyModelValue(MIN_X_AS, () -> SettableValue.create(0));
+		SettableValue<Integer> maxXValue = theTypeData.satisfyModelValue(MAX_X_AS, () -> SettableValue.create(0));
+		SettableValue<Integer> minYValue = theTypeData.satisfyModelValue(MIN_Y_AS, () -> SettableValue.create(0));
+		SettableValue<Integer> maxYValue = theTypeData.satisfyModelValue(MAX_Y_AS, () -> SettableValue.create(0));
+		ObservableValue<Color> colorValue = theTypeData.getValue(COLOR);
+		if (isColorValueOnly == null) {
+			Observable.CoreChangeSources colorSources = colorValue.getChangeSources();
+			isColorValueOnly = !colorSources.containsAny(minXValue.getChangeSources())
+				&& !colorSources.containsAny(maxXValue.getChangeSources()) && !colorSources.containsAny(minYValue.getChangeSources())
+				&& !colorSources.containsAny(maxYValue.getChangeSources());
+		}
+		boolean colorValueOnly = isColorValueOnly;
+
 		Causable.CausableInUse cause = Causable.cause();
-		SettableValue.Setter<Integer> minXAs = theTypeData.satisfyModelValue(MIN_X_AS, () -> SettableValue.create(0)).lockWrite(false,
-			cause);
-		SettableValue.Setter<Integer> maxXAs = theTypeData.satisfyModelValue(MAX_X_AS, () -> SettableValue.create(0)).lockWrite(false,
-			cause);
-		SettableValue.Setter<Integer> minYAs = theTypeData.satisfyModelValue(MIN_Y_AS, () -> SettableValue.create(0)).lockWrite(false,
-			cause);
-		SettableValue.Setter<Integer> maxYAs = theTypeData.satisfyModelValue(MAX_Y_AS, () -> SettableValue.create(0)).lockWrite(false,
-			cause);
+		SettableValue.Setter<Integer> minXAs = minXValue.lockWrite(false, cause);
+		SettableValue.Setter<Integer> maxXAs = maxXValue.lockWrite(false, cause);
+		SettableValue.Setter<Integer> minYAs = minYValue.lockWrite(false, cause);
+		SettableValue.Setter<Integer> maxYAs = maxYValue.lockWrite(false, cause);
 		ObservableValue.Getter<Float> value = theTypeData.getValue(VALUE).lock(false);
 		SettableValue.Setter<Float> valueAs = theTypeData.satisfyModelValue(VALUE_AS, () -> SettableValue.create(0f)).lockWrite(false,
 			cause);
-		ObservableValue.Getter<Color> color = theTypeData.getValue(COLOR).lock(false);
+		ObservableValue.Getter<Color> color = colorValue.lock(false);
 		return new Renderer() {
 			@Override
 			public float getValue(int minX, int maxX, int minY, int maxY) {
@@ -180,6 +199,11 @@ public class QuickGradientPlot extends QuickRectangle{
 				return color.get();
 			}
 
+			@Override
+			public boolean isColorValueOnly() {
+				return colorValueOnly;
+			}
+
 			@Override
 			public void close() {
 				color.close();
@@ -198,11 +222,42 @@ public class QuickGradientPlot extends QuickRectangle{
 		return Observable.or(theTypeData.getValue(XS).noInitChanges(), theTypeData.getValue(YS).noInitChanges());
 	}
 
+	/**
+	 * @return An observable firing when anything that affects the plot's pixels may have changed, including changes caused by using this
+	 *         plot's {@link #getRenderer() renderer}
+	 */
+	public Observable<? extends Causable> getRenderChanges() {
+		return Observable.or(getChanges(), theTypeData.getValue(VALUE).noInitChanges(), theTypeData.getValue(COLOR).noInitChanges());
+	}
+
+	/**
+	 * @return An observable firing when this plot is updated or re-instantiated, after which {@link #createWorker() workers} created
+	 *         previously no longer reflect it
+	 */
+	public Observable<Void> getInstanceChanges() {
+		return theInstanceChanges;
+	}
+
+	/**
+	 * Creates a copy of this plot with its own instance of the plot's models. The copy's {@link #getRenderer() renderer} may be used on
+	 * another thread, concurrently with this plot's and other copies' renderers. The copy should be {@link #destroy() destroyed} when it is
+	 * no longer needed.
+	 *
+	 * @return The worker copy of this plot
+	 * @throws ModelInstantiationException If the copy could not be instantiated
+	 */
+	public QuickGradientPlot createWorker() throws ModelInstantiationException {
+		QuickGradientPlot worker = copy(getParentElement());
+		worker.instantiate(getParentElement().getUpdatingModels());
+		return worker;
+	}
+
 	@Override
 	protected void doUpdate(ExElement.Interpreted<?> interpreted) throws ModelInstantiationException {
 		super.doUpdate(interpreted);
 
 		theTypeData = ((Interpreted) interpreted).getTypeData().instantiate(this);
+		theInstanceChanges.onNext(null);
 	}
 
 	@Override
@@ -217,6 +272,8 @@ public class QuickGradientPlot extends QuickRectangle{
 		myModels = super.doInstantiate(myModels);
 
 		theTypeData.instantiate(myModels, this);
+		isColorValueOnly = null;
+		theInstanceChanges.onNext(null);
 		return myModels;
 	}
 
@@ -225,6 +282,8 @@ public class QuickGradientPlot extends QuickRectangle{
 		QuickGradientPlot copy = (QuickGradientPlot) super.copy(parent);
 
 		copy.theTypeData = theTypeData.copy(copy);
+		copy.isColorValueOnly = null;
+		copy.theInstanceChanges = new SimpleObservable<>();
 
 		return copy;
 	}
@@ -0,0 +1,129 @@
+package org.observe.quick.draw;
+
+import org.observe.SettableValue;
+import org.observe.expresso.ExpressoInterpretationException;
+import org.observe.expresso.ModelInstantiationException;
+import org.observe.expresso.ModelTypes;
+import org.observe.expresso.ObservableModelSet.InterpretedValueSynth;
+import org.observe.expresso.ObservableModelSet.ModelSetInstance;
+import org.observe.expresso.ObservableModelSet.ModelValueInstantiator;
+import org.observe.expresso.qonfig.CompiledExpression;
+import org.observe.expresso.qonfig.ExElement;
+import org.observe.expresso.qonfig.ExElementTraceable;
+import org.observe.expresso.qonfig.ExpressoQIS;
+import org.observe.expresso.qonfig.QonfigAttributeGetter;
+import org.qommons.config.QonfigElementOrAddOn;
+import org.qommons.config.QonfigInterpretationException;
+
+/** A line plotting the samples of a {@link SampleSeries}, all with the same style */
+public class QuickSeriesLine extends QuickShape.Abstract implements QuickLinearShape {
+	public static final String SERIES_LINE = "series-line";
+
+	@ExElementTraceable(toolkit = QuickDrawInterpretation.DRAW,
+		qonfigType = SERIES_LINE,
+		interpretation = Interpreted.class,
+		instance = QuickSeriesLine.class)
+	public static class Def extends QuickLinearShape.Def.Abstract<QuickSeriesLine> {
+		private CompiledExpression theSeries;
+
+		public Def(ExElement.Def<?> parent, QonfigElementOrAddOn type) {
+			super(parent, type);
+		}
+
+		@QonfigAttributeGetter("series")
+		public CompiledExpression getSeries() {
+			return theSeries;
+		}
+
+		@Override
+		protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
+			super.doUpdate(session);
+
+			theSeries = getAttributeExpression("series", session);
+		}
+
+		@Override
+		public Interpreted interpret(ExElement.Interpreted<?> parent) {
+			return new Interpreted(this, parent);
+		}
+	}
+
+	public static class Interpreted extends QuickLinearShape.Interpreted.Abstract<QuickSeriesLine> {
+		private InterpretedValueSynth<SettableValue<?>, SettableValue<SampleSeries>> theSeries;
+
+		Interpreted(Def definition, ExElement.Interpreted<?> parent) {
+			super(definition, parent);
+		}
+
+		@Override
+		public Def getDefinition() {
+			return (Def) super.getDefinition();
+		}
+
+		public InterpretedValueSynth<SettableValue<?>, SettableValue<SampleSeries>> getSeries() {
+			return theSeries;
+		}
+
+		@Override
+		protected void doUpdate() throws ExpressoInterpretationException {
+			super.doUpdate();
+
+			theSeries = interpret(getDefinition().getSeries(), ModelTypes.Value.forType(SampleSeries.class));
+		}
+
+		@Override
+		public QuickSeriesLine create() {
+			return new QuickSeriesLine(getIdentity());
+		}
+	}
+
+	private ModelValueInstantiator<SettableValue<SampleSeries>> theSeriesInstantiator;
+	private SettableValue<SettableValue<SampleSeries>> theSeries;
+
+	QuickSeriesLine(Object id) {
+		super(id);
+		theSeries = SettableValue.create();
+	}
+
+	public SettableValue<SampleSeries> getSeries() {
+		return SettableValue.flatten(theSeries);
+	}
+
+	@Override
+	public QuickLinearShape.QuickLineShapeStyle getStyle() {
+		return (QuickLinearShape.QuickLineShapeStyle) super.getStyle();
+	}
+
+	@Override
+	protected void doUpdate(ExElement.Interpreted<?> interpreted) throws ModelInstantiationException {
+		super.doUpdate(interpreted);
+
+		Interpreted myInterpreted = (Interpreted) interpreted;
+		theSeriesInstantiator = myInterpreted.getSeries().instantiate();
+	}
+
+	@Override
+	public void instantiated() throws ModelInstantiationException {
+		super.instantiated();
+
+		theSeriesInstantiator.instantiate();
+	}
+
+	@Override
+	protected ModelSetInstance doInstantiate(ModelSetInstance myModels) throws ModelInstantiationException {
+		myModels = super.doInstantiate(myModels);
+
+		theSeries.set(theSeriesInstantiator.get(myModels));
+
+		return myModels;
+	}
+
+	@Override
+	public QuickSeriesLine copy(ExElement parent) {
+		QuickSeriesLine copy = (QuickSeriesLine) super.copy(parent);
+
+		copy.theSeries = SettableValue.create();
+
+		return copy;
+	}
+}
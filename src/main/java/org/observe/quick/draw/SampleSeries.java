@@ -0,0 +1,292 @@
+package org.observe.quick.draw;
+
+import org.observe.Observable;
+import org.observe.SimpleObservable;
+
+/**
+ * <p>
+ * A fixed-capacity, append-only series of x/y samples, e.g. from a live sensor stream, to be plotted by a {@link QuickSeriesLine
+ * &lt;series-line>}.
+ * </p>
+ * <p>
+ * Samples are stored as primitive doubles in a ring buffer, so appending a sample involves no boxing, no collection events, and no
+ * expression evaluation. When the buffer is full, each appended sample evicts the oldest one. If a {@link #getWindow() window} is
+ * specified, samples whose x-coordinate (typically a timestamp) is more than the window's width before the x-coordinate of the newest
+ * sample are also evicted.
+ * </p>
+ * <p>
+ * This class is thread-safe. Samples are typically appended from a data acquisition thread while being read by the rendering thread.
+ * </p>
+ */
+public class SampleSeries {
+	/** Describes a change to a {@link SampleSeries} */
+	public static class SeriesChange {
+		private final int theAppended;
+		private final int theEvicted;
+
+		SeriesChange(int appended, int evicted) {
+			theAppended = appended;
+			theEvicted = evicted;
+		}
+
+		/** @return The number of samples appended to the end of the series */
+		public int getAppended() {
+			return theAppended;
+		}
+
+		/** @return The number of samples evicted from the start of the series */
+		public int getEvicted() {
+			return theEvicted;
+		}
+
+		@Override
+		public String toString() {
+			return "+" + theAppended + "/-" + theEvicted;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A copy of a series' samples that is {@link #update(SampleSeries) updated} incrementally, copying only the samples appended since the
+	 * last update. This allows a reader to use the samples without holding the series' lock.
+	 * </p>
+	 * <p>
+	 * Each sample appended to a series is given a sequence number, and is stored at the index of its sequence number modulo the
+	 * capacity, both in the series' buffer and in the mirror's.
+	 * </p>
+	 */
+	public static class Mirror {
+		private final double[] theMirrorXs;
+		private final double[] theMirrorYs;
+		private SampleSeries theSeries;
+		/** The sequence number of the oldest sample in this mirror */
+		private long theMirrorStart;
+		/** The sequence number after the newest sample in this mirror */
+		private long theMirrorEnd;
+
+		/** @param capacity The capacity of the series to mirror */
+		public Mirror(int capacity) {
+			theMirrorXs = new double[capacity];
+			theMirrorYs = new double[capacity];
+		}
+
+		/** @return The capacity of the series that this mirror can copy */
+		public int getCapacity() {
+			return theMirrorXs.length;
+		}
+
+		/**
+		 * Copies the samples appended to a series since the last update
+		 *
+		 * @param series The series to copy. Must have the same capacity as this mirror.
+		 * @return Whether this mirror's samples changed
+		 */
+		public boolean update(SampleSeries series) {
+			if (series.getCapacity() != theMirrorXs.length)
+				throw new IllegalArgumentException("Series capacity " + series.getCapacity() + " does not match mirror capacity "
+					+ theMirrorXs.length);
+			if (series != theSeries) {
+				theSeries = series;
+				theMirrorStart = theMirrorEnd = 0;
+			}
+			return series.copyInto(this);
+		}
+
+		/** @return The number of samples in this mirror */
+		public int size() {
+			return (int) (theMirrorEnd - theMirrorStart);
+		}
+
+		/**
+		 * @param index The index of the sample, where 0 is the oldest sample in this mirror
+		 * @return The x-coordinate of the sample
+		 */
+		public double getX(int index) {
+			return theMirrorXs[(int) ((theMirrorStart + index) % theMirrorXs.length)];
+		}
+
+		/**
+		 * @param index The index of the sample, where 0 is the oldest sample in this mirror
+		 * @return The y-coordinate of the sample
+		 */
+		public double getY(int index) {
+			return theMirrorYs[(int) ((theMirrorStart + index) % theMirrorYs.length)];
+		}
+
+		@Override
+		public String toString() {
+			return "SampleSeries.Mirror[" + size() + "/" + theMirrorXs.length + "]";
+		}
+	}
+
+	private final double[] theXs;
+	private final double[] theYs;
+	private final double theWindow;
+	private final SimpleObservable<SeriesChange> theChanges;
+	/** The buffer index of the oldest sample, which is always the sequence number of the oldest sample modulo the capacity */
+	private int theStart;
+	private int theSize;
+	/** The sequence number of the next sample to be appended */
+	private long theTotal;
+	private long theStamp;
+
+	/** @param capacity The maximum number of samples to retain */
+	public SampleSeries(int capacity) {
+		this(capacity, Double.NaN);
+	}
+
+	/**
+	 * @param capacity The maximum number of samples to retain
+	 * @param window The maximum difference between the x-coordinates of the newest and oldest retained samples, or NaN for no limit
+	 */
+	public SampleSeries(int capacity, double window) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		if (window <= 0)
+			throw new IllegalArgumentException("Window must be positive: " + window);
+		theXs = new double[capacity];
+		theYs = new double[capacity];
+		theWindow = window;
+		theChanges = new SimpleObservable<>();
+	}
+
+	/** @return The maximum number of samples retained by this series */
+	public int getCapacity() {
+		return theXs.length;
+	}
+
+	/** @return The maximum difference between the x-coordinates of the newest and oldest retained samples, or NaN for no limit */
+	public double getWindow() {
+		return theWindow;
+	}
+
+	/** @return The number of samples currently in this series */
+	public synchronized int size() {
+		return theSize;
+	}
+
+	/** @return A stamp that changes whenever this series is modified */
+	public synchronized long getStamp() {
+		return theStamp;
+	}
+
+	/**
+	 * @param index The index of the sample, where 0 is the oldest retained sample
+	 * @return The x-coordinate of the sample
+	 */
+	public synchronized double getX(int index) {
+		return theXs[bufferIndex(index)];
+	}
+
+	/**
+	 * @param index The index of the sample, where 0 is the oldest retained sample
+	 * @return The y-coordinate of the sample
+	 */
+	public synchronized double getY(int index) {
+		return theYs[bufferIndex(index)];
+	}
+
+	private int bufferIndex(int index) {
+		if (index < 0 || index >= theSize)
+			throw new IndexOutOfBoundsException(index + " of " + theSize);
+		int bufferIndex = theStart + index;
+		return bufferIndex < theXs.length ? bufferIndex : bufferIndex - theXs.length;
+	}
+
+	/** @return An observable that fires whenever samples are appended to or evicted from this series */
+	public Observable<SeriesChange> changes() {
+		return theChanges;
+	}
+
+	/**
+	 * @param x The x-coordinate of the sample to append
+	 * @param y The y-coordinate of the sample to append
+	 */
+	public void append(double x, double y) {
+		SeriesChange change;
+		synchronized (this) {
+			change = doAppend(x, y, 1);
+		}
+		theChanges.onNext(change);
+	}
+
+	/**
+	 * Appends many samples at once, firing a single change
+	 *
+	 * @param xs The x-coordinates of the samples to append
+	 * @param ys The y-coordinates of the samples to append
+	 * @param count The number of samples to append from the arrays
+	 */
+	public void appendAll(double[] xs, double[] ys, int count) {
+		if (count == 0)
+			return;
+		SeriesChange change;
+		synchronized (this) {
+			int evicted = 0;
+			for (int i = 0; i < count; i++)
+				evicted += doAppend(xs[i], ys[i], 0).getEvicted();
+			change = new SeriesChange(count, evicted);
+		}
+		theChanges.onNext(change);
+	}
+
+	private SeriesChange doAppend(double x, double y, int appended) {
+		int evicted = 0;
+		if (theSize == theXs.length) {
+			theStart = theStart + 1 == theXs.length ? 0 : theStart + 1;
+			theSize--;
+			evicted++;
+		}
+		int end = theStart + theSize;
+		if (end >= theXs.length)
+			end -= theXs.length;
+		theXs[end] = x;
+		theYs[end] = y;
+		theSize++;
+		theTotal++;
+		if (!Double.isNaN(theWindow)) {
+			double minX = x - theWindow;
+			while (theSize > 1 && theXs[theStart] < minX) {
+				theStart = theStart + 1 == theXs.length ? 0 : theStart + 1;
+				theSize--;
+				evicted++;
+			}
+		}
+		theStamp++;
+		return new SeriesChange(appended, evicted);
+	}
+
+	/** Removes all samples from this series */
+	public void clear() {
+		int evicted;
+		synchronized (this) {
+			evicted = theSize;
+			if (evicted == 0)
+				return;
+			theSize = 0;
+			theStart = (int) (theTotal % theXs.length);
+			theStamp++;
+		}
+		theChanges.onNext(new SeriesChange(0, evicted));
+	}
+
+	synchronized boolean copyInto(Mirror mirror) {
+		long start = theTotal - theSize;
+		if (mirror.theMirrorStart == start && mirror.theMirrorEnd == theTotal)
+			return false;
+		// Only samples not already in the mirror need to be copied. Evicted samples are simply dropped from the mirror's range.
+		for (long seq = Math.max(start, mirror.theMirrorEnd); seq < theTotal; seq++) {
+			int index = (int) (seq % theXs.length);
+			mirror.theMirrorXs[index] = theXs[index];
+			mirror.theMirrorYs[index] = theYs[index];
+		}
+		mirror.theMirrorStart = start;
+		mirror.theMirrorEnd = theTotal;
+		return true;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "SampleSeries[" + theSize + "/" + theXs.length + "]";
+	}
+}
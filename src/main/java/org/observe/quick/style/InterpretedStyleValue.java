@@ -1,14 +1,20 @@
 package org.observe.quick.style;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 import org.observe.ObservableValue;
 import org.observe.SettableValue;
 import org.observe.expresso.InterpretedExpressoEnv;
 import org.observe.expresso.ModelInstantiationException;
+import org.observe.expresso.ObservableExpression;
+import org.observe.expresso.ObservableExpression.EvaluatedExpression;
 import org.observe.expresso.ObservableModelSet.InterpretedValueSynth;
 import org.observe.expresso.ObservableModelSet.ModelInstantiator;
 import org.observe.expresso.ObservableModelSet.ModelValueInstantiator;
+import org.observe.expresso.ops.BinaryOperatorSet;
+import org.observe.expresso.ops.UnaryOperatorSet;
 import org.observe.expresso.qonfig.ExWithRequiredModels;
 import org.observe.expresso.qonfig.ExWithRequiredModels.InterpretedRequiredModelContext;
 
@@ -24,6 +30,7 @@ public class InterpretedStyleValue<T> implements Comparable<InterpretedStyleValu
 	private final InterpretedValueSynth<SettableValue<?>, SettableValue<T>> theValue;
 	private final List<ModelInstantiator> theModels;
 	private final ExWithRequiredModels.InterpretedRequiredModelContext theModelContext;
+	private final boolean isConstant;
 
 	/**
 	 * @param styleValue The style value this structure is evaluated from
@@ -42,6 +49,7 @@ public class InterpretedStyleValue<T> implements Comparable<InterpretedStyleValu
 		theValue = value;
 		theModels = models;
 		theModelContext = modelContext;
+		isConstant = isConditionFree(application) && isModelIndependent(value);
 	}
 
 	/** @return The style value this structure is evaluated from */
@@ -69,12 +77,54 @@ public class InterpretedStyleValue<T> implements Comparable<InterpretedStyleValu
 		return theModelContext;
 	}
 
+	/**
+	 * @return Whether this style value always applies (it has no conditions) and its value does not depend on any models. The evaluated
+	 *         value of such a style value is the same for every element instance, so it may be shared between them.
+	 */
+	public boolean isConstant() {
+		return isConstant;
+	}
+
 	/**
 	 * @return An instantiator for this style value
 	 * @throws ModelInstantiationException If any model values cannot be initialized
 	 */
 	public StyleValueInstantiator<T> instantiate() throws ModelInstantiationException {
-		return new StyleValueInstantiator<>(theApplication.getConditionInstantiator(), theValue.instantiate(), theModels, theModelContext);
+		return new StyleValueInstantiator<>(theApplication.getConditionInstantiator(), theValue.instantiate(), theModels, theModelContext,
+			theApplication, isConstant);
+	}
+
+	private static boolean isConditionFree(InterpretedStyleApplication application) {
+		for (InterpretedStyleApplication app = application; app != null; app = app.getParent()) {
+			if (!app.getConditions().isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isModelIndependent(InterpretedValueSynth<?, ?> value) {
+		while (!(value instanceof EvaluatedExpression) && value.getComponents().size() == 1)
+			value = value.getComponents().get(0);
+		return value instanceof EvaluatedExpression && isModelIndependent((EvaluatedExpression<?, ?>) value);
+	}
+
+	private static boolean isModelIndependent(EvaluatedExpression<?, ?> expression) {
+		Object descriptor = expression.getDescriptor();
+		if (descriptor instanceof ObservableExpression.LiteralExpression)
+			return true;
+		else if (descriptor instanceof Class)
+			return true; // Type reference, e.g. the owner of a static field
+		else if (descriptor instanceof Field) {
+			int mods = ((Field) descriptor).getModifiers();
+			if (!Modifier.isStatic(mods) || !Modifier.isFinal(mods))
+				return false; // The field's value may change
+		} else if (!(descriptor instanceof BinaryOperatorSet.BinaryOp) && !(descriptor instanceof UnaryOperatorSet.UnaryOp))
+			return false; // Model references, method calls, and anything else we can't be sure of
+		for (EvaluatedExpression<?, ?> component : expression.getComponents()) {
+			if (!isModelIndependent(component))
+				return false;
+		}
+		return true;
 	}
 
 	@Override
@@ -101,6 +151,13 @@ public class InterpretedStyleValue<T> implements Comparable<InterpretedStyleValu
 		public final List<ModelInstantiator> models;
 		/** The required model context for the style value */
 		public final ExWithRequiredModels.InterpretedRequiredModelContext modelContext;
+		/**
+		 * The application that the condition was instantiated from. Style values with the same application share the same condition, so
+		 * it only needs to be evaluated once per element.
+		 */
+		public final InterpretedStyleApplication application;
+		/** Whether the style value is {@link InterpretedStyleValue#isConstant() constant} */
+		public final boolean constant;
 
 		/**
 		 * @param condition The model value instantiator for the style value's condition
@@ -111,10 +168,27 @@ public class InterpretedStyleValue<T> implements Comparable<InterpretedStyleValu
 		public StyleValueInstantiator(ModelValueInstantiator<ObservableValue<Boolean>> condition,
 			ModelValueInstantiator<SettableValue<T>> value, List<ModelInstantiator> models,
 			ExWithRequiredModels.InterpretedRequiredModelContext modelContext) {
+			this(condition, value, models, modelContext, null, false);
+		}
+
+		/**
+		 * @param condition The model value instantiator for the style value's condition
+		 * @param value The model value instantiator for the style value's value
+		 * @param models The local model instantiators for this style value
+		 * @param modelContext The required model context for the style value
+		 * @param application The application that the condition was instantiated from
+		 * @param constant Whether the style value is {@link InterpretedStyleValue#isConstant() constant}
+		 */
+		public StyleValueInstantiator(ModelValueInstantiator<ObservableValue<Boolean>> condition,
+			ModelValueInstantiator<SettableValue<T>> value, List<ModelInstantiator> models,
+			ExWithRequiredModels.InterpretedRequiredModelContext modelContext, InterpretedStyleApplication application,
+			boolean constant) {
 			this.condition = condition;
 			this.value = value;
 			this.models = models;
 			this.modelContext = modelContext;
+			this.application = application;
+			this.constant = constant;
 		}
 
 		void instantiate() throws ModelInstantiationException {
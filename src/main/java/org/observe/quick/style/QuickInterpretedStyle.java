@@ -390,6 +390,8 @@ public interface QuickInterpretedStyle {
 	public static class QuickStyleAttributeInstantiator<T> {
 		private final QuickStyleAttribute<T> theAttribute;
 		private final List<InterpretedStyleValue.StyleValueInstantiator<T>> theValues;
+		private final boolean isConstant;
+		private volatile ObservableValue<T> theSharedValue;
 
 		/**
 		 * @param attribute The attribute this instantiator is for
@@ -398,6 +400,8 @@ public interface QuickInterpretedStyle {
 		public QuickStyleAttributeInstantiator(QuickStyleAttribute<T> attribute, List<StyleValueInstantiator<T>> values) {
 			theAttribute = attribute;
 			theValues = values;
+			// If the highest-priority value always applies, nothing else can affect the attribute
+			isConstant = values.isEmpty() || values.get(0).constant;
 		}
 
 		/** @return The attribute this instantiator is for */
@@ -410,6 +414,22 @@ public interface QuickInterpretedStyle {
 			return theValues;
 		}
 
+		/**
+		 * @return Whether this attribute's value is the same for every element instance, i.e. it has no values or its highest-priority
+		 *         value is {@link InterpretedStyleValue#isConstant() constant}
+		 */
+		public boolean isConstant() {
+			return isConstant;
+		}
+
+		/**
+		 * @return The value {@link #evaluate(ModelSetInstance) evaluated} for this {@link #isConstant() constant} attribute, shared by all
+		 *         element instances, or null if this attribute is not constant or has not yet been evaluated
+		 */
+		public ObservableValue<T> getSharedValue() {
+			return theSharedValue;
+		}
+
 		/**
 		 * Instantiates model values in this instantiator. Must be called once after creation.
 		 *
@@ -429,11 +449,7 @@ public interface QuickInterpretedStyle {
 			List<ObservableValue<ConditionalValue<T>>> values = new ArrayList<>();
 			for (int i = 0; i < theValues.size(); i++) {
 				InterpretedStyleValue.StyleValueInstantiator<T> styleValue = theValues.get(i);
-				ModelSetInstance attrModels = models;
-				for (ModelInstantiator m : styleValue.models)
-					attrModels = m.wrap(attrModels);
-				if (styleValue.modelContext != null)
-					styleValue.modelContext.populateModel(attrModels, models);
+				ModelSetInstance attrModels = getModels(styleValue, models);
 				ObservableValue<Boolean> condition = styleValue.condition.get(attrModels);
 				SettableValue<T> value = styleValue.value.get(attrModels);
 				values.add(condition.map(FunctionUtils.printableFn(pass -> new ConditionalValue<>(Boolean.TRUE.equals(pass), value),
@@ -448,6 +464,19 @@ public interface QuickInterpretedStyle {
 		 * @throws ModelInstantiationException If the condition or the value could not be evaluated
 		 */
 		public ObservableValue<T> evaluate(ModelSetInstance models) throws ModelInstantiationException {
+			if (isConstant) {
+				ObservableValue<T> shared = theSharedValue;
+				if (shared == null) {
+					if (theValues.isEmpty())
+						shared = ObservableValue.of(null);
+					else {
+						InterpretedStyleValue.StyleValueInstantiator<T> styleValue = theValues.get(0);
+						shared = styleValue.value.get(getModels(styleValue, models));
+					}
+					theSharedValue = shared;
+				}
+				return shared;
+			}
 			List<ObservableValue<ConditionalValue<T>>> valueList = getConditionalValues(models);
 			if (valueList.isEmpty())
 				return ObservableValue.of(null);
@@ -462,6 +491,16 @@ public interface QuickInterpretedStyle {
 			return ObservableValue
 				.flatten(conditionalValue.map(FunctionUtils.printableFn(cv -> (cv != null && cv.pass) ? cv.value : null, "value", null)));
 		}
+
+		static ModelSetInstance getModels(InterpretedStyleValue.StyleValueInstantiator<?> styleValue, ModelSetInstance models)
+			throws ModelInstantiationException {
+			ModelSetInstance attrModels = models;
+			for (ModelInstantiator m : styleValue.models)
+				attrModels = m.wrap(attrModels);
+			if (styleValue.modelContext != null)
+				styleValue.modelContext.populateModel(attrModels, models);
+			return attrModels;
+		}
 	}
 
 	/**
@@ -1,7 +1,7 @@
 package org.observe.quick.style;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.observe.expresso.ExpressoInterpretationException;
 import org.observe.expresso.InterpretedExpressoEnv;
@@ -17,7 +17,8 @@ public class QuickInterpretedStyleCache {
 
 	/** Creates a cache */
 	public QuickInterpretedStyleCache() {
-		theAttributes = new HashMap<>();
+		// Sibling widgets may be interpreted concurrently
+		theAttributes = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -149,6 +149,23 @@ public class QuickStyleElement<T> extends ExElement.Abstract {
 		 * @throws QonfigInterpretationException If the style values could not be compiled
 		 */
 		public void getStyleValues(Collection<QuickStyleValue> values, StyleApplicationDef parentApplication, ExElement.Def<?> element,
+			CompiledExpressoEnv env, ExWithRequiredModels.RequiredModelContext modelContext) throws QonfigInterpretationException {
+			getLocalStyleValues(values, parentApplication, element, env, modelContext);
+			for (QuickStyleElement.Def child : theChildren)
+				child.getStyleValues(values, parentApplication, element, env, modelContext);
+		}
+
+		/**
+		 * Populates conditional values for this style element only, not its children
+		 *
+		 * @param values The values collection to populate
+		 * @param parentApplication The style application of the parent environment
+		 * @param element The element to get style values for
+		 * @param env The expresso environment of the evaluation
+		 * @param modelContext Model context for expected model values
+		 * @throws QonfigInterpretationException If the style values could not be compiled
+		 */
+		void getLocalStyleValues(Collection<QuickStyleValue> values, StyleApplicationDef parentApplication, ExElement.Def<?> element,
 			CompiledExpressoEnv env, ExWithRequiredModels.RequiredModelContext modelContext) throws QonfigInterpretationException {
 			if (theApplication.appliesToElement(element)) {
 				if (theStyleValue != null && theStyleValue.getApplication().appliesToElement(element))
@@ -161,8 +178,6 @@ public class QuickStyleElement<T> extends ExElement.Abstract {
 				if (theStyleValue != null && theStyleValue.getApplication().appliesToElement(element))
 					values.add(theStyleValue.withModelContext(modelContext));
 			}
-			for (QuickStyleElement.Def child : theChildren)
-				child.getStyleValues(values, parentApplication, element, env, modelContext);
 		}
 
 		@Override
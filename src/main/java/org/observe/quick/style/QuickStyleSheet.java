@@ -161,6 +161,7 @@ public class QuickStyleSheet extends ExElement.Def.Abstract<QuickStyleSheet.Inst
 	private Map<String, ModelComponentId> theSheetModelIds;
 	private final List<QuickStyleSet> theStyleSetList;
 	private final Map<String, QuickStyleSet> theStyleSets;
+	private volatile StyleRuleIndex theRuleIndex;
 
 	/**
 	 * @param parent The parent element of this style sheet
@@ -238,8 +239,10 @@ public class QuickStyleSheet extends ExElement.Def.Abstract<QuickStyleSheet.Inst
 	public final void getStyleValues(Collection<QuickStyleValue> styleValues, ExElement.Def<?> element, CompiledExpressoEnv env)
 		throws QonfigInterpretationException {
 		ExWithRequiredModels.RequiredModelContext styleSheetModelContext = getAddOn(ExWithRequiredModels.Def.class).getContext(env);
-		for (QuickStyleElement.Def style : theStyleElements)
-			style.getStyleValues(styleValues, StyleApplicationDef.ALL, element, env, styleSheetModelContext);
+		StyleRuleIndex ruleIndex = theRuleIndex;
+		if (ruleIndex == null) // Build lazily, since the style elements' applications are compiled during their own update
+			theRuleIndex = ruleIndex = StyleRuleIndex.build(theStyleElements);
+		ruleIndex.getStyleValues(styleValues, element, env, styleSheetModelContext);
 		for (QuickStyleSheet imported : theImportedStyleSheets.values())
 			imported.getStyleValues(styleValues, element, env);
 	}
@@ -254,6 +257,7 @@ public class QuickStyleSheet extends ExElement.Def.Abstract<QuickStyleSheet.Inst
 		}
 
 		session.put(ExWithStyleSheet.QUICK_STYLE_SHEET, this);
+		theRuleIndex = null;
 
 		syncChildren(StyleSheetRef.class, theStyleSheetRefs, session.forChildren("style-sheet-ref"));
 		theImportedStyleSheets.clear();
@@ -508,6 +508,7 @@ public class QuickStyled extends ExAddOn.Abstract<ExElement> {
 			private Map<QuickStyleAttribute<?>, StyleAttributeData<?>> theApplicableAttributes;
 			private SettableValue<Observable<ObservableValueEvent<?>>> theChanges;
 			private Observable<ObservableValueEvent<?>> theFlatChanges;
+			private StyleConditionEvaluator theConditionEvaluator;
 
 			/** Creates the style */
 			protected Abstract() {
@@ -553,11 +554,15 @@ public class QuickStyled extends ExAddOn.Abstract<ExElement> {
 			}
 
 			private void initChanges() {
-				Observable<? extends ObservableValueEvent<?>>[] changes = new Observable[theApplicableAttributes.size()];
-				int i = 0;
-				for (StyleAttributeData<?> attr : theApplicableAttributes.values())
-					changes[i++] = attr.flatValue.noInitChanges();
-				theChanges.set(Observable.or(changes), null);
+				List<Observable<? extends ObservableValueEvent<?>>> changes = new ArrayList<>(theApplicableAttributes.size());
+				for (StyleAttributeData<?> attr : theApplicableAttributes.values()) {
+					if (!attr.isShared()) // Shared values are constant
+						changes.add(attr.flatValue.noInitChanges());
+				}
+				if (changes.isEmpty())
+					theChanges.set(Observable.empty(), null);
+				else
+					theChanges.set(Observable.or(changes.toArray(new Observable[changes.size()])), null);
 			}
 
 			private <T> void initAttribute(QuickStyleAttribute<T> attr, Interpreted interpreted, boolean[] different)
@@ -577,14 +582,32 @@ public class QuickStyled extends ExAddOn.Abstract<ExElement> {
 
 			@Override
 			public void instantiate(ModelSetInstance models) throws ModelInstantiationException {
-				for (StyleAttributeData<?> attr : theApplicableAttributes.values())
-					attr.update(models);
+				if (theConditionEvaluator != null) {
+					theConditionEvaluator.dispose();
+					theConditionEvaluator = null;
+				}
+				Map<QuickStyleAttributeInstantiator<?>, SettableValue<? extends ObservableValue<?>>> conditional = null;
+				for (StyleAttributeData<?> attr : theApplicableAttributes.values()) {
+					if (attr.isShared())
+						continue;
+					else if (attr.theInstantiator.isConstant())
+						attr.update(models);
+					else {
+						if (conditional == null)
+							conditional = new LinkedHashMap<>();
+						conditional.put(attr.theInstantiator, attr.theValueContainer);
+					}
+				}
+				// All conditional attributes are evaluated together so that each distinct condition is only evaluated once
+				if (conditional != null)
+					theConditionEvaluator = StyleConditionEvaluator.evaluate(conditional, models);
 			}
 
 			@Override
 			public Abstract copy(QuickStyled styled) {
 				Abstract copy = clone();
 				copy.theStyled = styled;
+				copy.theConditionEvaluator = null;
 				copy.theApplicableAttributes = new LinkedHashMap<>();
 				for (Map.Entry<QuickStyleAttribute<?>, StyleAttributeData<?>> attr : theApplicableAttributes.entrySet())
 					copy.theApplicableAttributes.put(attr.getKey(), new StyleAttributeData<>(attr.getValue().theInstantiator));
@@ -622,13 +645,24 @@ public class QuickStyled extends ExAddOn.Abstract<ExElement> {
 
 			static class StyleAttributeData<T> {
 				QuickStyleAttributeInstantiator<T> theInstantiator;
-				private final SettableValue<ObservableValue<T>> theValueContainer;
+				final SettableValue<ObservableValue<T>> theValueContainer;
 				final ObservableValue<T> flatValue;
 
 				StyleAttributeData(QuickStyleAttributeInstantiator<T> instantiator) {
 					theInstantiator = instantiator;
-					theValueContainer = SettableValue.<ObservableValue<T>> build().build();
-					flatValue = ObservableValue.flatten(theValueContainer);
+					ObservableValue<T> shared = instantiator.getSharedValue();
+					if (shared != null) {
+						// A constant attribute that has already been evaluated for another instance. No need for a container.
+						theValueContainer = null;
+						flatValue = shared;
+					} else {
+						theValueContainer = SettableValue.<ObservableValue<T>> build().build();
+						flatValue = ObservableValue.flatten(theValueContainer);
+					}
+				}
+
+				boolean isShared() {
+					return theValueContainer == null;
 				}
 
 				void update(QuickStyleAttributeInstantiator<T> instantiator, ModelSetInstance models) throws ModelInstantiationException {
@@ -637,7 +671,8 @@ public class QuickStyled extends ExAddOn.Abstract<ExElement> {
 				}
 
 				void update(ModelSetInstance models) throws ModelInstantiationException {
-					theValueContainer.set(theInstantiator.evaluate(models), null);
+					if (theValueContainer != null)
+						theValueContainer.set(theInstantiator.evaluate(models), null);
 				}
 
 				@Override
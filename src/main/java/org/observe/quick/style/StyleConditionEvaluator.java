@@ -0,0 +1,194 @@
+package org.observe.quick.style;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.observe.Observable;
+import org.observe.ObservableValue;
+import org.observe.SettableValue;
+import org.observe.expresso.ModelInstantiationException;
+import org.observe.expresso.ObservableModelSet.ModelSetInstance;
+import org.observe.quick.style.InterpretedStyleValue.StyleValueInstantiator;
+import org.observe.quick.style.QuickInterpretedStyle.QuickStyleAttributeInstantiator;
+import org.qommons.Causable;
+import org.qommons.Subscription;
+import org.qommons.ThreadConstraint;
+
+/**
+ * <p>
+ * Evaluates the conditional style values of all attributes of a single element's style.
+ * </p>
+ * <p>
+ * Each distinct condition (i.e. each {@link InterpretedStyleApplication style application}) used by any of the element's style values is
+ * evaluated only once, and its pass/fail state is kept in a bit set. When a condition changes, only the attributes with a value using
+ * that condition at a priority at or above their current winning value are re-resolved, so e.g. a hover change does not re-evaluate the
+ * conditional chain of every attribute that mentions <code>hovered</code>. All the attribute updates resulting from a single condition
+ * change are made under a single root cause caused by the condition's change event, so consumers batching on the root cause see a single
+ * style change.
+ * </p>
+ */
+class StyleConditionEvaluator {
+	static final ObservableValue<?> NULL_VALUE = ObservableValue.of(null);
+
+	private final List<ObservableValue<Boolean>> theConditions;
+	private final BitSet thePassing;
+	private final List<AttributeState<?>> theAttributes;
+	/** For each condition, the attributes that have a value depending on it */
+	private final List<List<AttributeState<?>>> theDependents;
+	private final List<Subscription> theSubscriptions;
+
+	private StyleConditionEvaluator() {
+		theConditions = new ArrayList<>();
+		thePassing = new BitSet();
+		theAttributes = new ArrayList<>();
+		theDependents = new ArrayList<>();
+		theSubscriptions = new ArrayList<>();
+	}
+
+	/**
+	 * @param <T> The type of the attribute
+	 * @param instantiator The instantiator of the attribute's style values
+	 * @param target The container to populate with the winning value of the attribute
+	 * @param models The model instance to evaluate the style values in
+	 * @param conditionIndexes The index of each distinct condition in this evaluator, by application
+	 * @throws ModelInstantiationException If any of the style values could not be instantiated
+	 */
+	private <T> void addAttribute(QuickStyleAttributeInstantiator<T> instantiator, SettableValue<ObservableValue<T>> target,
+		ModelSetInstance models, Map<Object, Integer> conditionIndexes) throws ModelInstantiationException {
+		List<StyleValueInstantiator<T>> values = instantiator.getValues();
+		int[] conditions = new int[values.size()];
+		ObservableValue<T>[] styleValues = new ObservableValue[values.size()];
+		AttributeState<T> attr = new AttributeState<>(target, conditions, styleValues);
+		for (int v = 0; v < conditions.length; v++) {
+			StyleValueInstantiator<T> styleValue = values.get(v);
+			ModelSetInstance attrModels = QuickStyleAttributeInstantiator.getModels(styleValue, models);
+			Object key = styleValue.application != null ? styleValue.application : styleValue;
+			Integer condIndex = conditionIndexes.get(key);
+			if (condIndex == null) {
+				condIndex = theConditions.size();
+				conditionIndexes.put(key, condIndex);
+				ObservableValue<Boolean> condition = styleValue.condition.get(attrModels);
+				theConditions.add(condition);
+				theDependents.add(new ArrayList<>(2));
+				thePassing.set(condIndex, Boolean.TRUE.equals(condition.get()));
+			}
+			conditions[v] = condIndex;
+			styleValues[v] = styleValue.value.get(attrModels);
+			List<AttributeState<?>> dependents = theDependents.get(condIndex);
+			if (dependents.isEmpty() || dependents.get(dependents.size() - 1) != attr)
+				dependents.add(attr);
+			if (thePassing.get(condIndex) && isConstant(theConditions.get(condIndex)))
+				break; // Values after an always-passing value can never win
+		}
+		theAttributes.add(attr);
+		attr.resolve(thePassing, true, null);
+	}
+
+	private void listen(Observable<?> until) {
+		for (int c = 0; c < theConditions.size(); c++) {
+			ObservableValue<Boolean> condition = theConditions.get(c);
+			if (isConstant(condition))
+				continue; // Never changes
+			int condIndex = c;
+			theSubscriptions.add(condition.noInitChanges().takeUntil(until).act(evt -> conditionChanged(condIndex, evt.getNewValue(), evt)));
+		}
+		// The conditions were read when the attributes were added, before we were listening. Catch any changes in between.
+		for (int c = 0; c < theConditions.size(); c++) {
+			ObservableValue<Boolean> condition = theConditions.get(c);
+			if (!isConstant(condition))
+				conditionChanged(c, condition.get(), null);
+		}
+	}
+
+	private void conditionChanged(int condIndex, Boolean pass, Object cause) {
+		boolean passing = Boolean.TRUE.equals(pass);
+		synchronized (this) {
+			if (thePassing.get(condIndex) == passing)
+				return;
+			thePassing.set(condIndex, passing);
+			try (Causable.CausableInUse root = cause == null ? Causable.cause() : Causable.cause(cause)) {
+				for (AttributeState<?> attr : theDependents.get(condIndex)) {
+					if (attr.isAffectedBy(condIndex))
+						attr.resolve(thePassing, false, root);
+				}
+			}
+		}
+	}
+
+	/** Stops listening to condition changes */
+	void dispose() {
+		for (Subscription sub : theSubscriptions)
+			sub.unsubscribe();
+		theSubscriptions.clear();
+	}
+
+	@Override
+	public String toString() {
+		return theConditions.size() + " conditions, " + theAttributes.size() + " attributes, passing=" + thePassing;
+	}
+
+	private static boolean isConstant(ObservableValue<?> value) {
+		return value.getThreadConstraint() == ThreadConstraint.NONE;
+	}
+
+	/**
+	 * @param attributes The attributes to evaluate, each mapped to the container to populate with its value
+	 * @param models The model instance to evaluate the style values in
+	 * @return The condition evaluator for the attributes, which should be {@link #dispose() disposed} when no longer needed
+	 * @throws ModelInstantiationException If any of the style values could not be instantiated
+	 */
+	static StyleConditionEvaluator evaluate(Map<QuickStyleAttributeInstantiator<?>, SettableValue<? extends ObservableValue<?>>> attributes,
+		ModelSetInstance models) throws ModelInstantiationException {
+		StyleConditionEvaluator evaluator = new StyleConditionEvaluator();
+		Map<Object, Integer> conditionIndexes = new IdentityHashMap<>();
+		for (Map.Entry<QuickStyleAttributeInstantiator<?>, SettableValue<? extends ObservableValue<?>>> attr : attributes.entrySet())
+			evaluator.addAttribute((QuickStyleAttributeInstantiator<Object>) attr.getKey(),
+				(SettableValue<ObservableValue<Object>>) attr.getValue(), models, conditionIndexes);
+		evaluator.listen(models.getUntil());
+		return evaluator;
+	}
+
+	static class AttributeState<T> {
+		private final SettableValue<ObservableValue<T>> theTarget;
+		/** The condition index for each of the attribute's values, in priority order */
+		private final int[] theValueConditions;
+		private final ObservableValue<T>[] theValues;
+		/** The index of the currently winning value, or the number of values if none pass */
+		private int theWinner;
+
+		AttributeState(SettableValue<ObservableValue<T>> target, int[] valueConditions, ObservableValue<T>[] values) {
+			theTarget = target;
+			theValueConditions = valueConditions;
+			theValues = values;
+			theWinner = -1;
+		}
+
+		boolean isAffectedBy(int condIndex) {
+			// Only values at or above the current winner can change the winner
+			int end = Math.min(theWinner + 1, theValueConditions.length);
+			for (int v = 0; v < end; v++) {
+				if (theValueConditions[v] == condIndex)
+					return true;
+			}
+			return false;
+		}
+
+		void resolve(BitSet passing, boolean initial, Object cause) {
+			int winner = theValues.length;
+			for (int v = 0; v < theValues.length; v++) {
+				// Values are null past an always-passing value
+				if (theValues[v] != null && passing.get(theValueConditions[v])) {
+					winner = v;
+					break;
+				}
+			}
+			if (!initial && winner == theWinner)
+				return;
+			theWinner = winner;
+			theTarget.set(winner < theValues.length ? theValues[winner] : (ObservableValue<T>) NULL_VALUE, cause);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package org.observe.quick.style;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.observe.expresso.CompiledExpressoEnv;
+import org.observe.expresso.qonfig.ExElement;
+import org.observe.expresso.qonfig.ExWithRequiredModels;
+import org.qommons.config.QonfigAddOn;
+import org.qommons.config.QonfigElement;
+import org.qommons.config.QonfigElementDef;
+import org.qommons.config.QonfigElementOrAddOn;
+import org.qommons.config.QonfigInterpretationException;
+
+/**
+ * <p>
+ * An index of the style rules ({@link QuickStyleElement.Def style elements}, including sub-styles) declared in a style sheet, so that
+ * each styled element only needs to test the rules which could possibly apply to it.
+ * </p>
+ * <p>
+ * Similar to the selector hashing done by CSS engines, each rule is keyed by the most discriminating requirement of its
+ * {@link StyleApplicationDef application}: the child role the element must fulfill if there is one, or else the most specific type the
+ * element must be an instance of. Rules with no such requirement are tested for every element. Candidates are still fully tested with
+ * {@link StyleApplicationDef#appliesToElement(ExElement.Def)}, and are always evaluated in declaration order, so the result is identical
+ * to a linear walk of the style sheet.
+ * </p>
+ */
+class StyleRuleIndex {
+	private final List<QuickStyleElement.Def> theRules;
+	private final Map<Object, int[]> theKeyedRules;
+	private final int[] theUnkeyedRules;
+
+	private StyleRuleIndex(List<QuickStyleElement.Def> rules, Map<Object, int[]> keyedRules, int[] unkeyedRules) {
+		theRules = rules;
+		theKeyedRules = keyedRules;
+		theUnkeyedRules = unkeyedRules;
+	}
+
+	/** @return The number of rules in this index */
+	public int size() {
+		return theRules.size();
+	}
+
+	/**
+	 * Populates style values from all rules in this index that apply to the given element
+	 *
+	 * @param styleValues The collection to add the style values into
+	 * @param element The element to get style values for
+	 * @param env The compiled environment to validate against
+	 * @param modelContext Model context for expected model values
+	 * @throws QonfigInterpretationException If the style values could not be compiled
+	 */
+	public void getStyleValues(Collection<QuickStyleValue> styleValues, ExElement.Def<?> element, CompiledExpressoEnv env,
+		ExWithRequiredModels.RequiredModelContext modelContext) throws QonfigInterpretationException {
+		if (theRules.isEmpty())
+			return;
+		BitSet candidates = new BitSet(theRules.size());
+		for (int r : theUnkeyedRules)
+			candidates.set(r);
+		if (!theKeyedRules.isEmpty()) {
+			for (Object key : getElementKeys(element.getElement())) {
+				int[] keyed = theKeyedRules.get(key);
+				if (keyed != null) {
+					for (int r : keyed)
+						candidates.set(r);
+				}
+			}
+		}
+		for (int r = candidates.nextSetBit(0); r >= 0; r = candidates.nextSetBit(r + 1))
+			theRules.get(r).getLocalStyleValues(styleValues, StyleApplicationDef.ALL, element, env, modelContext);
+	}
+
+	/**
+	 * @param styleElements The top-level style elements of a style sheet
+	 * @return An index of all the rules in the given style elements and their descendants
+	 */
+	public static StyleRuleIndex build(List<QuickStyleElement.Def> styleElements) {
+		List<QuickStyleElement.Def> rules = new ArrayList<>();
+		for (QuickStyleElement.Def styleEl : styleElements)
+			flatten(styleEl, rules);
+		if (rules.isEmpty())
+			return new StyleRuleIndex(Collections.emptyList(), Collections.emptyMap(), new int[0]);
+
+		Map<Object, List<Integer>> keyed = new HashMap<>();
+		List<Integer> unkeyed = new ArrayList<>();
+		for (int r = 0; r < rules.size(); r++) {
+			Object key = getRuleKey(rules.get(r).getApplication());
+			if (key == null)
+				unkeyed.add(r);
+			else
+				keyed.computeIfAbsent(key, __ -> new ArrayList<>()).add(r);
+		}
+		Map<Object, int[]> keyedRules = new HashMap<>((int) Math.ceil(keyed.size() / 0.75));
+		for (Map.Entry<Object, List<Integer>> entry : keyed.entrySet())
+			keyedRules.put(entry.getKey(), toArray(entry.getValue()));
+		return new StyleRuleIndex(Collections.unmodifiableList(rules), keyedRules, toArray(unkeyed));
+	}
+
+	private static void flatten(QuickStyleElement.Def styleEl, List<QuickStyleElement.Def> rules) {
+		if (styleEl.getApplication() == null)
+			return; // Not yet compiled
+		if (styleEl.getStyleValue() != null || styleEl.getStyleSet() != null)
+			rules.add(styleEl);
+		for (QuickStyleElement.Def child : styleEl.getChildren())
+			flatten(child, rules);
+	}
+
+	private static Object getRuleKey(StyleApplicationDef application) {
+		if (application.getRole() != null)
+			return application.getRole().getDeclared();
+		// Element types are more discriminating than add-ons, and more specific types are more discriminating than general ones
+		QonfigElementOrAddOn best = null;
+		int bestScore = 0;
+		for (QonfigElementOrAddOn type : application.getTypes().values()) {
+			int score = getHierarchySize(type, new HashSet<>());
+			if (type instanceof QonfigElementDef)
+				score += 1_000_000;
+			if (best == null || score > bestScore) {
+				best = type;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	private static int getHierarchySize(QonfigElementOrAddOn type, Set<QonfigElementOrAddOn> visited) {
+		addHierarchy(type, visited);
+		return visited.size();
+	}
+
+	/**
+	 * @param element The element to get the keys of
+	 * @return All keys under which rules that may apply to the given element may be indexed
+	 */
+	static Set<Object> getElementKeys(QonfigElement element) {
+		Set<Object> keys = new HashSet<>();
+		addElementKeys(element, keys);
+		// Style applications also match against the element's promise, if any
+		if (element.getPromise() != null)
+			addElementKeys(element.getPromise(), keys);
+		return keys;
+	}
+
+	private static void addElementKeys(QonfigElement element, Set<Object> keys) {
+		Set<QonfigElementOrAddOn> types = new HashSet<>();
+		addHierarchy(element.getType(), types);
+		for (QonfigAddOn inh : element.getInheritance().values())
+			addHierarchy(inh, types);
+		keys.addAll(types);
+		keys.addAll(element.getDeclaredRoles());
+	}
+
+	private static void addHierarchy(QonfigElementOrAddOn type, Set<QonfigElementOrAddOn> visited) {
+		if (type == null || !visited.add(type))
+			return;
+		if (type.getSuperElement() != null)
+			addHierarchy(type.getSuperElement(), visited);
+		for (QonfigAddOn inh : type.getInheritance())
+			addHierarchy(inh, visited);
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = list.get(i);
+		return array;
+	}
+
+	@Override
+	public String toString() {
+		return theRules.size() + " rules (" + theKeyedRules.size() + " keys, " + theUnkeyedRules.length + " unkeyed)";
+	}
+}
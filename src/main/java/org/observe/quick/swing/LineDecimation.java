@@ -0,0 +1,57 @@
+package org.observe.quick.swing;
+
+import java.util.Arrays;
+
+/** Utilities for reducing the number of points of a line that need to be rendered */
+class LineDecimation {
+	private LineDecimation() {
+	}
+
+	/**
+	 * <p>
+	 * Decimates a line in screen coordinates such that for each run of consecutive points in the same pixel column, only the first, last,
+	 * minimum, and maximum points are kept. The result renders identically to the full line, but contains at most 4 points per run.
+	 * </p>
+	 * <p>
+	 * Only consecutive points are grouped, so lines whose x-coordinates are not monotonic are not decimated as effectively, but are still
+	 * rendered correctly.
+	 * </p>
+	 *
+	 * @param xs The screen x-coordinate of each point in the line
+	 * @param ys The screen y-coordinate of each point in the line
+	 * @return The indexes of the points to render, in order
+	 */
+	static int[] minMaxPerColumn(int[] xs, int[] ys) {
+		int n = xs.length;
+		int[] kept = new int[n];
+		int count = 0;
+		int start = 0;
+		while (start < n) {
+			int column = xs[start];
+			int min = start, max = start;
+			int end = start + 1;
+			for (; end < n && xs[end] == column; end++) {
+				if (ys[end] < ys[min])
+					min = end;
+				else if (ys[end] > ys[max])
+					max = end;
+			}
+			// Keep the points in their original order: start <= lo <= hi <= last
+			int lo = Math.min(min, max), hi = Math.max(min, max), last = end - 1;
+			int prev = start;
+			kept[count++] = start;
+			if (lo > prev) {
+				kept[count++] = lo;
+				prev = lo;
+			}
+			if (hi > prev) {
+				kept[count++] = hi;
+				prev = hi;
+			}
+			if (last > prev)
+				kept[count++] = last;
+			start = end;
+		}
+		return count == n ? kept : Arrays.copyOf(kept, count);
+	}
+}
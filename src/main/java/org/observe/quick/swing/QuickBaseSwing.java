@@ -19,6 +19,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -1611,12 +1612,58 @@ public class QuickBaseSwing implements QuickInterpretation {
 				quick.isSelected());
 			QuickSwingColumnSet<R, R2>.Populator columnPopulator = theColumns.createPopulator(quick, quick.getAllColumns(), ctx,
 				panel.getUntil());
-			panel.addTable((ObservableCollection<R2>) quick.getRows(), table -> {
+			ObservableCollection<R> rows = filterRows(quick.getRows(), quick, columnPopulator, panel.getUntil());
+			if (quick.isSorted())
+				rows = sortedRows(rows, quick.getSortBy(), panel.getUntil());
+			columnPopulator.watchRows((ObservableCollection<R2>) rows, panel.getUntil());
+			panel.addTable((ObservableCollection<R2>) rows, table -> {
 				component.accept(table);
 				populateTable(table, ctx, quick, columnPopulator);
 			});
 		}
 
+		/**
+		 * @param rows The rows of the table
+		 * @param quick The table
+		 * @param columns The columns of the table
+		 * @param until An observable that fires when the table is no longer needed
+		 * @return The rows to display in the table
+		 */
+		protected ObservableCollection<R> filterRows(ObservableCollection<R> rows, QuickTable<R, C> quick,
+			QuickSwingColumnSet<R, R2>.Populator columns, Observable<?> until) {
+			return rows;
+		}
+
+		/**
+		 * Creates a sorted view of a table's rows. The view is maintained incrementally as rows change, so the table renders through it
+		 * directly without copying or re-sorting. A new view is created when the comparator changes.
+		 *
+		 * @param rows The rows of the table
+		 * @param sortBy The comparator by which to sort the rows
+		 * @param until An observable that fires when the table is no longer needed
+		 * @return The sorted view of the rows
+		 */
+		static <R> ObservableCollection<R> sortedRows(ObservableCollection<R> rows, SettableValue<Comparator<R>> sortBy,
+			Observable<?> until) {
+			SettableValue<ObservableCollection<R>> sorted = SettableValue.create();
+			ValueHolder<SimpleObservable<Void>> release = new ValueHolder<>();
+			sortBy.value().takeUntil(until).act(sort -> {
+				SimpleObservable<Void> previous = release.get();
+				if (sort == null) {
+					release.clear();
+					sorted.set(rows, null);
+				} else {
+					SimpleObservable<Void> viewRelease = new SimpleObservable<>();
+					release.accept(viewRelease);
+					sorted.set(rows.flow().sorted(sort).collectActive(Observable.or(viewRelease, until)), null);
+				}
+				// Release the previous sorted view only after the table has switched away from it
+				if (previous != null)
+					previous.onNext(null);
+			});
+			return ObservableCollection.flattenValue(sorted);
+		}
+
 		protected void populateTable(TableBuilder<R2, ?, ?> table, TabularContext<R> ctx, QuickTable<R, C> quick,
 			QuickSwingColumnSet<R, R2>.Populator columnPopulator) {
 			columnPopulator.populate(table);
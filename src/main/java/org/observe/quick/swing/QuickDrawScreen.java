@@ -63,10 +63,43 @@ public interface QuickDrawScreen extends Transaction {
 	 */
 	float inverseTransformY(float y);
 
+	/**
+	 * Transforms an x-coordinate in the current coordinate system to the corresponding x-coordinate of a pixel on the graphics display,
+	 * in double precision, for coordinates (e.g. timestamps) too large to be represented precisely as floats
+	 *
+	 * @param x The x-coordinate to transform
+	 * @return The transformed x-coordinate
+	 */
+	default double transformX(double x) {
+		return transformX((float) x);
+	}
+
+	/**
+	 * Transforms a y-coordinate in the current coordinate system to the corresponding y-coordinate of a pixel on the graphics display,
+	 * in double precision
+	 *
+	 * @param y The y-coordinate to transform
+	 * @return The transformed y-coordinate
+	 */
+	default double transformY(double y) {
+		return transformY((float) y);
+	}
+
 	Point tx(float x, float y);
 
 	int[][] tx(float[][] points);
 
+	/**
+	 * Transforms a set of points, re-using a buffer if possible. By default, the buffer is ignored.
+	 *
+	 * @param points The points to transform
+	 * @param buffer The array to store the transformed points in if it is the same size as the points, or null
+	 * @return The transformed points--either the given buffer or a new array
+	 */
+	default int[][] tx(float[][] points, int[][] buffer) {
+		return tx(points);
+	}
+
 	QuickDrawScreen transform(float translateX, float translateY, float scaleX, float scaleY);
 
 	QuickDrawScreen subScreen(float x, float y, float width, float height);
@@ -133,7 +166,16 @@ public interface QuickDrawScreen extends Transaction {
 
 		@Override
 		public int[][] tx(float[][] points) {
-			int[][] transformed = new int[2][points[0].length];
+			return tx(points, null);
+		}
+
+		@Override
+		public int[][] tx(float[][] points, int[][] buffer) {
+			int[][] transformed;
+			if (buffer != null && buffer[0].length == points[0].length)
+				transformed = buffer;
+			else
+				transformed = new int[2][points[0].length];
 			for (int p = 0; p < points[0].length; p++) {
 				transformed[0][p] = (int) transformX(points[0][p]);
 				transformed[1][p] = (int) transformY(points[1][p]);
@@ -214,6 +256,11 @@ public interface QuickDrawScreen extends Transaction {
 			return x;
 		}
 
+		@Override
+		public double transformX(double x) {
+			return x;
+		}
+
 		@Override
 		public float inverseTransformX(float x) {
 			return x;
@@ -224,6 +271,11 @@ public interface QuickDrawScreen extends Transaction {
 			return y;
 		}
 
+		@Override
+		public double transformY(double y) {
+			return y;
+		}
+
 		@Override
 		public float inverseTransformY(float y) {
 			return y;
@@ -336,6 +388,11 @@ public interface QuickDrawScreen extends Transaction {
 			return x + theOffsetX;
 		}
 
+		@Override
+		public double transformX(double x) {
+			return x + theOffsetX;
+		}
+
 		@Override
 		public float inverseTransformX(float x) {
 			return x - theOffsetX;
@@ -346,6 +403,11 @@ public interface QuickDrawScreen extends Transaction {
 			return y + theOffsetY;
 		}
 
+		@Override
+		public double transformY(double y) {
+			return y + theOffsetY;
+		}
+
 		@Override
 		public float inverseTransformY(float y) {
 			return y - theOffsetY;
@@ -508,6 +570,11 @@ public interface QuickDrawScreen extends Transaction {
 			return x * theScaleX + theOffsetX;
 		}
 
+		@Override
+		public double transformX(double x) {
+			return x * theScaleX + theOffsetX;
+		}
+
 		@Override
 		public float inverseTransformX(float x) {
 			return (x - theOffsetX) / theScaleX;
@@ -518,6 +585,11 @@ public interface QuickDrawScreen extends Transaction {
 			return y * theScaleY + theOffsetY;
 		}
 
+		@Override
+		public double transformY(double y) {
+			return y * theScaleY + theOffsetY;
+		}
+
 		@Override
 		public float inverseTransformY(float y) {
 			return (y - theOffsetY) / theScaleY;
@@ -21,18 +21,27 @@ import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,7 +52,10 @@ import javax.swing.SwingUtilities;
 import org.observe.Observable;
 import org.observe.ObservableValue;
 import org.observe.SettableValue;
+import org.observe.SimpleObservable;
 import org.observe.SettableValue.Setter;
+import org.observe.collect.CollectionChangeEvent;
+import org.observe.collect.CollectionChangeType;
 import org.observe.collect.ObservableCollection;
 import org.observe.expresso.ExpressoInterpretationException;
 import org.observe.expresso.ModelInstantiationException;
@@ -76,6 +88,7 @@ import org.observe.quick.draw.QuickPoint;
 import org.observe.quick.draw.QuickPolygon;
 import org.observe.quick.draw.QuickRectangle;
 import org.observe.quick.draw.QuickRotated;
+import org.observe.quick.draw.QuickSeriesLine;
 import org.observe.quick.draw.QuickShape;
 import org.observe.quick.draw.QuickShapeCollection;
 import org.observe.quick.draw.QuickShapeContainer;
@@ -83,6 +96,7 @@ import org.observe.quick.draw.QuickShapePublisher;
 import org.observe.quick.draw.QuickShapeView;
 import org.observe.quick.draw.QuickSimpleShape;
 import org.observe.quick.draw.Rotate;
+import org.observe.quick.draw.SampleSeries;
 import org.observe.quick.draw.Scale;
 import org.observe.quick.draw.StrokeDashing;
 import org.observe.quick.draw.ToCoords;
@@ -96,6 +110,8 @@ import org.qommons.BiTuple;
 import org.qommons.Colors;
 import org.qommons.QommonsUtils;
 import org.qommons.StringUtils;
+import org.qommons.Subscription;
+import org.qommons.ThreadConstraint;
 import org.qommons.Transaction;
 import org.qommons.Transformer;
 import org.qommons.collect.BetterHashSet;
@@ -177,6 +193,22 @@ public class QuickDrawSwing implements QuickInterpretation {
 		 */
 		void draw(QuickDrawScreen screen);
 
+		/**
+		 * @return The bounds, in pixels of the root drawing surface, of the region this shape would affect if it were drawn now with its
+		 *         current values, or null if this cannot be determined
+		 */
+		default Rectangle getDrawBounds() {
+			return null;
+		}
+
+		/**
+		 * @return The bounds, in pixels of the root drawing surface, of the region this shape affected the last time it was drawn, or null
+		 *         if this cannot be determined
+		 */
+		default Rectangle getDrawnBounds() {
+			return null;
+		}
+
 		/**
 		 * @param containerPoint The point in the container to test
 		 * @return The corresponding location in this shape, or null if this shape does not contain the given point
@@ -275,6 +307,7 @@ public class QuickDrawSwing implements QuickInterpretation {
 		tx.with(QuickDrawText.Interpreted.class, InterpretedText.class, InterpretedText::new);
 		tx.with(QuickLine.Interpreted.class, InterpretedLine.class, InterpretedLine::new);
 		tx.with(QuickFlexLine.Interpreted.class, InterpretedQuickShapePublisher.class, InterpretedFlexLine::new);
+		tx.with(QuickSeriesLine.Interpreted.class, InterpretedQuickShapePublisher.class, InterpretedSeriesLine::new);
 		tx.with(QuickShapeView.Interpreted.class, InterpretedShapeView.class, InterpretedShapeView::new);
 		tx.with(Translate.Interpreted.class, InterpretedTransformOp.class, InterpretedTranslate::new);
 		tx.with(Scale.Interpreted.class, InterpretedTransformOp.class, InterpretedScale::new);
@@ -374,6 +407,83 @@ public class QuickDrawSwing implements QuickInterpretation {
 			}
 		}
 
+		/**
+		 * @return The union of the {@link QuickShapeInterpretation#getDrawnBounds() drawn bounds} of all the shapes in this container, or
+		 *         null if the bounds of any cannot be determined
+		 */
+		Rectangle getContentBounds() {
+			Rectangle bounds = null;
+			for (QuickShapeInterpretation shape : theContents) {
+				Rectangle shapeBounds = shape.getDrawnBounds();
+				if (shapeBounds == null)
+					return null;
+				else if (shapeBounds.isEmpty())
+					continue;
+				else if (bounds == null)
+					bounds = new Rectangle(shapeBounds);
+				else
+					bounds.add(shapeBounds);
+			}
+			return bounds == null ? new Rectangle() : bounds;
+		}
+
+		/**
+		 * Draws only the shapes in this container which intersect a region of the screen, after clearing the region
+		 *
+		 * @param screen The screen to draw on
+		 * @param region The region of the screen to re-draw
+		 * @param drawnBounds The bounds of each shape in this container as of the last time it was drawn, to be updated
+		 * @return False if the bounds of some shapes in this container cannot be determined, so that the region cannot be drawn in
+		 *         isolation. Nothing is drawn in this case.
+		 */
+		boolean drawRegion(QuickDrawScreen screen, Rectangle region, Map<QuickShapeInterpretation, Rectangle> drawnBounds) {
+			List<Rectangle> bounds = new ArrayList<>(theContents.size());
+			for (QuickShapeInterpretation shape : theContents) {
+				Rectangle shapeBounds = shape.getDrawBounds();
+				if (shapeBounds == null)
+					return false;
+				bounds.add(shapeBounds);
+			}
+			screen.gfx().setClip(region);
+			screen.gfx().clearRect(region.x, region.y, region.width, region.height);
+			isDrawing = true;
+			try {
+				int i = 0;
+				for (ListElement<QuickShapeInterpretation> shape = theContents.getTerminalElement(true); shape != null; shape = shape
+					.getAdjacent(true), i++) {
+					if (!bounds.get(i).intersects(region))
+						continue;
+					setState(shape);
+					shape.get().draw(screen);
+					drawnBounds.put(shape.get(), shape.get().getDrawnBounds());
+				}
+			} finally {
+				isDrawing = false;
+			}
+			return true;
+		}
+
+		/**
+		 * Draws all the shapes in this container, recording the bounds of each
+		 *
+		 * @param screen The screen to draw on
+		 * @param drawnBounds The map in which to record the bounds of each shape in this container
+		 */
+		void draw(QuickDrawScreen screen, Map<QuickShapeInterpretation, Rectangle> drawnBounds) {
+			isDrawing = true;
+			try {
+				drawnBounds.clear();
+				for (ListElement<QuickShapeInterpretation> shape = theContents.getTerminalElement(true); shape != null; shape = shape
+					.getAdjacent(true)) {
+					setState(shape);
+					shape.get().draw(screen);
+					drawnBounds.put(shape.get(), shape.get().getDrawnBounds());
+				}
+			} finally {
+				isDrawing = false;
+			}
+		}
+
 		@Override
 		public boolean isMouseListening() {
 			return theContents.stream().anyMatch(QuickShapeInterpretation::isMouseListening);
@@ -454,12 +564,17 @@ public class QuickDrawSwing implements QuickInterpretation {
 			}
 		}
 
-		@Override
-		public DrawOpacity mousePressed(MouseEvent e, Point2D.Float point) {
+		/** @param e The mouse press event */
+		protected void setPressed(MouseEvent e) {
 			if (SwingUtilities.isLeftMouseButton(e))
 				isPressed = true;
 			else if (SwingUtilities.isRightMouseButton(e))
 				isRightPressed = true;
+		}
+
+		@Override
+		public DrawOpacity mousePressed(MouseEvent e, Point2D.Float point) {
+			setPressed(e);
 			ListElement<QuickShapeInterpretation> focus = null;
 			DrawOpacity opacity = DrawOpacity.None;
 			for (ListElement<QuickShapeInterpretation> el = theContents.getTerminalElement(false); //
@@ -634,6 +749,16 @@ public class QuickDrawSwing implements QuickInterpretation {
 
 		private BufferedImage theBuffer;
 		private boolean isBufferUpToDate;
+		/** The bounds of each shape as of when it was last drawn into the buffer */
+		private final Map<QuickShapeInterpretation, Rectangle> theDrawnBounds;
+		/** The region of the buffer that needs to be re-drawn, if the buffer is otherwise up-to-date */
+		private Rectangle theDirtyRegion;
+		/**
+		 * Shapes added since the last repaint, whose bounds need to be marked dirty. A shape's bounds are computed as it is drawn, so they
+		 * may only be inspected on the EDT.
+		 */
+		private final List<QuickShapeInterpretation> theAddedShapes;
+		private final RepaintScheduler theRepaints;
 
 		QuickCanvasComponent(QuickCanvas canvas, List<QuickDrawShapePublisher> publishers, Observable<?> until) {
 			theCanvas = canvas;
@@ -653,10 +778,13 @@ public class QuickDrawSwing implements QuickInterpretation {
 					return null;
 				}
 			};
-			theContainer.update().takeUntil(until).act(__ -> {
-				isBufferUpToDate = false;
-				repaint();
-			});
+			theDrawnBounds = Collections.synchronizedMap(new IdentityHashMap<>());
+			theAddedShapes = new ArrayList<>();
+			// Shapes may update far more often than the screen can be refreshed, so repaints are capped to the canvas's frame rate
+			theRepaints = new RepaintScheduler(canvas.getMaxFps(), canvas.getRepaintCoalesce(), this::repaintDirty);
+			theContainer.getContents().changes().takeUntil(until).act(this::contentsChanged);
+			theContainer.update().takeUntil(until).act(__ -> theRepaints.requestRepaint());
+			until.take(1).act(__ -> theRepaints.dispose());
 			theWidth = canvas.getAddOn(Sizeable.Horizontal.class);
 			theHeight = canvas.getAddOn(Sizeable.Vertical.class);
 			addComponentListener(new ComponentAdapter() {
@@ -804,6 +932,71 @@ public class QuickDrawSwing implements QuickInterpretation {
 			return new Dimension(w, h);
 		}
 
+		private void contentsChanged(CollectionChangeEvent<QuickShapeInterpretation> evt) {
+			for (CollectionChangeEvent.ElementChange<QuickShapeInterpretation> change : evt.elements) {
+				switch (evt.type) {
+				case add:
+					shapeAdded(change.newValue);
+					break;
+				case remove:
+					markDirty(theDrawnBounds.get(change.oldValue));
+					theDrawnBounds.remove(change.oldValue);
+					break;
+				case set:
+					// The shape may have moved, so we need to re-draw both where it was and where it is now
+					markDirty(theDrawnBounds.get(change.oldValue));
+					shapeAdded(change.newValue);
+					break;
+				}
+			}
+			theRepaints.requestRepaint();
+		}
+
+		private synchronized void shapeAdded(QuickShapeInterpretation shape) {
+			if (isBufferUpToDate)
+				theAddedShapes.add(shape);
+		}
+
+		/** Called on the EDT while synchronized, so the added shapes' bounds are not being modified */
+		private void markAddedShapesDirty() {
+			for (QuickShapeInterpretation shape : theAddedShapes)
+				markDirty(shape.getDrawBounds());
+			theAddedShapes.clear();
+		}
+
+		private synchronized void markDirty(Rectangle bounds) {
+			if (!isBufferUpToDate)
+				return; // Already repainting everything
+			else if (bounds == null) { // Unknown, repaint everything
+				isBufferUpToDate = false;
+				theDirtyRegion = null;
+			} else if (bounds.isEmpty()) { // Nothing drawn
+			} else if (theDirtyRegion == null)
+				theDirtyRegion = new Rectangle(bounds);
+			else
+				theDirtyRegion.add(bounds);
+		}
+
+		private void repaintDirty() {
+			Rectangle dirty;
+			synchronized (this) {
+				markAddedShapesDirty();
+				dirty = isBufferUpToDate ? theDirtyRegion : null;
+				if (dirty != null)
+					dirty = new Rectangle(dirty);
+			}
+			if (dirty == null)
+				repaint();
+			else if (!dirty.isEmpty())
+				repaint(dirty);
+
+			SettableValue<Integer> publishSkipped = theCanvas.getPublishSkippedRepaints();
+			int skipped = (int) Math.min(theRepaints.getSkippedRepaints(), Integer.MAX_VALUE);
+			Integer preSkipped = publishSkipped.get();
+			if ((preSkipped == null || preSkipped.intValue() != skipped) && publishSkipped.isAcceptable(skipped) == null)
+				publishSkipped.set(skipped);
+		}
+
 		void publishSize() {
 			Integer preW = theCanvas.getPublishWidth().get();
 			Integer preH = theCanvas.getPublishHeight().get();
@@ -817,23 +1010,45 @@ public class QuickDrawSwing implements QuickInterpretation {
 		@Override
 		protected void paintComponent(Graphics g) {
 			super.paintComponent(g);
+			boolean upToDate;
+			Rectangle dirty;
+			synchronized (this) {
+				markAddedShapesDirty();
+				upToDate = isBufferUpToDate;
+				dirty = theDirtyRegion;
+				isBufferUpToDate = true;
+				theDirtyRegion = null;
+			}
 			Graphics2D repaintBuffer;
 			if (theBuffer == null || getWidth() != theBuffer.getWidth() || getHeight() != theBuffer.getHeight()) {
-				isBufferUpToDate = false;
+				upToDate = false;
 				theBuffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
 				repaintBuffer = theBuffer.createGraphics();
 				repaintBuffer.setBackground(Colors.transparent);
-			} else if (!isBufferUpToDate) {
+			} else if (!upToDate || dirty != null) {
 				repaintBuffer = theBuffer.createGraphics();
 				repaintBuffer.setBackground(Colors.transparent);
-				repaintBuffer.clearRect(0, 0, theBuffer.getWidth(), theBuffer.getHeight());
 			} else {
 				repaintBuffer = null;
 			}
 
 			if (repaintBuffer != null) {
-				theContainer.draw(new QuickDrawScreen.SimpleScreen(repaintBuffer, getWidth(), getHeight(), Transaction.NONE));
-				isBufferUpToDate = true;
+				try {
+					QuickDrawScreen screen = new QuickDrawScreen.SimpleScreen(repaintBuffer, getWidth(), getHeight(), Transaction.NONE);
+					if (upToDate) {
+						// Only the regions affected by changed shapes need to be re-drawn
+						dirty = dirty.intersection(new Rectangle(0, 0, theBuffer.getWidth(), theBuffer.getHeight()));
+						if (!dirty.isEmpty() && !theContainer.drawRegion(screen, dirty, theDrawnBounds))
+							upToDate = false;
+					}
+					if (!upToDate) {
+						repaintBuffer.setClip(null);
+						repaintBuffer.clearRect(0, 0, theBuffer.getWidth(), theBuffer.getHeight());
+						theContainer.draw(screen, theDrawnBounds);
+					}
+				} finally {
+					repaintBuffer.dispose();
+				}
 			}
 
 			g.drawImage(theBuffer, 0, 0, null);
@@ -860,11 +1075,18 @@ public class QuickDrawSwing implements QuickInterpretation {
 		private ListElement<T> theCurrentValue;
 		private final BetterSet<BiTuple<ElementId, ElementId>> theHovered;
 		private boolean isInAction;
+		/** Index of the bounds of each value's shapes as of the last draw, or null if not available or out-of-date */
+		private volatile ShapeHitIndex<ListElement<T>> theHitIndex;
 
 		QuickShapeCollectionPublisher(QuickShapeCollection<T> collection, List<QuickDrawShapePublisher> shapes) {
 			super(shapes, collection.onDestroy());
 			theCollection = collection;
 			theHovered = BetterHashSet.build().build();
+			// Changes caused by setting the active value as we draw or handle events don't affect the index
+			Observable.or(super.update(), theCollection.getValues().simpleChanges())//
+			.filter(__ -> !isInAction)//
+			.takeUntil(collection.onDestroy())//
+			.act(__ -> theHitIndex = null);
 		}
 
 		@Override
@@ -886,6 +1108,9 @@ public class QuickDrawSwing implements QuickInterpretation {
 				try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 					Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 					Transaction ct = theCollection.getValues().lock(false)) {
+					// The index is in drawn pixels, which can only be used if they correspond to the coordinates of mouse events
+					ShapeHitIndex<ListElement<T>> hitIndex = screen.isTransformed() ? null
+						: new ShapeHitIndex<>(screen.getWidth(), screen.getHeight());
 					int i = 0;
 					for (ListElement<T> value = theCollection.getValues().getTerminalElement(true); //
 						value != null; value = value.getAdjacent(true)) {
@@ -893,8 +1118,16 @@ public class QuickDrawSwing implements QuickInterpretation {
 						valueSetter.set(value.get());
 						indexSetter.set(i);
 						super.draw(screen);
+						if (hitIndex != null) {
+							Rectangle bounds = getContentBounds();
+							if (bounds == null)
+								hitIndex = null;
+							else
+								hitIndex.add(bounds, value);
+						}
 						i++;
 					}
+					theHitIndex = hitIndex;
 				}
 			} finally {
 				isInAction = false;
@@ -904,7 +1137,11 @@ public class QuickDrawSwing implements QuickInterpretation {
 		@Override
 		protected QuickShapeInterpretation mouseHover(MouseEvent e, Point2D.Float point) {
 			theHovered.removeIf(el -> !el.getValue1().isPresent() || !el.getValue2().isPresent());
-			QuickShapeInterpretation first = null;
+			QuickShapeInterpretation[] first = new QuickShapeInterpretation[1];
+			Consumer<QuickShapeInterpretation> onTarget = target -> {
+				if (first[0] == null)
+					first[0] = target;
+			};
 			boolean done = false;
 			SettableValue<T> activeValue = theCollection.getActiveValue();
 			SettableValue<Integer> activeIndex = theCollection.getActiveValueIndex();
@@ -913,39 +1150,84 @@ public class QuickDrawSwing implements QuickInterpretation {
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValues().lock(false)) {
-				for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
-					valueEl != null; valueEl = valueEl.getAdjacent(false)) {
-					theCurrentValue = valueEl;
-					valueSetter.set(valueEl.get());
-					indexSetter.set(i);
-					for (CollectionElement<QuickShapeInterpretation> shapeEl = getContents().getTerminalElement(false); shapeEl != null; //
-						shapeEl = shapeEl.getAdjacent(false)) {
-						Point2D.Float hit = shapeEl.get().hit(point);
-						if (done) {
-							if (theHovered.remove(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId()))) {
-								shapeEl.get().mouseExited(asType(e, MouseEvent.MOUSE_EXITED), hit);
-							}
-						} else if (hit != null) {
-							if (theHovered.add(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId()))) {
-								QuickShapeInterpretation target = shapeEl.get().mouseEntered(asType(e, MouseEvent.MOUSE_ENTERED), hit);
-								if (first == null)
-									first = target;
-							} else {
-								QuickShapeInterpretation target = shapeEl.get().mouseMoved(asType(e, MouseEvent.MOUSE_MOVED), hit);
-								if (first == null)
-									first = target;
-							}
-							done = shapeEl.get().getOpacity(hit) == DrawOpacity.Full;
-						} else if (theHovered.remove(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId()))) {
-							shapeEl.get().mouseExited(asType(e, MouseEvent.MOUSE_EXITED), null);
-						}
+				List<ListElement<T>> candidates = getHitCandidates(point);
+				if (candidates != null) {
+					// Only the values under the cursor need to be tested.
+					// Values which are not under the cursor can only need to be notified that the cursor has left them.
+					Set<ElementId> tested = new HashSet<>();
+					for (ListElement<T> valueEl : candidates) {
+						tested.add(valueEl.getElementId());
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(valueEl.getElementsBefore());
+						done = hoverShapes(valueEl, e, point, done, onTarget);
+					}
+					for (BiTuple<ElementId, ElementId> hovered : new ArrayList<>(theHovered)) {
+						if (tested.contains(hovered.getValue1()))
+							continue;
+						ListElement<T> valueEl = theCollection.getValues().getElement(hovered.getValue1());
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(valueEl.getElementsBefore());
+						theHovered.remove(hovered);
+						getContents().getElement(hovered.getValue2()).get().mouseExited(asType(e, MouseEvent.MOUSE_EXITED), null);
+					}
+				} else {
+					for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
+						valueEl != null; valueEl = valueEl.getAdjacent(false)) {
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(i);
+						done = hoverShapes(valueEl, e, point, done, onTarget);
+						i--;
 					}
-					i--;
 				}
 			} finally {
 				isInAction = false;
 			}
-			return first;
+			return first[0];
+		}
+
+		/**
+		 * @param point The point of a mouse event
+		 * @return The values whose shapes may contain the given point, in reverse order, or null if this cannot be determined
+		 */
+		private List<ListElement<T>> getHitCandidates(Point2D.Float point) {
+			ShapeHitIndex<ListElement<T>> hitIndex = theHitIndex;
+			if (hitIndex == null || hitIndex.size() != theCollection.getValues().size())
+				return null;
+			List<ListElement<T>> candidates = hitIndex.getCandidates(point.x, point.y);
+			if (candidates == null)
+				return null;
+			for (ListElement<T> candidate : candidates) {
+				if (!candidate.getElementId().isPresent())
+					return null;
+			}
+			return candidates;
+		}
+
+		private boolean hoverShapes(ListElement<T> valueEl, MouseEvent e, Point2D.Float point, boolean done,
+			Consumer<QuickShapeInterpretation> first) {
+			for (CollectionElement<QuickShapeInterpretation> shapeEl = getContents().getTerminalElement(false); shapeEl != null; //
+				shapeEl = shapeEl.getAdjacent(false)) {
+				Point2D.Float hit = shapeEl.get().hit(point);
+				if (done) {
+					if (theHovered.remove(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId()))) {
+						shapeEl.get().mouseExited(asType(e, MouseEvent.MOUSE_EXITED), hit);
+					}
+				} else if (hit != null) {
+					QuickShapeInterpretation target;
+					if (theHovered.add(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId())))
+						target = shapeEl.get().mouseEntered(asType(e, MouseEvent.MOUSE_ENTERED), hit);
+					else
+						target = shapeEl.get().mouseMoved(asType(e, MouseEvent.MOUSE_MOVED), hit);
+					first.accept(target);
+					done = shapeEl.get().getOpacity(hit) == DrawOpacity.Full;
+				} else if (theHovered.remove(new BiTuple<>(valueEl.getElementId(), shapeEl.getElementId()))) {
+					shapeEl.get().mouseExited(asType(e, MouseEvent.MOUSE_EXITED), null);
+				}
+			}
+			return done;
 		}
 
 		@Override
@@ -959,16 +1241,38 @@ public class QuickDrawSwing implements QuickInterpretation {
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValues().lock(false)) {
-				for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
-					opacity != DrawOpacity.Full && valueEl != null; valueEl = valueEl.getAdjacent(false)) {
-					theCurrentValue = valueEl;
-					valueSetter.set(valueEl.get());
-					indexSetter.set(i);
-					DrawOpacity valueOpacity = super.mousePressed(e, point);
-					if (valueOpacity != DrawOpacity.None)
-						focusEl = valueEl;
-					opacity = opacity.or(valueOpacity);
-					i--;
+				List<ListElement<T>> candidates = getHitCandidates(point);
+				if (candidates != null) {
+					// The press state is recorded even if no value is under the cursor
+					setPressed(e);
+					ListElement<T> last = null;
+					for (ListElement<T> valueEl : candidates) {
+						if (opacity == DrawOpacity.Full)
+							break;
+						last = valueEl;
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(valueEl.getElementsBefore());
+						DrawOpacity valueOpacity = super.mousePressed(e, point);
+						if (valueOpacity != DrawOpacity.None)
+							focusEl = valueEl;
+						opacity = opacity.or(valueOpacity);
+					}
+					// Every value not under the cursor would have cleared the focus shape
+					if (opacity != DrawOpacity.Full && (last == null || last.getAdjacent(false) != null))
+						setFocus(null);
+				} else {
+					for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
+						opacity != DrawOpacity.Full && valueEl != null; valueEl = valueEl.getAdjacent(false)) {
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(i);
+						DrawOpacity valueOpacity = super.mousePressed(e, point);
+						if (valueOpacity != DrawOpacity.None)
+							focusEl = valueEl;
+						opacity = opacity.or(valueOpacity);
+						i--;
+					}
 				}
 			} finally {
 				isInAction = false;
@@ -1014,13 +1318,25 @@ public class QuickDrawSwing implements QuickInterpretation {
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValues().lock(false)) {
-				for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
-					opacity != DrawOpacity.Full && valueEl != null; valueEl = valueEl.getAdjacent(false)) {
-					theCurrentValue = valueEl;
-					valueSetter.set(valueEl.get());
-					indexSetter.set(i);
-					opacity = opacity.or(super.mouseAction(e, point, action));
-					i--;
+				List<ListElement<T>> candidates = point == null ? null : getHitCandidates(point);
+				if (candidates != null) {
+					for (ListElement<T> valueEl : candidates) {
+						if (opacity == DrawOpacity.Full)
+							break;
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(valueEl.getElementsBefore());
+						opacity = opacity.or(super.mouseAction(e, point, action));
+					}
+				} else {
+					for (ListElement<T> valueEl = theCollection.getValues().getTerminalElement(false); //
+						opacity != DrawOpacity.Full && valueEl != null; valueEl = valueEl.getAdjacent(false)) {
+						theCurrentValue = valueEl;
+						valueSetter.set(valueEl.get());
+						indexSetter.set(i);
+						opacity = opacity.or(super.mouseAction(e, point, action));
+						i--;
+					}
 				}
 			} finally {
 				isInAction = false;
@@ -1106,11 +1422,19 @@ public class QuickDrawSwing implements QuickInterpretation {
 	static class LightWeightShapeCollectionPublisher<T> extends SimpleShapeContainer {
 		private final LightWeightShapeCollection<T> theCollection;
 		private boolean isMouseListening;
+		private boolean isInAction;
+		/** Index of the bounds of each value's shapes as of the last draw, or null if not available or out-of-date */
+		private volatile ShapeHitIndex<Integer> theHitIndex;
 
 		LightWeightShapeCollectionPublisher(LightWeightShapeCollection<T> collection, List<QuickDrawShapePublisher> shapes) {
 			super(shapes, collection.onDestroy());
 			theCollection = collection;
 			isMouseListening = super.isMouseListening();
+			// Changes caused by setting the active value as we draw or handle events don't affect the index
+			Observable.or(super.update(), theCollection.getValueChanges())//
+			.filter(__ -> !isInAction)//
+			.takeUntil(collection.onDestroy())//
+			.act(__ -> theHitIndex = null);
 		}
 
 		@Override
@@ -1132,19 +1456,45 @@ public class QuickDrawSwing implements QuickInterpretation {
 		public void draw(QuickDrawScreen screen) {
 			SettableValue<T> activeValue = theCollection.getActiveValue();
 			SettableValue<Integer> activeIndex = theCollection.getActiveValueIndex();
+			isInAction = true;
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValueChanges().lock(false)) {
+				// The index is in drawn pixels, which can only be used if they correspond to the coordinates of mouse events
+				ShapeHitIndex<Integer> hitIndex = !isMouseListening || screen.isTransformed() ? null
+					: new ShapeHitIndex<>(screen.getWidth(), screen.getHeight());
 				int i = 0;
 				for (T value : theCollection.getValues()) {
 					valueSetter.set(value);
 					indexSetter.set(i);
 					super.draw(screen);
+					if (hitIndex != null) {
+						Rectangle bounds = getContentBounds();
+						if (bounds == null)
+							hitIndex = null;
+						else
+							hitIndex.add(bounds, i);
+					}
 					i++;
 				}
+				theHitIndex = hitIndex;
+			} finally {
+				isInAction = false;
 			}
 		}
 
+		/**
+		 * @param point The point of a mouse event
+		 * @return The indexes of the values whose shapes may contain the given point, in reverse order, or null if this cannot be
+		 *         determined
+		 */
+		private List<Integer> getHitCandidates(Point2D.Float point) {
+			ShapeHitIndex<Integer> hitIndex = theHitIndex;
+			if (hitIndex == null || hitIndex.size() != theCollection.getValues().size())
+				return null;
+			return hitIndex.getCandidates(point.x, point.y);
+		}
+
 		@Override
 		protected QuickShapeInterpretation mouseHover(MouseEvent e, Point2D.Float point) {
 			if (!isMouseListening)
@@ -1153,12 +1503,18 @@ public class QuickDrawSwing implements QuickInterpretation {
 			boolean done = false;
 			SettableValue<T> activeValue = theCollection.getActiveValue();
 			SettableValue<Integer> activeIndex = theCollection.getActiveValueIndex();
+			isInAction = true;
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValueChanges().lock(false)) {
-				int i = theCollection.getValues().size() - 1;
-				for (ListIterator<T> iter = theCollection.getValues().listIterator(i + 1); iter.hasPrevious();) {
-					valueSetter.set(iter.previous());
+				List<T> values = theCollection.getValues();
+				List<Integer> candidates = getHitCandidates(point);
+				Iterator<Integer> indexes = candidates != null ? candidates.iterator() : null;
+				int i = values.size() - 1;
+				while (indexes != null ? indexes.hasNext() : i >= 0) {
+					if (indexes != null)
+						i = indexes.next();
+					valueSetter.set(values.get(i));
 					indexSetter.set(i);
 					for (CollectionElement<QuickShapeInterpretation> shapeEl = getContents().getTerminalElement(false); shapeEl != null; //
 						shapeEl = shapeEl.getAdjacent(false)) {
@@ -1173,6 +1529,8 @@ public class QuickDrawSwing implements QuickInterpretation {
 					}
 					i--;
 				}
+			} finally {
+				isInAction = false;
 			}
 			return first;
 		}
@@ -1184,18 +1542,34 @@ public class QuickDrawSwing implements QuickInterpretation {
 				return opacity;
 			SettableValue<T> activeValue = theCollection.getActiveValue();
 			SettableValue<Integer> activeIndex = theCollection.getActiveValueIndex();
+			isInAction = true;
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValueChanges().lock(false)) {
-				int i = theCollection.getValues().size() - 1;
-				for (ListIterator<T> iter = theCollection.getValues().listIterator(i + 1); opacity != DrawOpacity.Full
-					&& iter.hasPrevious();) {
-					valueSetter.set(iter.previous());
-					indexSetter.set(i);
-					DrawOpacity valueOpacity = super.mousePressed(e, point);
-					opacity = opacity.or(valueOpacity);
-					i--;
+				List<Integer> candidates = getHitCandidates(point);
+				if (candidates != null) {
+					// The press state is recorded even if no value is under the cursor
+					setPressed(e);
+					List<T> values = theCollection.getValues();
+					for (int c = 0; opacity != DrawOpacity.Full && c < candidates.size(); c++) {
+						int i = candidates.get(c);
+						valueSetter.set(values.get(i));
+						indexSetter.set(i);
+						opacity = opacity.or(super.mousePressed(e, point));
+					}
+				} else {
+					int i = theCollection.getValues().size() - 1;
+					for (ListIterator<T> iter = theCollection.getValues().listIterator(i + 1); opacity != DrawOpacity.Full
+						&& iter.hasPrevious();) {
+						valueSetter.set(iter.previous());
+						indexSetter.set(i);
+						DrawOpacity valueOpacity = super.mousePressed(e, point);
+						opacity = opacity.or(valueOpacity);
+						i--;
+					}
 				}
+			} finally {
+				isInAction = false;
 			}
 			return opacity;
 		}
@@ -1208,17 +1582,31 @@ public class QuickDrawSwing implements QuickInterpretation {
 				return opacity;
 			SettableValue<T> activeValue = theCollection.getActiveValue();
 			SettableValue<Integer> activeIndex = theCollection.getActiveValueIndex();
+			isInAction = true;
 			try (Setter<T> valueSetter = activeValue.lockWrite(false, null); //
 				Setter<Integer> indexSetter = activeIndex.lockWrite(false, null); //
 				Transaction ct = theCollection.getValueChanges().lock(false)) {
-				int i = theCollection.getValues().size() - 1;
-				for (ListIterator<T> iter = theCollection.getValues().listIterator(i + 1); opacity != DrawOpacity.Full
-					&& iter.hasPrevious();) {
-					valueSetter.set(iter.previous());
-					indexSetter.set(i);
-					opacity = opacity.or(super.mouseAction(e, point, action));
-					i--;
+				List<Integer> candidates = point == null ? null : getHitCandidates(point);
+				if (candidates != null) {
+					List<T> values = theCollection.getValues();
+					for (int c = 0; opacity != DrawOpacity.Full && c < candidates.size(); c++) {
+						int i = candidates.get(c);
+						valueSetter.set(values.get(i));
+						indexSetter.set(i);
+						opacity = opacity.or(super.mouseAction(e, point, action));
+					}
+				} else {
+					int i = theCollection.getValues().size() - 1;
+					for (ListIterator<T> iter = theCollection.getValues().listIterator(i + 1); opacity != DrawOpacity.Full
+						&& iter.hasPrevious();) {
+						valueSetter.set(iter.previous());
+						indexSetter.set(i);
+						opacity = opacity.or(super.mouseAction(e, point, action));
+						i--;
+					}
 				}
+			} finally {
+				isInAction = false;
 			}
 			return opacity;
 		}
@@ -1734,7 +2122,11 @@ public class QuickDrawSwing implements QuickInterpretation {
 	static abstract class QuickDrawSimpleShape<S extends QuickSimpleShape> extends QuickDrawBorderedShape<S> {
 		private final Observable<?> theUpdate;
 		private QuickDrawScreen theScreen;
+		/** The transform from the screen's coordinates to the root drawing surface as of the last draw */
+		private AffineTransform theRootTransform;
 		private final SimpleShapeHandling theBounds;
+		/** The bounds of this shape on the root drawing surface as of the last draw */
+		private Rectangle theDrawnBounds;
 		private SettableValue<Double> theRotationValue;
 
 		protected QuickDrawSimpleShape(S shape) {
@@ -1787,13 +2179,56 @@ public class QuickDrawSwing implements QuickInterpretation {
 		protected abstract Point2D.Float getHit(Point2D.Float point);
 
 		@Override
-		public void draw(QuickDrawScreen screen) {
+		public Rectangle getDrawBounds() {
 			if (!isVisible())
+				return new Rectangle();
+			else if (theScreen == null || theRootTransform == null || hasInnerContents())
+				return null; // Inner contents may re-clip the screen, so they must always be drawn in full
+			if (!theBounds.updateBounds(getShape().getWidth().get(), getShape().getHeight().get(), theRotationValue.get(), theScreen))
+				return new Rectangle();
+			return getRootBounds();
+		}
+
+		@Override
+		public Rectangle getDrawnBounds() {
+			return theDrawnBounds;
+		}
+
+		/** @return The current bounds of this shape on the root drawing surface, or null if this cannot be determined */
+		private Rectangle getRootBounds() {
+			Rectangle bounds;
+			if (theBounds.getTransform() != null) {
+				if (!(theScreen instanceof QuickDrawScreen.SimpleScreen))
+					return null; // The screen's own transformation is not represented in the root transform
+				AffineTransform transform = new AffineTransform(theRootTransform);
+				transform.concatenate(theBounds.getTransform());
+				bounds = transform.createTransformedShape(theBounds.getBounds()).getBounds();
+			} else
+				bounds = theRootTransform.createTransformedShape(theBounds.getBounds()).getBounds();
+			// Account for the border stroke and anti-aliasing
+			int margin = getBorderThickness() + 2;
+			bounds.grow(margin, margin);
+			return bounds;
+		}
+
+		@Override
+		public void draw(QuickDrawScreen screen) {
+			if (!isVisible()) {
+				theDrawnBounds = new Rectangle();
 				return;
+			}
 
 			theScreen = screen;
+			theRootTransform = new AffineTransform(screen.gfx().getTransform());
 			boolean draw = theBounds.updateBounds(//
 				getShape().getWidth().get(), getShape().getHeight().get(), theRotationValue.get(), screen);
+			// Recorded here so that containers need not re-evaluate the bounds after drawing
+			if (!draw)
+				theDrawnBounds = new Rectangle();
+			else if (hasInnerContents())
+				theDrawnBounds = null; // Inner contents may re-clip the screen, so they must always be drawn in full
+			else
+				theDrawnBounds = getRootBounds();
 			String debugPrint = getShape().getDebugPrint().get();
 			if (!draw && debugPrint == null)
 				return;
@@ -2128,7 +2563,7 @@ public class QuickDrawSwing implements QuickInterpretation {
 			float[][] vertices = getVertices();
 			if (vertices == null)
 				return;
-			int[][] points = screen.tx(vertices);
+			int[][] points = tx(screen, vertices);
 
 			String debugPrint = getDebugPrint();
 
@@ -2155,6 +2590,15 @@ public class QuickDrawSwing implements QuickInterpretation {
 			draw(screen.gfx(), points);
 		}
 
+		/**
+		 * @param screen The screen to draw on
+		 * @param vertices The vertices to transform
+		 * @return The screen coordinates of each vertex
+		 */
+		default int[][] tx(QuickDrawScreen screen, float[][] vertices) {
+			return screen.tx(vertices);
+		}
+
 		void draw(Graphics2D gfx, int[][] points);
 	}
 
@@ -2625,11 +3069,47 @@ public class QuickDrawSwing implements QuickInterpretation {
 	}
 
 	static class QuickDrawFlexLine<T> extends QuickDrawLinearShape<QuickFlexLine<T>> implements VertexedShape {
+		private final ObservableCollection<T> thePoints;
 		private final Observable<?> theUpdate;
+		private volatile DecimatedLine<T> theDecimated;
+		private volatile boolean isEvaluating;
+
+		// Vertex cache, guarded by this. Expressions are never evaluated while holding the lock.
+		/** Mirror of the point collection */
+		private final List<T> theValues;
+		/** Indexes of vertices that need to be re-evaluated */
+		private final BitSet theStale;
+		/** Incremented whenever the points or the stale set change */
+		private long theModCount;
+		/** The cached vertices, which are never modified once published */
+		private float[][] theVertices;
+		private List<T> theValueSnapshot;
+		/** The point values corresponding to the vertices most recently returned from {@link #getVertices()} */
+		private List<T> theVertexValues;
+		private int[][] theScreenPoints;
 
 		public QuickDrawFlexLine(QuickFlexLine<T> shape) {
 			super(shape);
-			theUpdate = Observable.onRootFinish(Observable.or(shape.getStyle().changes(), shape.getPoints().simpleChanges()));
+			thePoints = shape.getPoints();
+			theValues = new ArrayList<>();
+			theStale = new BitSet();
+			// Changes caused by setting the active point as we draw or hit-test don't affect the vertices,
+			// but changes to anything else the point-x/y expressions depend on do
+			Observable<?> positionChanges = Observable.or(shape.getPointX().noInitChanges(), shape.getPointY().noInitChanges())//
+				.filter(__ -> !isEvaluating);
+			theUpdate = Observable.onRootFinish(Observable.or(shape.getStyle().changes(), thePoints.simpleChanges(), positionChanges));
+			Subscription pointSub = thePoints.subscribe(evt -> pointChanged(evt.getType(), evt.getIndex(), evt.getNewValue()), true);
+			shape.onDestroy().take(1).act(__ -> pointSub.unsubscribe());
+			Observable.or(shape.getStyle().changes(), super.update(), positionChanges)//
+			.filter(__ -> !isEvaluating)//
+			.takeUntil(shape.onDestroy())//
+			.act(__ -> invalidateVertices());
+			if (shape.getDecimation() != QuickFlexLine.Decimation.None) {
+				Observable.or(theUpdate, super.update())//
+				.filter(__ -> !isEvaluating)//
+				.takeUntil(shape.onDestroy())//
+				.act(__ -> theDecimated = null);
+			}
 		}
 
 		@Override
@@ -2637,26 +3117,123 @@ public class QuickDrawSwing implements QuickInterpretation {
 			return theUpdate;
 		}
 
+		private synchronized void pointChanged(CollectionChangeType type, int index, T value) {
+			// Only the changed vertices are re-evaluated, unless the change shifts the index of subsequent points
+			switch (type) {
+			case add:
+				theValues.add(index, value);
+				theStale.set(index, theValues.size());
+				break;
+			case remove:
+				theValues.remove(index);
+				theStale.set(index, theValues.size());
+				theStale.clear(theValues.size());
+				break;
+			case set:
+				theValues.set(index, value);
+				theStale.set(index);
+				break;
+			}
+			theValueSnapshot = null;
+			theModCount++;
+		}
+
+		private synchronized void invalidateVertices() {
+			theStale.set(0, theValues.size());
+			theModCount++;
+		}
+
 		@Override
 		public float[][] getVertices() {
+			// Evaluating the point expressions may need locks held by a thread modifying the points, which will be waiting on this
+			// So just copy the state here, then evaluate without the lock
+			List<T> values;
+			BitSet stale;
+			float[][] vertices;
+			long modCount;
+			synchronized (this) {
+				if (theValueSnapshot == null)
+					theValueSnapshot = Collections.unmodifiableList(new ArrayList<>(theValues));
+				values = theValueSnapshot;
+				int size = values.size();
+				if (theVertices != null && theVertices[0].length == size && theStale.isEmpty()) {
+					theVertexValues = values;
+					return theVertices;
+				}
+				stale = (BitSet) theStale.clone();
+				modCount = theModCount;
+				if (theVertices == null)
+					vertices = new float[2][size];
+				else // The vertices before the first changed index are still valid
+					vertices = new float[][] { Arrays.copyOf(theVertices[0], size), Arrays.copyOf(theVertices[1], size) };
+			}
 			QuickFlexLine<T> line = getShape();
-			List<T> points = line.getPoints();
-			float[][] vertices = new float[2][points.size()];
-			int v = 0;
-			for (T point : points) {
-				line.getActivePointAs().set(point);
-				line.getPointIndexAs().set(v);
-				vertices[0][v] = line.getPointX().get().floatValue();
-				vertices[1][v] = line.getPointY().get().floatValue();
-				v++;
+			boolean preEvaluating = isEvaluating;
+			isEvaluating = true;
+			try {
+				for (int v = stale.nextSetBit(0); v >= 0 && v < values.size(); v = stale.nextSetBit(v + 1)) {
+					line.getActivePointAs().set(values.get(v));
+					line.getPointIndexAs().set(v);
+					vertices[0][v] = line.getPointX().get().floatValue();
+					vertices[1][v] = line.getPointY().get().floatValue();
+				}
+			} finally {
+				isEvaluating = preEvaluating;
+			}
+			synchronized (this) {
+				// If the points changed while we were evaluating, the stale set reflects that and the next call will catch up
+				if (theModCount == modCount) {
+					theVertices = vertices;
+					theStale.clear();
+				}
 			}
+			theVertexValues = values;
 			return vertices;
 		}
 
+		@Override
+		public int[][] tx(QuickDrawScreen screen, float[][] vertices) {
+			theScreenPoints = screen.tx(vertices, theScreenPoints);
+			return theScreenPoints;
+		}
+
 		@Override
 		public void draw(QuickDrawScreen screen) {
-			if (isVisible())
-				VertexedShape.super.draw(screen);
+			if (!isVisible())
+				return;
+			isEvaluating = true;
+			try {
+				if (getShape().getDecimation() == QuickFlexLine.Decimation.None)
+					VertexedShape.super.draw(screen);
+				else
+					drawDecimated(screen);
+			} finally {
+				isEvaluating = false;
+			}
+		}
+
+		private void drawDecimated(QuickDrawScreen screen) {
+			DecimatedLine<T> decimated = theDecimated;
+			float x0 = screen.transformX(0), x1 = screen.transformX(1), y0 = screen.transformY(0), y1 = screen.transformY(1);
+			if (decimated == null || !decimated.isFor(x0, x1, y0, y1)) {
+				int[][] screenPoints = tx(screen, getVertices());
+				int[] kept = LineDecimation.minMaxPerColumn(screenPoints[0], screenPoints[1]);
+				decimated = new DecimatedLine<>(x0, x1, y0, y1, theVertexValues, kept, screenPoints);
+				theDecimated = decimated;
+			}
+
+			String debugPrint = getDebugPrint();
+			if (debugPrint != null)
+				reporting().info(debugPrint + ": Drawing " + decimated.indexes.length + " of " + decimated.totalPoints + " points");
+
+			QuickFlexLine<T> line = getShape();
+			Graphics2D gfx = screen.gfx();
+			int[][] points = decimated.points;
+			for (int i = 1; i < decimated.indexes.length; i++) {
+				line.getActivePointAs().set(decimated.values.get(i));
+				line.getPointIndexAs().set(decimated.indexes[i]);
+				renderSegment(line, points[0][i - 1], points[1][i - 1], points[0][i], points[1][i], gfx);
+			}
 		}
 
 		@Override
@@ -2676,7 +3253,7 @@ public class QuickDrawSwing implements QuickInterpretation {
 			QuickFlexLine<T> line = getShape();
 			int prevX = 0, prevY = 0;
 			int index = 0;
-			for (T point : line.getPoints()) {
+			for (T point : theVertexValues) {
 				int x = points[0][index];
 				int y = points[1][index];
 				if (index > 0) {
@@ -2747,17 +3324,26 @@ public class QuickDrawSwing implements QuickInterpretation {
 		public Point2D.Float hit(Point2D.Float containerPoint) {
 			if (!isVisible())
 				return null;
+			isEvaluating = true;
+			try {
+				return doHit(containerPoint);
+			} finally {
+				isEvaluating = false;
+			}
+		}
 
+		private Point2D.Float doHit(Point2D.Float containerPoint) {
 			// Don't query the style info now, as it may vary by point, or even along each segment
 
 			QuickFlexLine<T> line = getShape();
+			float[][] vertices = getVertices();
 			double prevX = Double.NaN, prevY = Double.NaN;
 			int index = 0;
-			for (T point : line.getPoints()) {
+			for (T point : theVertexValues) {
 				line.getActivePointAs().set(point);
 				line.getPointIndexAs().set(index);
-				double x = line.getPointX().get();
-				double y = line.getPointY().get();
+				double x = vertices[0][index];
+				double y = vertices[1][index];
 				if (!Double.isNaN(prevX) && !Double.isNaN(prevY) && !Double.isNaN(x) && !Double.isNaN(y)) {
 					double dx, dy, d;
 					if (line.isDistanceNeeded() || line.isThicknessDynamic()) {
@@ -2809,6 +3395,138 @@ public class QuickDrawSwing implements QuickInterpretation {
 			}
 			return null;
 		}
+
+		/** The decimated points of a flex line, valid for a particular scale and position on screen */
+		static class DecimatedLine<T> {
+			private final float theX0;
+			private final float theX1;
+			private final float theY0;
+			private final float theY1;
+			final int totalPoints;
+			/** The point values that are rendered */
+			final List<T> values;
+			/** The index in the full point list of each rendered point */
+			final int[] indexes;
+			/** The screen coordinates of each rendered point */
+			final int[][] points;
+
+			DecimatedLine(float x0, float x1, float y0, float y1, List<T> allValues, int[] kept, int[][] allPoints) {
+				theX0 = x0;
+				theX1 = x1;
+				theY0 = y0;
+				theY1 = y1;
+				totalPoints = allValues.size();
+				indexes = kept;
+				values = new ArrayList<>(kept.length);
+				points = new int[2][kept.length];
+				for (int i = 0; i < kept.length; i++) {
+					values.add(allValues.get(kept[i]));
+					points[0][i] = allPoints[0][kept[i]];
+					points[1][i] = allPoints[1][kept[i]];
+				}
+			}
+
+			boolean isFor(float x0, float x1, float y0, float y1) {
+				return theX0 == x0 && theX1 == x1 && theY0 == y0 && theY1 == y1;
+			}
+		}
+	}
+
+	static class InterpretedSeriesLine implements InterpretedQuickShapePublisher<QuickSeriesLine> {
+		InterpretedSeriesLine(QuickSeriesLine.Interpreted line, Transformer<ExpressoInterpretationException> tx)
+			throws ExpressoInterpretationException {
+		}
+
+		@Override
+		public QuickDrawShapePublisher interpret(QuickSeriesLine element) throws ModelInstantiationException {
+			return new QuickDrawSeriesLine(element);
+		}
+	}
+
+	static class QuickDrawSeriesLine extends AbstractLine<QuickSeriesLine> {
+		private static final float[][] NO_VERTICES = new float[2][0];
+
+		private final SettableValue<SampleSeries> theSeries;
+		private final Observable<?> theUpdate;
+		/** A copy of the series' samples, updated with only the samples appended since the last paint */
+		private SampleSeries.Mirror theMirror;
+		private float[][] theVertices;
+		private int[][] theScreenPoints;
+
+		QuickDrawSeriesLine(QuickSeriesLine shape) {
+			super(shape);
+			theSeries = shape.getSeries();
+			theUpdate = Observable.or(super.update(), theSeries.noInitChanges(),
+				ObservableValue.flattenObservableValue(theSeries.map(series -> series == null ? null : series.changes())));
+		}
+
+		@Override
+		public Observable<?> update() {
+			return theUpdate;
+		}
+
+		private SampleSeries.Mirror getMirror() {
+			SampleSeries series = theSeries.get();
+			if (series == null)
+				return null;
+			if (theMirror == null || theMirror.getCapacity() != series.getCapacity())
+				theMirror = new SampleSeries.Mirror(series.getCapacity());
+			if (theMirror.update(series))
+				theVertices = null;
+			return theMirror;
+		}
+
+		@Override
+		public void draw(QuickDrawScreen screen) {
+			if (!isVisible())
+				return;
+			SampleSeries.Mirror mirror = getMirror();
+			if (mirror == null)
+				return;
+			// Samples are transformed in double precision, since x-coordinates are typically timestamps too large for a float
+			int size = mirror.size();
+			if (theScreenPoints == null || theScreenPoints[0].length != size)
+				theScreenPoints = new int[2][size];
+			for (int i = 0; i < size; i++) {
+				theScreenPoints[0][i] = (int) screen.transformX(mirror.getX(i));
+				theScreenPoints[1][i] = (int) screen.transformY(mirror.getY(i));
+			}
+			String debugPrint = getDebugPrint();
+			if (debugPrint != null)
+				reporting().info(debugPrint + ": Drawing " + size + " samples");
+			draw(screen.gfx(), theScreenPoints);
+		}
+
+		/** Only used for hit testing, where float precision is sufficient */
+		@Override
+		public float[][] getVertices() {
+			SampleSeries.Mirror mirror = getMirror();
+			if (mirror == null)
+				return NO_VERTICES;
+			if (theVertices == null) {
+				theVertices = new float[2][mirror.size()];
+				for (int i = 0; i < theVertices[0].length; i++) {
+					theVertices[0][i] = (float) mirror.getX(i);
+					theVertices[1][i] = (float) mirror.getY(i);
+				}
+			}
+			return theVertices;
+		}
+
+		@Override
+		public void draw(Graphics2D gfx, int[][] points) {
+			// A series typically has many more samples than pixels
+			int[] kept = LineDecimation.minMaxPerColumn(points[0], points[1]);
+			if (kept.length < points[0].length) {
+				int[][] decimated = new int[2][kept.length];
+				for (int i = 0; i < kept.length; i++) {
+					decimated[0][i] = points[0][kept[i]];
+					decimated[1][i] = points[1][kept[i]];
+				}
+				points = decimated;
+			}
+			super.draw(gfx, points);
+		}
 	}
 
 	static class InterpretedShapeView extends InterpretedShapeContainer implements InterpretedQuickShapePublisher<QuickShapeView> {
@@ -3527,6 +4245,10 @@ public class QuickDrawSwing implements QuickInterpretation {
 		private final ObservableValue<Double> theThickness;
 		private final ObservableValue<StrokeDashing> theDashing;
 
+		private boolean isRendering;
+		private volatile SectionSize theSectionSize;
+		private volatile AxisLayer theLayer;
+
 		QuickDrawChartAxis(ChartAxis<T> axis, QuickDrawSwingText label, QuickChartLine<QuickChart.TickLine> tickLine) {
 			theAxis = axis;
 			theLabel = label;
@@ -3536,6 +4258,22 @@ public class QuickDrawSwing implements QuickInterpretation {
 			theOpacity = axis.getStyle().getOpacity();
 			theThickness = axis.getStyle().getThickness();
 			theDashing = axis.getStyle().getStrokeDash();
+
+			List<Observable<?>> changes = new ArrayList<>(4);
+			changes.add(axis.getStyle().changes());
+			changes.add(axis.isVisible().noInitChanges());
+			if (label != null)
+				changes.add(label.update());
+			if (tickLine != null)
+				changes.add(tickLine.update());
+			// Changes caused by setting the tick value and index as we render don't affect the cached layer
+			Observable.or(changes.toArray(new Observable[changes.size()]))//
+			.filter(__ -> !isRendering)//
+			.takeUntil(axis.onDestroy())//
+			.act(__ -> {
+				theSectionSize = null;
+				theLayer = null;
+			});
 		}
 
 		public QuickChart.ChartAxis<T> getAxis() {
@@ -3585,28 +4323,113 @@ public class QuickDrawSwing implements QuickInterpretation {
 			}
 		}
 
+		/** @return The axis's range followed by all its ticks, which determine the layout of the label section */
+		private double[] getTickKey() {
+			T min = theAxis.getMin().get();
+			T max = theAxis.getMax().get();
+			if (min == null || max == null)
+				return new double[0];
+			double[] key = new double[8];
+			key[0] = min.doubleValue();
+			key[1] = max.doubleValue();
+			int size = 2;
+			for (Double tick : theAxis.getScheme().getTicks(min.doubleValue(), max.doubleValue())) {
+				if (size == key.length)
+					key = Arrays.copyOf(key, size * 2);
+				key[size++] = tick;
+			}
+			return Arrays.copyOf(key, size);
+		}
+
 		float getLabelSectionSize(QuickDrawScreen screen, boolean vertical) {
 			if (!theAxis.isVisible().get())
 				return 0.0f;
-			float[] maxSize = new float[1];
-			forEachTick((i, t, p) -> {
-				float tickSize = 1 + (float) getThickness();
-				if (theTickLine != null)
-					tickSize += theTickLine.getShape().getLength().get();
-				if (theLabel != null) {
-					Rectangle2D.Float labelBounds = theLabel.getRotatedBounds(screen);
-					if (labelBounds != null)
-						tickSize += vertical ? labelBounds.width : labelBounds.height;
-				}
-				if (tickSize > maxSize[0])
-					maxSize[0] = tickSize;
-			});
-			return maxSize[0];
+			return getSectionSize(screen, vertical, getTickKey()).size;
+		}
+
+		private SectionSize getSectionSize(QuickDrawScreen screen, boolean vertical, double[] tickKey) {
+			SectionSize sectionSize = theSectionSize;
+			if (sectionSize != null && sectionSize.isFor(tickKey, vertical))
+				return sectionSize;
+			float[] maxSize = new float[2];
+			isRendering = true;
+			try {
+				forEachTick((i, t, p) -> {
+					float tickSize = 1 + (float) getThickness();
+					if (theTickLine != null)
+						tickSize += theTickLine.getShape().getLength().get();
+					if (theLabel != null) {
+						Rectangle2D.Float labelBounds = theLabel.getRotatedBounds(screen);
+						if (labelBounds != null) {
+							tickSize += vertical ? labelBounds.width : labelBounds.height;
+							maxSize[1] = Math.max(maxSize[1], Math.max(labelBounds.width, labelBounds.height));
+						}
+					}
+					if (tickSize > maxSize[0])
+						maxSize[0] = tickSize;
+				});
+			} finally {
+				isRendering = false;
+			}
+			sectionSize = new SectionSize(tickKey, vertical, maxSize[0], maxSize[1]);
+			theSectionSize = sectionSize;
+			return sectionSize;
 		}
 
 		void drawLabelSection(QuickDrawScreen screen, Rectangle2D.Float bounds, boolean vertical, boolean leading) {
 			if (!theAxis.isVisible().get())
 				return;
+			// The layer can only be re-used if it will be drawn pixel-for-pixel as it was rendered
+			if (!(screen instanceof QuickDrawScreen.SimpleScreen)
+				|| (screen.gfx().getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+				isRendering = true;
+				try {
+					renderLabelSection(screen, bounds, vertical, leading);
+				} finally {
+					isRendering = false;
+				}
+				return;
+			}
+			double[] tickKey = getTickKey();
+			AxisLayer layer = theLayer;
+			if (layer == null || !layer.isFor(tickKey, bounds, vertical, leading, screen.getWidth(), screen.getHeight())) {
+				layer = renderLayer(screen, tickKey, bounds, vertical, leading);
+				theLayer = layer;
+			}
+			if (layer.image != null)
+				screen.gfx().drawImage(layer.image, layer.x, layer.y, null);
+		}
+
+		private AxisLayer renderLayer(QuickDrawScreen screen, double[] tickKey, Rectangle2D.Float bounds, boolean vertical,
+			boolean leading) {
+			// Labels and the axis line may extend beyond the label section
+			float pad = getSectionSize(screen, vertical, tickKey).maxLabelSize + (float) getThickness() + 2;
+			int x0 = Math.max(0, (int) Math.floor(bounds.x - pad));
+			int y0 = Math.max(0, (int) Math.floor(bounds.y - pad));
+			int x1 = Math.min((int) Math.ceil(screen.getWidth()), (int) Math.ceil(bounds.x + bounds.width + pad));
+			int y1 = Math.min((int) Math.ceil(screen.getHeight()), (int) Math.ceil(bounds.y + bounds.height + pad));
+			BufferedImage image;
+			if (x1 <= x0 || y1 <= y0)
+				image = null;
+			else {
+				image = new BufferedImage(x1 - x0, y1 - y0, BufferedImage.TYPE_INT_ARGB);
+				Graphics2D layerGfx = image.createGraphics();
+				isRendering = true;
+				try {
+					layerGfx.setRenderingHints(screen.gfx().getRenderingHints());
+					layerGfx.setFont(screen.gfx().getFont());
+					layerGfx.translate(-x0, -y0);
+					renderLabelSection(new QuickDrawScreen.SimpleScreen(layerGfx, screen.getWidth(), screen.getHeight(), Transaction.NONE),
+						bounds, vertical, leading);
+				} finally {
+					isRendering = false;
+					layerGfx.dispose();
+				}
+			}
+			return new AxisLayer(tickKey, bounds, vertical, leading, screen.getWidth(), screen.getHeight(), image, x0, y0);
+		}
+
+		private void renderLabelSection(QuickDrawScreen screen, Rectangle2D.Float bounds, boolean vertical, boolean leading) {
 			float thickness = (float) getThickness();
 			float halfThickness = thickness / 2;
 			int[][] axisLine = new int[2][2];
@@ -3717,6 +4540,58 @@ public class QuickDrawSwing implements QuickInterpretation {
 			return null;
 		}
 
+		/** The cached size of an axis's label section */
+		static class SectionSize {
+			private final double[] theTickKey;
+			private final boolean isVertical;
+			final float size;
+			/** The largest dimension of any of the axis's tick labels */
+			final float maxLabelSize;
+
+			SectionSize(double[] tickKey, boolean vertical, float size, float maxLabelSize) {
+				theTickKey = tickKey;
+				isVertical = vertical;
+				this.size = size;
+				this.maxLabelSize = maxLabelSize;
+			}
+
+			boolean isFor(double[] tickKey, boolean vertical) {
+				return isVertical == vertical && Arrays.equals(theTickKey, tickKey);
+			}
+		}
+
+		/** A cached rendering of an axis's label section */
+		static class AxisLayer {
+			private final double[] theTickKey;
+			private final Rectangle2D.Float theBounds;
+			private final boolean isVertical;
+			private final boolean isLeading;
+			private final float theScreenWidth;
+			private final float theScreenHeight;
+			final BufferedImage image;
+			final int x;
+			final int y;
+
+			AxisLayer(double[] tickKey, Rectangle2D.Float bounds, boolean vertical, boolean leading, float screenWidth,
+				float screenHeight, BufferedImage image, int x, int y) {
+				theTickKey = tickKey;
+				theBounds = new Rectangle2D.Float(bounds.x, bounds.y, bounds.width, bounds.height);
+				isVertical = vertical;
+				isLeading = leading;
+				theScreenWidth = screenWidth;
+				theScreenHeight = screenHeight;
+				this.image = image;
+				this.x = x;
+				this.y = y;
+			}
+
+			boolean isFor(double[] tickKey, Rectangle2D.Float bounds, boolean vertical, boolean leading, float screenWidth,
+				float screenHeight) {
+				return isVertical == vertical && isLeading == leading && theScreenWidth == screenWidth && theScreenHeight == screenHeight
+					&& theBounds.equals(bounds) && Arrays.equals(theTickKey, tickKey);
+			}
+		}
+
 		QuickShapeInterpretation mouseEntered(MouseEvent e, Point2D.Float point) {
 			if (!theAxis.isVisible().get())
 				return null;
@@ -3888,11 +4763,66 @@ public class QuickDrawSwing implements QuickInterpretation {
 	}
 
 	static class QuickDrawGradientPlot extends QuickDrawRectangle<QuickGradientPlot> {
+		/** The number of entries in the color lookup table used when the plot's color depends only on the pixel value */
+		static final int COLOR_TABLE_SIZE = 4096;
+		/** The number of pixels above which a plot's pixels will be colored on multiple cores */
+		static final int PARALLEL_COLORIZE_THRESHOLD = 1 << 16;
+		/** The number of pixels above which a plot's values will be evaluated in tiles on multiple cores, in the background */
+		static final int PARALLEL_RENDER_THRESHOLD = 1 << 16;
+		/** The number of rows of pixels in each tile evaluated in the background */
+		static final int TILE_ROWS = 16;
+
 		private final Observable<?> theUpdate;
+		/** Fires from worker threads when a tile of the plot is finished */
+		private final SimpleObservable<Void> theTileUpdates;
+		/** The sorted X values, or null if they need to be re-sorted */
+		private volatile float[] theSortedXs;
+		/** The sorted Y values, or null if they need to be re-sorted */
+		private volatile float[] theSortedYs;
+		private BufferedImage theImage;
+		private float[] thePixelValues;
+
+		// Background rendering state, accessed only on the EDT, except as noted in PlotJob
+		/** Incremented whenever anything affecting the plot's pixels changes */
+		private volatile long theRenderStamp;
+		private boolean isRendering;
+		/** Copies of the plot that evaluate values for each worker thread */
+		private final List<QuickGradientPlot> theWorkers;
+		private PlotJob theJob;
+		/** The most recently completed job, whose image is in {@link #theImage} */
+		private PlotJob theCompleted;
+		/** The image replaced by the most recently completed job, to be re-used by the next job */
+		private BufferedImage theSpareImage;
+		/** Set if the plot could not be rendered in the background, in which case it is rendered on the EDT */
+		private volatile boolean isWorkerFailed;
 
 		public QuickDrawGradientPlot(QuickGradientPlot rectangle, List<QuickDrawShapePublisher> contents) {
 			super(rectangle, contents);
-			theUpdate = Observable.or(super.update(), Observable.onRootFinish(rectangle.getChanges()));
+			theTileUpdates = new SimpleObservable<>();
+			theWorkers = new ArrayList<>();
+			theUpdate = Observable.or(super.update(), Observable.onRootFinish(rectangle.getChanges()), theTileUpdates);
+			rectangle.getChanges().takeUntil(rectangle.onDestroy()).act(__ -> {
+				theSortedXs = null;
+				theSortedYs = null;
+			});
+			// Changes caused by our own rendering on the EDT don't count
+			Observable.or(super.update(), rectangle.getRenderChanges())//
+			.filter(__ -> !isRendering)//
+			.takeUntil(rectangle.onDestroy())//
+			.act(__ -> theRenderStamp++);
+			// The worker plots are copies of the plot as it was instantiated, so they must be re-created when it changes
+			rectangle.getInstanceChanges().takeUntil(rectangle.onDestroy()).act(__ -> ThreadConstraint.EDT.invoke(() -> {
+				theSortedXs = null;
+				theSortedYs = null;
+				theRenderStamp++;
+				releaseWorkers();
+			}));
+			rectangle.onDestroy().take(1).act(__ -> ThreadConstraint.EDT.invoke(this::releaseWorkers));
+		}
+
+		@Override
+		public Observable<?> update() {
+			return theUpdate;
 		}
 
 		@Override
@@ -3901,22 +4831,271 @@ public class QuickDrawSwing implements QuickInterpretation {
 			if (!isVisible() || bounds.width <= 0 || bounds.height <= 0)
 				return;
 
-			BufferedImage image;
-			try (GradientPlotRenderer renderer = new GradientPlotRenderer(getShape(), screen, bounds)) {
-				if (renderer.isEmpty())
+			float[] xs = theSortedXs, ys = theSortedYs;
+			if (xs == null || ys == null) {
+				xs = sort(getShape().getXs());
+				ys = sort(getShape().getYs());
+				theSortedXs = xs;
+				theSortedYs = ys;
+			}
+			if (xs.length == 0 || ys.length == 0)
+				return;
+
+			if (bounds.width * bounds.height >= PARALLEL_RENDER_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1
+				&& !isWorkerFailed) {
+				drawInBackground(screen, bounds, xs, ys);
+				return;
+			}
+			if (theJob != null)
+				theJob.canceled = true;
+			theCompleted = null;
+			theSpareImage = null;
+
+			BufferedImage image = theImage;
+			if (image == null || image.getWidth() != bounds.width || image.getHeight() != bounds.height) {
+				image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+				theImage = image;
+				thePixelValues = null;
+			}
+			// Every pixel is written, so there's no need to clear the image
+			int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+			isRendering = true;
+			try (GradientPlotRenderer renderer = new GradientPlotRenderer(getShape(), xs, ys, screen, bounds)) {
+				if (renderer.isColorValueOnly() && pixels.length > COLOR_TABLE_SIZE) {
+					if (thePixelValues == null)
+						thePixelValues = new float[pixels.length];
+					renderer.draw(image.getWidth(), image.getHeight(), thePixelValues);
+					renderer.colorize(thePixelValues, pixels);
+				} else
+					renderer.draw(image.getWidth(), image.getHeight(), pixels);
+			} finally {
+				isRendering = false;
+			}
+			screen.gfx().drawImage(image, bounds.x, bounds.y, null);
+		}
+
+		/**
+		 * Draws the plot from tiles whose values are evaluated on multiple cores in the background. Until a new rendering is complete,
+		 * the previous image is drawn, overlaid with the new tiles that are finished.
+		 */
+		private void drawInBackground(QuickDrawScreen screen, Rectangle bounds, float[] xs, float[] ys) {
+			float[] xIndexes = GradientPlotRenderer.getIndexes(xs, bounds.x, bounds.width, screen::inverseTransformX);
+			float[] yIndexes = GradientPlotRenderer.getIndexes(ys, bounds.y, bounds.height, screen::inverseTransformY);
+			PlotJob job = theJob;
+			if (job != null && (job.canceled || !job.isFor(bounds, xIndexes, yIndexes, theRenderStamp))) {
+				job.canceled = true;
+				if (!job.isFinished())
+					job = null; // Its workers are still using the worker plots. We'll start the new job when it finishes.
+				else
+					job = theJob = null;
+			}
+			if (job == null && theJob == null
+				&& (theCompleted == null || !theCompleted.isFor(bounds, xIndexes, yIndexes, theRenderStamp))) {
+				job = startJob(bounds, xIndexes, yIndexes);
+				if (job == null) // Couldn't create the worker plots
 					return;
+			}
+			if (job != null && job.isFinished() && !job.canceled) {
+				if (job.values != null) {
+					isRendering = true;
+					try (GradientPlotRenderer renderer = new GradientPlotRenderer(getShape().getRenderer(), xIndexes, yIndexes)) {
+						renderer.colorize(job.values, job.pixels);
+					} finally {
+						isRendering = false;
+					}
+				}
+				theSpareImage = theCompleted == null ? null : theImage;
+				theImage = job.image;
+				theCompleted = job;
+				theJob = null;
+				job = null;
+			}
+
+			Graphics2D gfx = screen.gfx();
+			if (theImage != null && theCompleted != null)
+				gfx.drawImage(theImage, theCompleted.bounds.x, theCompleted.bounds.y, null);
+			if (job != null) { // Draw the tiles that are done
+				if (job.values != null)
+					colorizeDoneTiles(job);
+				for (int tile = 0; tile < job.tileCount; tile++) {
+					// Tiles of values are only ready to draw once they are colorized
+					if (job.values == null ? job.isTileDone(tile) : job.colorizedTiles[tile]) {
+						int startRow = tile * TILE_ROWS;
+						int rows = Math.min(TILE_ROWS, bounds.height - startRow);
+						gfx.drawImage(job.image.getSubimage(0, startRow, bounds.width, rows), bounds.x, bounds.y + startRow, null);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Colors the tiles of an unfinished job's values that have finished since the job was last drawn. The colors of each tile are
+		 * scaled to the tile's own range of values, since the range of the whole plot is not known until all tiles are done. They are
+		 * re-colored for the whole plot when the job finishes.
+		 */
+		private void colorizeDoneTiles(PlotJob job) {
+			boolean newTiles = false;
+			for (int tile = 0; tile < job.tileCount && !newTiles; tile++)
+				newTiles = !job.colorizedTiles[tile] && job.isTileDone(tile);
+			if (!newTiles)
+				return;
+			int width = job.bounds.width;
+			isRendering = true;
+			try (GradientPlotRenderer renderer = new GradientPlotRenderer(getShape().getRenderer(), job.xIndexes, job.yIndexes)) {
+				for (int tile = 0; tile < job.tileCount; tile++) {
+					if (!job.colorizedTiles[tile] && job.isTileDone(tile)) {
+						int startRow = tile * TILE_ROWS;
+						int endRow = Math.min(job.bounds.height, startRow + TILE_ROWS);
+						renderer.colorize(job.values, job.pixels, startRow * width, endRow * width);
+						job.colorizedTiles[tile] = true;
+					}
+				}
+			} finally {
+				isRendering = false;
+			}
+		}
 
-				image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_4BYTE_ABGR);
+		private PlotJob startJob(Rectangle bounds, float[] xIndexes, float[] yIndexes) {
+			int tileCount = (bounds.height + TILE_ROWS - 1) / TILE_ROWS;
+			int workerCount = Math.min(ForkJoinPool.getCommonPoolParallelism(), tileCount);
+			try {
+				// The worker plots must be created here on the EDT, but they are only used by one worker thread at a time
+				while (theWorkers.size() < workerCount)
+					theWorkers.add(getShape().createWorker());
+			} catch (ModelInstantiationException | RuntimeException e) {
+				getShape().reporting().error("Could not create worker plots to render in the background", e);
+				isWorkerFailed = true;
+				releaseWorkers();
+				return null;
+			}
+			BufferedImage image = theSpareImage;
+			theSpareImage = null;
+			// Every pixel is written, so there's no need to clear a re-used image
+			if (image == null || image.getWidth() != bounds.width || image.getHeight() != bounds.height)
+				image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+			boolean colorValueOnly;
+			isRendering = true;
+			try (QuickGradientPlot.Renderer renderer = getShape().getRenderer()) {
+				colorValueOnly = renderer.isColorValueOnly();
+			} finally {
+				isRendering = false;
+			}
+			PlotJob job = new PlotJob(new Rectangle(bounds), xIndexes, yIndexes, theRenderStamp, image, tileCount, workerCount,
+				colorValueOnly);
+			theJob = job;
+			for (int w = 0; w < workerCount; w++) {
+				QuickGradientPlot worker = theWorkers.get(w);
+				ForkJoinPool.commonPool().execute(() -> job.work(worker));
+			}
+			return job;
+		}
+
+		private void releaseWorkers() {
+			if (theJob != null)
+				theJob.canceled = true;
+			// If a job is still running, its workers will finish their current tiles on destroyed copies, which only wastes the work
+			for (QuickGradientPlot worker : theWorkers)
+				worker.destroy();
+			theWorkers.clear();
+		}
+
+		/** A background rendering of the plot */
+		private class PlotJob {
+			final Rectangle bounds;
+			final float[] xIndexes;
+			final float[] yIndexes;
+			final long stamp;
+			final BufferedImage image;
+			final int[] pixels;
+			/** The pixel values, to be colorized on the EDT when all tiles are done, or null if the workers render colors directly */
+			final float[] values;
+			final int tileCount;
+			/** Whether each tile of {@link #values} has been colored into the pixels for drawing before the job is finished (EDT only) */
+			final boolean[] colorizedTiles;
+			private final AtomicInteger theNextTile;
+			/** 1 for each tile that is done. Writing this after the tile's pixels makes them visible to the EDT. */
+			private final AtomicIntegerArray theTilesDone;
+			private final AtomicInteger theRunningWorkers;
+			volatile boolean canceled;
+
+			PlotJob(Rectangle bounds, float[] xIndexes, float[] yIndexes, long stamp, BufferedImage image, int tileCount, int workers,
+				boolean colorValueOnly) {
+				this.bounds = bounds;
+				this.xIndexes = xIndexes;
+				this.yIndexes = yIndexes;
+				this.stamp = stamp;
+				this.image = image;
+				pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+				values = colorValueOnly ? new float[pixels.length] : null;
+				this.tileCount = tileCount;
+				colorizedTiles = values == null ? null : new boolean[tileCount];
+				theNextTile = new AtomicInteger();
+				theTilesDone = new AtomicIntegerArray(tileCount);
+				theRunningWorkers = new AtomicInteger(workers);
+			}
 
-				renderer.draw(image);
+			boolean isFor(Rectangle newBounds, float[] newXIndexes, float[] newYIndexes, long newStamp) {
+				return stamp == newStamp && bounds.equals(newBounds) && Arrays.equals(xIndexes, newXIndexes)
+					&& Arrays.equals(yIndexes, newYIndexes);
 			}
-			screen.gfx().drawImage(image, bounds.x, bounds.y, null);
+
+			boolean isFinished() {
+				return theRunningWorkers.get() == 0;
+			}
+
+			boolean isTileDone(int tile) {
+				return theTilesDone.get(tile) != 0;
+			}
+
+			/**
+			 * Evaluates tiles on a worker thread until there are none left
+			 *
+			 * @param worker The worker plot to evaluate the values with, used only by this thread for the duration of this call
+			 */
+			void work(QuickGradientPlot worker) {
+				try (GradientPlotRenderer renderer = new GradientPlotRenderer(worker.getRenderer(), xIndexes, yIndexes)) {
+					int width = bounds.width;
+					PixelAcceptor acceptor;
+					if (values != null)
+						acceptor = (pixel, pixelValue) -> values[pixel] = pixelValue;
+					else
+						acceptor = (pixel, pixelValue) -> pixels[pixel] = renderer.getRGB(pixelValue);
+					for (int tile = theNextTile.getAndIncrement(); tile < tileCount && !canceled; tile = theNextTile.getAndIncrement()) {
+						int startRow = tile * TILE_ROWS;
+						renderer.draw(width, startRow, Math.min(bounds.height, startRow + TILE_ROWS), acceptor);
+						theTilesDone.set(tile, 1);
+						theTileUpdates.onNext(null);
+					}
+				} catch (RuntimeException | Error e) {
+					canceled = true;
+					isWorkerFailed = true; // Render on the EDT from now on
+					getShape().reporting().error("Could not render plot in the background", e);
+				} finally {
+					if (theRunningWorkers.decrementAndGet() == 0)
+						theTileUpdates.onNext(null); // Done, or ready for the next job
+				}
+			}
+		}
+
+		private static float[] sort(List<Number> values) {
+			if (values == null)
+				return new float[0];
+			float[] sorted = new float[values.size()];
+			int i = 0;
+			for (Number value : values)
+				sorted[i++] = value.floatValue();
+			Arrays.sort(sorted);
+			return sorted;
 		}
 
 		interface FloatUnaryOperator {
 			float applyAsFloat(float arg);
 		}
 
+		interface PixelAcceptor {
+			void accept(int pixel, float pixelValue);
+		}
+
 		private static class GradientPlotRenderer implements Transaction {
 			private final QuickGradientPlot.Renderer theRenderer;
 			private final float[] theXIndexes;
@@ -3932,48 +5111,161 @@ public class QuickDrawSwing implements QuickInterpretation {
 			private boolean hasNextYNextX;
 			private float theNextYNextX;
 
-			GradientPlotRenderer(QuickGradientPlot plot, QuickDrawScreen screen, Rectangle bounds) {
-				List<Number> xList = plot.getXs(), yList = plot.getYs();
-				if (xList == null || xList.isEmpty() || yList == null || yList.isEmpty()) {
-					theRenderer = null;
-					theXIndexes = theYIndexes = thePrevYValues = null;
-					hasPrevYValues = null;
-					theDXIndex = theDYIndex = 0;
-					return;
-				}
-
-				// Convert to arrays and sort
-				float[] xs = new float[xList.size()];
-				float[] ys = new float[yList.size()];
-				int i = 0;
-				for (Number x : xList)
-					xs[i++] = x.floatValue();
-				Arrays.sort(xs);
-				i = 0;
-				for (Number y : yList)
-					ys[i++] = y.floatValue();
-				Arrays.sort(ys);
-
+			GradientPlotRenderer(QuickGradientPlot plot, float[] xs, float[] ys, QuickDrawScreen screen, Rectangle bounds) {
 				// For each X and Y pixel, find its position within the available X and Y values
-				theXIndexes = getIndexes(xs, bounds.x, bounds.width, screen::inverseTransformX);
-				theYIndexes = getIndexes(ys, bounds.y, bounds.height, screen::inverseTransformY);
+				this(plot.getRenderer(), getIndexes(xs, bounds.x, bounds.width, screen::inverseTransformX),
+					getIndexes(ys, bounds.y, bounds.height, screen::inverseTransformY));
+			}
+
+			/**
+			 * @param renderer The renderer to evaluate the plot's values and colors with
+			 * @param xIndexes The position of each X pixel boundary within the plot's X values
+			 * @param yIndexes The position of each Y pixel boundary within the plot's Y values
+			 */
+			GradientPlotRenderer(QuickGradientPlot.Renderer renderer, float[] xIndexes, float[] yIndexes) {
+				theXIndexes = xIndexes;
+				theYIndexes = yIndexes;
 				theDXIndex = theXIndexes[theXIndexes.length - 1] > theXIndexes[0] ? 1 : -1;
 				theDYIndex = theYIndexes[theYIndexes.length - 1] > theYIndexes[0] ? 1 : -1;
 
-				hasPrevYValues = new boolean[bounds.width];
-				thePrevYValues = new float[bounds.width];
-				theRenderer = plot.getRenderer();
+				hasPrevYValues = new boolean[xIndexes.length - 1];
+				thePrevYValues = new float[xIndexes.length - 1];
+				theRenderer = renderer;
 			}
 
-			boolean isEmpty() {
-				return theXIndexes == null;
+			boolean isColorValueOnly() {
+				return theRenderer.isColorValueOnly();
 			}
 
-			void draw(BufferedImage image) {
-				int width = image.getWidth();
-				int height = image.getHeight();
-				thePrevYIndex = (int) theYIndexes[0] - 1;
-				for (int pixY = 0; pixY < height; pixY++) {
+			/**
+			 * Renders the plot's colors
+			 *
+			 * @param width The width of the image
+			 * @param height The height of the image
+			 * @param pixels The ARGB pixel array of the image to populate
+			 */
+			void draw(int width, int height, int[] pixels) {
+				draw(width, height, (pixel, pixelValue) -> {
+					Color color = theRenderer.getColor(pixelValue);
+					pixels[pixel] = color == null ? 0 : color.getRGB();
+				});
+			}
+
+			/**
+			 * Renders the plot's values, to be {@link #colorize(float[], int[]) colorized} afterward
+			 *
+			 * @param width The width of the image
+			 * @param height The height of the image
+			 * @param values The array to populate with the value of each pixel
+			 */
+			void draw(int width, int height, float[] values) {
+				draw(width, height, (pixel, pixelValue) -> values[pixel] = pixelValue);
+			}
+
+			/**
+			 * <p>
+			 * Converts pixel values to colors using a lookup table sampled across the range of the values. This may only be used if the
+			 * renderer's color {@link #isColorValueOnly() depends only on the pixel value}.
+			 * </p>
+			 * <p>
+			 * The color expression is only evaluated here, on the rendering thread, to populate the table. Mapping the pixels through the
+			 * table involves no model values, so for large images it is done on multiple cores.
+			 * </p>
+			 *
+			 * @param values The value of each pixel
+			 * @param pixels The ARGB pixel array of the image to populate
+			 */
+			void colorize(float[] values, int[] pixels) {
+				colorize(values, pixels, 0, pixels.length);
+			}
+
+			/**
+			 * Colors a range of pixels from their values, scaling the colors to the range of the values in the range
+			 *
+			 * @param values The values of each pixel
+			 * @param pixels The pixels to color
+			 * @param from The first pixel to color
+			 * @param to The pixel after the last pixel to color
+			 */
+			void colorize(float[] values, int[] pixels, int from, int to) {
+				float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+				boolean hasNaN = false, hasPosInf = false, hasNegInf = false;
+				for (int p = from; p < to; p++) {
+					float value = values[p];
+					if (Float.isNaN(value))
+						hasNaN = true;
+					else if (value == Float.POSITIVE_INFINITY)
+						hasPosInf = true;
+					else if (value == Float.NEGATIVE_INFINITY)
+						hasNegInf = true;
+					else {
+						if (value < min)
+							min = value;
+						if (value > max)
+							max = value;
+					}
+				}
+				int nanRGB = hasNaN ? getRGB(Float.NaN) : 0;
+				int posInfRGB = hasPosInf ? getRGB(Float.POSITIVE_INFINITY) : 0;
+				int negInfRGB = hasNegInf ? getRGB(Float.NEGATIVE_INFINITY) : 0;
+				int[] table;
+				float scale;
+				if (min > max) { // No finite values
+					table = null;
+					scale = 0;
+				} else if (min == max) {
+					table = new int[] { getRGB(min) };
+					scale = 0;
+				} else {
+					table = new int[QuickDrawGradientPlot.COLOR_TABLE_SIZE];
+					for (int i = 0; i < table.length; i++)
+						table[i] = getRGB(min + (max - min) * i / (table.length - 1));
+					scale = (table.length - 1) / (max - min);
+				}
+				float tableMin = min;
+				IntUnaryOperator colorizer = p -> {
+					float value = values[p];
+					if (Float.isNaN(value))
+						return nanRGB;
+					else if (value == Float.POSITIVE_INFINITY)
+						return posInfRGB;
+					else if (value == Float.NEGATIVE_INFINITY)
+						return negInfRGB;
+					else
+						return table[Math.round((value - tableMin) * scale)];
+				};
+				if (from > 0 || to < pixels.length) {
+					for (int p = from; p < to; p++)
+						pixels[p] = colorizer.applyAsInt(p);
+				} else if (pixels.length >= QuickDrawGradientPlot.PARALLEL_COLORIZE_THRESHOLD)
+					Arrays.parallelSetAll(pixels, colorizer);
+				else
+					Arrays.setAll(pixels, colorizer);
+			}
+
+			private int getRGB(float value) {
+				Color color = theRenderer.getColor(value);
+				return color == null ? 0 : color.getRGB();
+			}
+
+			private void draw(int width, int height, PixelAcceptor pixels) {
+				draw(width, 0, height, pixels);
+			}
+
+			/**
+			 * Renders a band of rows of the plot. Values cached from one row for the next are discarded, so the result is the same as if
+			 * the whole plot were rendered at once.
+			 *
+			 * @param width The width of the image
+			 * @param startRow The first row to render
+			 * @param endRow The row after the last row to render
+			 * @param pixels Accepts the value for each pixel in the band
+			 */
+			void draw(int width, int startRow, int endRow, PixelAcceptor pixels) {
+				Arrays.fill(hasPrevYValues, false);
+				hasNextYPrevX = hasNextYNextX = false;
+				thePrevYIndex = startRow == 0 ? (int) theYIndexes[0] - 1 : (int) theYIndexes[startRow];
+				for (int pixY = startRow; pixY < endRow; pixY++) {
 					int yIndex = (int) theYIndexes[pixY + 1];
 					boolean interpolateY;// If no grid index occurs inside the Y pixel, interpolate.
 					if (theDYIndex > 0)
@@ -3983,13 +5275,9 @@ public class QuickDrawSwing implements QuickInterpretation {
 					}
 					int nextYIndex = yIndex + theDYIndex;
 					thePrevXIndex = (int) theXIndexes[0] - 1;
-					for (int pixX = 0; pixX < width; pixX++) {
-						float pixelValue = getPixelValue(pixY, yIndex, nextYIndex, interpolateY, pixX);
-						Color color = theRenderer.getColor(pixelValue);
-						if (color == null)
-							color = Colors.transparent;
-						image.setRGB(pixX, pixY, color.getRGB());
-					}
+					int rowStart = pixY * width;
+					for (int pixX = 0; pixX < width; pixX++)
+						pixels.accept(rowStart + pixX, getPixelValue(pixY, yIndex, nextYIndex, interpolateY, pixX));
 					thePrevYIndex = yIndex;
 				}
 			}
@@ -4183,8 +5471,7 @@ public class QuickDrawSwing implements QuickInterpretation {
 
 			@Override
 			public void close() {
-				if (theRenderer != null)
-					theRenderer.close();
+				theRenderer.close();
 			}
 		}
 	}
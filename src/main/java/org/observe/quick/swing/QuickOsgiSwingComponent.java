@@ -73,8 +73,10 @@ public abstract class QuickOsgiSwingComponent extends QuickOsgiComponent {
 			return;
 		}
 
+		// If the document was updated in place, the previous content is released after this, but we need to clear the panel now
+		thePanel.removeAll();
 		PanelPopulator<JPanel, ?> populator = PanelPopulation.populateHPanel(thePanel,
-			new JustifiedBoxLayout(false).mainJustified().crossJustified(), getUntil());
+			new JustifiedBoxLayout(false).mainJustified().crossJustified(), getInstanceUntil());
 		try {
 			((QuickSwingApplication) app).populate(doc, populator);
 		} catch (ModelInstantiationException e) {
@@ -88,6 +90,8 @@ public abstract class QuickOsgiSwingComponent extends QuickOsgiComponent {
 			((JustifiedBoxLayout) ((Container) panel.getComponent(0)).getLayout()).mainJustified().crossJustified();
 		}
 		installComponent(thePanel);
+		thePanel.revalidate();
+		thePanel.repaint();
 	}
 
 	/** @param component The swing component to display */
@@ -5,8 +5,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 import javax.swing.JFrame;
+import javax.swing.JPanel;
 
 import org.observe.Observable;
+import org.observe.SimpleObservable;
 import org.observe.expresso.ModelInstantiationException;
 import org.observe.expresso.qonfig.ExAddOn;
 import org.observe.quick.QuickApplication;
@@ -14,6 +16,7 @@ import org.observe.quick.QuickDocument;
 import org.observe.quick.QuickWidget;
 import org.observe.quick.swing.QuickSwingPopulator.WindowModifier;
 import org.observe.util.swing.JustifiedBoxLayout;
+import org.observe.util.swing.PanelPopulation;
 import org.observe.util.swing.PanelPopulation.PanelPopulator;
 import org.observe.util.swing.PanelPopulation.WindowBuilder;
 import org.observe.util.swing.WindowPopulation;
@@ -21,10 +24,17 @@ import org.qommons.ex.CheckedExceptionWrapper;
 
 /** A {@link QuickApplication} that creates a {@link JFrame} populated by Quick UI content */
 public class QuickSwingApplication implements QuickApplication {
+	/** The system property which, if <code>true</code>, makes this class populate its Swing components on the EDT */
+	public static final String POPULATE_ON_EDT_PROPERTY = "quick.swing.populateOnEDT";
+
 	private final QuickDocument.Interpreted theDocument;
 	private final QuickSwingPopulator<QuickWidget> theBody;
 	private Map<Class<? extends ExAddOn<?>>, QuickSwingPopulator.WindowModifier<?>> theModifiers;
 
+	private Observable<?> theUntil;
+	private JFrame theFrame;
+	private SimpleObservable<Void> theContentUntil;
+
 	/**
 	 * @param document The interpreted QuickDocument
 	 * @param body The swing populator for the UI body
@@ -42,32 +52,97 @@ public class QuickSwingApplication implements QuickApplication {
 		return theDocument;
 	}
 
+	/**
+	 * <p>
+	 * Runs the application in 2 phases:
+	 * <ol>
+	 * <li>The content of the window is populated on the calling thread. This creates all the Swing components, renderers and
+	 * subscriptions of the UI, but none of the components are realized yet, since they are not attached to any window.</li>
+	 * <li>On the EDT, the window is created, configured by its modifiers, given the populated content, and shown.</li>
+	 * </ol>
+	 * So the EDT is only blocked for the brief second phase. If this method is called on the EDT, or if the
+	 * {@value #POPULATE_ON_EDT_PROPERTY} system property is <code>true</code>, both phases run on the EDT.
+	 * </p>
+	 */
 	@Override
 	public void runApplication(QuickDocument doc, Observable<?> until) throws ModelInstantiationException {
-		try {
-			EventQueue.invokeAndWait(() -> {
-				WindowBuilder<?, ?> w = WindowPopulation.populateWindow(new JFrame(), until, true, true);
-				for (Map.Entry<Class<? extends ExAddOn<?>>, QuickSwingPopulator.WindowModifier<?>> modifier : theModifiers.entrySet()) {
-					ExAddOn<?> addOn = doc.getAddOn(modifier.getKey());
-					if (addOn != null) {
-						try {
-							((QuickSwingPopulator.WindowModifier<ExAddOn<?>>) modifier.getValue()).modifyWindow(w, addOn);
-						} catch (ModelInstantiationException e) {
-							throw new CheckedExceptionWrapper(e);
-						}
-					} else
-						doc.reporting()
-						.warn("Interpretation of window modifier " + modifier.getKey().getName() + " found, but add-on not found");
+		theUntil = until;
+		JPanel[] content = new JPanel[1];
+		SimpleObservable<Void> contentUntil = new SimpleObservable<>();
+		boolean populateHere = !EventQueue.isDispatchThread() && !Boolean.getBoolean(POPULATE_ON_EDT_PROPERTY);
+		if (populateHere)
+			content[0] = populateContent(doc, contentUntil);
+		onEDT(doc, () -> {
+			if (!populateHere) {
+				try {
+					content[0] = populateContent(doc, contentUntil);
+				} catch (ModelInstantiationException e) {
+					throw new CheckedExceptionWrapper(e);
 				}
-				w.withHContent(new JustifiedBoxLayout(true).mainJustified().crossJustified(), content -> {
+			}
+			JFrame frame = new JFrame();
+			WindowBuilder<?, ?> w = WindowPopulation.populateWindow(frame, until, true, true);
+			for (Map.Entry<Class<? extends ExAddOn<?>>, QuickSwingPopulator.WindowModifier<?>> modifier : theModifiers.entrySet()) {
+				ExAddOn<?> addOn = doc.getAddOn(modifier.getKey());
+				if (addOn != null) {
 					try {
-						populate(doc, content);
+						((QuickSwingPopulator.WindowModifier<ExAddOn<?>>) modifier.getValue()).modifyWindow(w, addOn);
 					} catch (ModelInstantiationException e) {
 						throw new CheckedExceptionWrapper(e);
 					}
-				});
-				w.run(null);
-			});
+				} else
+					doc.reporting()
+					.warn("Interpretation of window modifier " + modifier.getKey().getName() + " found, but add-on not found");
+			}
+			frame.setContentPane(content[0]);
+			theFrame = frame;
+			theContentUntil = contentUntil;
+			w.run(null);
+		});
+	}
+
+	/**
+	 * Rebuilds the content of the running application's window from the given document, without re-creating the window itself. This is a
+	 * full rebuild: every component is populated again from the document, which is expected to have been instantiated with new models.
+	 * As in {@link #runApplication(QuickDocument, Observable)}, the new content is populated on the calling thread, and only swapped into
+	 * the window on the EDT, after which the Swing components of the previous content are released.
+	 */
+	@Override
+	public void update(QuickDocument doc) throws ModelInstantiationException {
+		if (theFrame == null)
+			throw new IllegalStateException("Application is not running");
+		SimpleObservable<Void> contentUntil = new SimpleObservable<>();
+		JPanel content = populateContent(doc, contentUntil);
+		onEDT(doc, () -> {
+			SimpleObservable<Void> replacedUntil = theContentUntil;
+			theContentUntil = contentUntil;
+			theFrame.setContentPane(content);
+			theFrame.revalidate();
+			theFrame.repaint();
+			// Release the subscriptions of the previous content
+			if (replacedUntil != null)
+				replacedUntil.onNext(null);
+		});
+	}
+
+	private JPanel populateContent(QuickDocument doc, SimpleObservable<Void> contentUntil) throws ModelInstantiationException {
+		PanelPopulator<JPanel, ?> populator = PanelPopulation.populateHPanel(null,
+			new JustifiedBoxLayout(true).mainJustified().crossJustified(), Observable.or(theUntil, contentUntil));
+		try {
+			populate(doc, populator);
+		} catch (ModelInstantiationException | RuntimeException | Error e) {
+			contentUntil.onNext(null);
+			throw e;
+		}
+		return populator.getContainer();
+	}
+
+	private static void onEDT(QuickDocument doc, Runnable task) throws ModelInstantiationException {
+		try {
+			if (EventQueue.isDispatchThread())
+				task.run();
+			else
+				EventQueue.invokeAndWait(task);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 		} catch (InvocationTargetException e) {
@@ -82,11 +157,6 @@ public class QuickSwingApplication implements QuickApplication {
 		}
 	}
 
-	@Override
-	public void update(QuickDocument doc) throws ModelInstantiationException {
-		// TODO Auto-generated method stub
-	}
-
 	/**
 	 * @param doc The instantiated QuickDocument
 	 * @param populator The populator for the UI body
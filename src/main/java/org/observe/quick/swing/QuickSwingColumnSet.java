@@ -8,6 +8,8 @@ import java.util.function.Function;
 
 import org.observe.Observable;
 import org.observe.SettableValue;
+import org.observe.SimpleObservable;
+import org.observe.collect.CollectionChangeType;
 import org.observe.collect.ObservableCollection;
 import org.observe.expresso.ExpressoInterpretationException;
 import org.observe.expresso.ModelInstantiationException;
@@ -20,6 +22,7 @@ import org.observe.util.swing.PanelPopulation.ComponentEditor;
 import org.qommons.Subscription;
 import org.qommons.ThreadConstraint;
 import org.qommons.Transformer;
+import org.qommons.collect.ElementId;
 import org.qommons.ex.CheckedExceptionWrapper;
 import org.qommons.fn.TriConsumer;
 
@@ -183,6 +186,8 @@ public class QuickSwingColumnSet<R, R2> {
 						return null;
 					List<Observable<?>> refresh = new ArrayList<>();
 					refresh.add(column.getColumn().getName().noInitChanges());
+					// Materialization changes the column's rendering in place, without replacing the column
+					refresh.add(column.getColumn().getMaterializationChanges());
 					for (QuickWidget renderer : column.getColumn().getRenderers()) {
 						if (renderer.getRepaint() != null)
 							refresh.add(renderer.getRepaint());
@@ -195,12 +200,84 @@ public class QuickSwingColumnSet<R, R2> {
 				.filter(column -> column == null ? "Column failed to create" : null)//
 				.catchUpdates(ThreadConstraint.ANY)//
 				.collectActive(until);
+			// A column's rendering may change when it is updated, e.g. when one of its renderers requests a repaint
+			theSwingTableColumns.onChange(evt -> {
+				if (evt.getNewValue() != null && evt.getNewValue().getRenderCache() != null)
+					evt.getNewValue().getRenderCache().clear();
+			});
 			theRenderStrategies = theSwingTableColumns.flow()//
 				.<CategoryRenderStrategy<R2, ?>> map(column -> column.getCRS())//
 				.collect();
 			tableInitialized = true;
 		}
 
+		/**
+		 * Removes cached cell renderings for rows that change
+		 *
+		 * @param rows The rows of the table
+		 * @param until An observable that fires when the table is no longer needed
+		 */
+		public void watchRows(ObservableCollection<? extends R2> rows, Observable<?> until) {
+			Subscription sub = rows.onChange(evt -> {
+				if (evt.getType() == CollectionChangeType.add)
+					return;
+				for (InterpretedSwingTableColumn<R, R2, ?> column : theSwingTableColumns) {
+					if (column.getRenderCache() != null)
+						column.getRenderCache().invalidate(evt.getOldValue());
+				}
+			});
+			until.take(1).act(__ -> sub.unsubscribe());
+		}
+
+		/** @return An observable that fires when the columns or their rendering change */
+		public Observable<?> changes() {
+			return theSwingTableColumns.simpleChanges();
+		}
+
+		/**
+		 * @param until An observable that fires when the table is no longer needed
+		 * @return An observable that fires when the {@link #renderText(Object, int) rendered text} of rows may have changed, other than by
+		 *         changes to the rows themselves, i.e. when the columns change or when a model that their rendering depends on changes
+		 *         outside of rendering
+		 */
+		public Observable<?> textChanges(Observable<?> until) {
+			SimpleObservable<Void> renderChanges = new SimpleObservable<>();
+			Map<ElementId, Subscription> columnSubs = new HashMap<>();
+			Subscription sub = theSwingTableColumns.subscribe(evt -> {
+				Subscription old = evt.getType() == CollectionChangeType.add ? null : columnSubs.remove(evt.getElementId());
+				if (old != null)
+					old.unsubscribe();
+				if (evt.getType() != CollectionChangeType.remove && evt.getNewValue() != null)
+					columnSubs.put(evt.getElementId(), evt.getNewValue().watchRenderedText(() -> renderChanges.onNext(null)));
+			}, true);
+			until.take(1).act(__ -> {
+				sub.unsubscribe();
+				for (Subscription columnSub : columnSubs.values())
+					columnSub.unsubscribe();
+				columnSubs.clear();
+			});
+			return Observable.or(changes(), renderChanges);
+		}
+
+		/**
+		 * Renders the text of all of a row's columns, as they would be for filtering
+		 *
+		 * @param row The row to render
+		 * @param rowIndex The index of the row
+		 * @return The text of each of the row's columns, separated by line breaks
+		 */
+		public String renderText(R2 row, int rowIndex) {
+			StringBuilder str = new StringBuilder();
+			int c = 0;
+			for (InterpretedSwingTableColumn<R, R2, ?> column : theSwingTableColumns) {
+				if (c > 0)
+					str.append('\n');
+				str.append(column.renderText(row, rowIndex, c));
+				c++;
+			}
+			return str.toString();
+		}
+
 		/** @param table The table to populate with the Quick-sourced columns */
 		public void populate(PanelPopulation.AbstractTableBuilder<R2, ?, ?> table) {
 			theParentComponent = table;
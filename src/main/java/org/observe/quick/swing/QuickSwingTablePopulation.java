@@ -3,6 +3,7 @@ package org.observe.quick.swing;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Container;
+import java.awt.EventQueue;
 import java.awt.Insets;
 import java.awt.LayoutManager;
 import java.awt.event.KeyEvent;
@@ -92,6 +93,7 @@ import org.observe.util.swing.PanelPopulation.SimpleComponentEditor;
 import org.observe.util.swing.Shading;
 import org.qommons.Causable;
 import org.qommons.QommonsUtils;
+import org.qommons.Subscription;
 import org.qommons.Transaction;
 import org.qommons.Transformer;
 import org.qommons.collect.CollectionUtils;
@@ -104,6 +106,7 @@ class QuickSwingTablePopulation {
 	static class InterpretedSwingTableColumn<R, R2, C> {
 		private final QuickTableColumn<R, C> theColumn;
 		private final Function<R2, R> theReverse;
+		private final QuickSwingTableColumn<R, R2, C> theRenderer;
 		final CategoryRenderStrategy<R2, C> theCRS;
 
 		public InterpretedSwingTableColumn(QuickWidget quickParent, QuickTableColumn<R, C> column, boolean virtual,
@@ -116,6 +119,7 @@ class QuickSwingTablePopulation {
 			theReverse = reverse;
 			QuickSwingTableColumn<R, R2, C> renderer = new QuickSwingTableColumn<>(update, theReverse, quickParent, column, virtual,
 				context, parent, swingRenderers, swingEditors, until);
+			theRenderer = renderer;
 			theCRS = renderer.getCRS();
 			Integer width = column.getWidth();
 			if (column.getMinWidth() != null)
@@ -174,6 +178,35 @@ class QuickSwingTablePopulation {
 		public CategoryRenderStrategy<R2, C> getCRS() {
 			return theCRS;
 		}
+
+		String renderText(R2 row, int rowIndex, int columnIndex) {
+			return theRenderer.renderText(row, rowIndex, columnIndex);
+		}
+
+		/**
+		 * @param onChange Called when a model that this column's rendered text depends on changes, other than by rendering a cell
+		 * @return The subscription to stop listening
+		 */
+		Subscription watchRenderedText(Runnable onChange) {
+			List<Observable<?>> changes = new ArrayList<>();
+			changes.add(theColumn.getValue().noInitChanges());
+			for (QuickWidget renderer : theColumn.getRenderers()) {
+				changes.add(renderer.isVisible().noInitChanges());
+				if (renderer instanceof QuickValueWidget)
+					changes.add(((QuickValueWidget<?>) renderer).getValue().noInitChanges());
+				if (renderer instanceof QuickTextWidget)
+					changes.add(((QuickTextWidget<?>) renderer).getFormat().noInitChanges());
+			}
+			return Observable.or(changes.toArray(new Observable[changes.size()])).act(__ -> {
+				if (!QuickSwingRenderer.isSwitchingContext())
+					onChange.run();
+			});
+		}
+
+		/** @return The cache of this column's rendered cells, or null if its cells are not cached */
+		RenderCache getRenderCache() {
+			return theRenderer.getRenderCache();
+		}
 	}
 
 	static class QuickSwingRenderComponent<R, R2, C> {
@@ -266,6 +299,14 @@ class QuickSwingTablePopulation {
 		private boolean isUpdating;
 		private JLabel theDefaultRenderer;
 
+		/** The number of cell contexts being set on each thread, so that model changes caused by rendering can be told apart */
+		private static final ThreadLocal<int[]> SWITCHING_CONTEXT = ThreadLocal.withInitial(() -> new int[1]);
+
+		/** @return Whether a cell is being rendered on the current thread, in which case model changes are caused by the rendering */
+		static boolean isSwitchingContext() {
+			return SWITCHING_CONTEXT.get()[0] > 0;
+		}
+
 		QuickSwingRenderer(TriConsumer<R2, R, QuickWidget> update, Function<R2, R> reverse, QuickWidget quickParent, Supplier<C> value,
 			List<QuickWidget> renderers, TabularContext<R> ctx, Supplier<? extends ComponentEditor<?, ?>> parent,
 				Map<Object, QuickSwingPopulator<QuickWidget>> swingRenderers, boolean virtual) throws ModelInstantiationException {
@@ -337,25 +378,33 @@ class QuickSwingTablePopulation {
 
 		@Override
 		public String renderAsText(ModelCell<? extends R2, ? extends C> cell) {
-			setCellContext(cell, theRenderTableContext, false);
-			for (QuickSwingRenderComponent<R, R2, C> component : theRenderers) {
-				if (component.getRenderer().isVisible().get()) {
-					if (component.getRenderer() instanceof QuickTextWidget) {
-						component.preRender();
-						String text = ((QuickTextWidget<C>) component.getRenderer()).getCurrentText();
-						theRenderUntil.onNext(null);
-						return text;
-					} else
-						break;
+			int[] switching = SWITCHING_CONTEXT.get();
+			switching[0]++;
+			try {
+				setCellContext(cell, theRenderTableContext, false);
+				for (QuickSwingRenderComponent<R, R2, C> component : theRenderers) {
+					if (component.getRenderer().isVisible().get()) {
+						if (component.getRenderer() instanceof QuickTextWidget) {
+							component.preRender();
+							String text = ((QuickTextWidget<C>) component.getRenderer()).getCurrentText();
+							theRenderUntil.onNext(null);
+							return text;
+						} else
+							break;
+					}
 				}
+				C colValue = theValue.get();
+				return colValue == null ? "" : colValue.toString();
+			} finally {
+				switching[0]--;
 			}
-			C colValue = theValue.get();
-			return colValue == null ? "" : colValue.toString();
 		}
 
 		@Override
 		protected Component renderCell(Component parent, ModelCell<? extends R2, ? extends C> cell, CellRenderContext ctx) {
 			isUpdating = true;
+			int[] switching = SWITCHING_CONTEXT.get();
+			switching[0]++;
 			try {
 				setCellContext(cell, theRenderTableContext, true);
 				for (QuickSwingRenderComponent<R, R2, C> component : theRenderers) {
@@ -371,6 +420,7 @@ class QuickSwingTablePopulation {
 				return theDefaultRenderer;
 			} finally {
 				isUpdating = false;
+				switching[0]--;
 			}
 		}
 
@@ -393,6 +443,8 @@ class QuickSwingTablePopulation {
 		}
 
 		void setCellContext(ModelCell<? extends R2, ? extends C> cell, TabularContext<R> tableCtx, boolean withValue) {
+			int[] switching = SWITCHING_CONTEXT.get();
+			switching[0]++;
 			try (Causable.CausableInUse cause = Causable.cause()) {
 				setRowContext(cell, tableCtx, withValue, cause);
 				if (tableCtx.columnIndex.get().intValue() != cell.getColumnIndex())
@@ -413,6 +465,9 @@ class QuickSwingTablePopulation {
 					if (enabled != null && !enabled.equals(cell.isEnabled()))
 						cell.setEnabled(enabled);
 				}
+			} finally {
+				// After the cause has finished, since its batched events are caused by the switch as well
+				switching[0]--;
 			}
 		}
 
@@ -617,6 +672,9 @@ class QuickSwingTablePopulation {
 
 		private final TabularContext<R> theEditContext;
 		private final List<CompositeCellEditorComponent<R, R2, C>> theEditors;
+		private final RenderCache theRenderCache;
+		private boolean isMaterializing;
+		private JLabel thePlaceholder;
 
 		QuickSwingTableColumn(TriConsumer<R2, R, QuickWidget> update, Function<R2, R> reverse, QuickWidget quickParent,
 			QuickTableColumn<R, C> column, boolean virtual, QuickSwingColumnSet.TabularContext<R> ctx,
@@ -624,6 +682,7 @@ class QuickSwingTablePopulation {
 				Map<Object, QuickSwingPopulator<QuickWidget>> swingEditors, Observable<?> until) throws ModelInstantiationException {
 			super(update, reverse, quickParent, column.getValue(), column.getRenderers(), ctx, parent, swingRenderers, virtual);
 			theColumn = column;
+			theRenderCache = column.getRenderCacheSize() > 0 ? new RenderCache(column.getRenderCacheSize(), column.getRenderCacheStats()) : null;
 
 			theCRS = new CategoryRenderStrategy<>(column.getName().get(), TypeTokens.getRawType(column.getType()), row -> {
 				try (Causable.CausableInUse cause = Causable.cause()) {
@@ -683,14 +742,69 @@ class QuickSwingTablePopulation {
 			return theCRS;
 		}
 
+		/** @return The cache of this column's rendered cells, or null if its cells are not cached */
+		RenderCache getRenderCache() {
+			return theRenderCache;
+		}
+
+		/**
+		 * Renders a cell of this column as text, as it would be for filtering, outside of the table
+		 *
+		 * @param row The row to render
+		 * @param rowIndex The index of the row
+		 * @param columnIndex The index of this column
+		 * @return The text of this column for the row
+		 */
+		String renderText(R2 row, int rowIndex, int columnIndex) {
+			ModelCell<R2, C> cell = new ModelCell.Default<>(() -> row, null, rowIndex, columnIndex, false, false, false, false, false,
+				true);
+			setCellContext(cell, theRenderTableContext, false);
+			C value = theColumn.getValue().get();
+			return renderAsText(
+				new ModelCell.Default<>(() -> row, value, rowIndex, columnIndex, false, false, false, false, false, true));
+		}
+
 		SettableValue<C> getEditorValue() {
 			return theColumn.getEditing().getEditColumnValue();
 		}
 
 		@Override
 		protected Component renderCell(Component parent, ModelCell<? extends R2, ? extends C> cell, CellRenderContext ctx) {
+			if (!theColumn.isMaterialized()) {
+				// Create the column's full configuration outside of painting. The column will be refreshed when it is materialized.
+				String error = theColumn.getMaterializationError();
+				if (error == null && !isMaterializing) {
+					isMaterializing = true;
+					EventQueue.invokeLater(() -> {
+						try {
+							theColumn.displayed();
+						} finally {
+							// If materialization failed, the column reports the error
+							isMaterializing = false;
+						}
+					});
+				}
+				if (thePlaceholder == null)
+					thePlaceholder = new JLabel();
+				thePlaceholder.setText(error == null ? "" : error);
+				thePlaceholder.setToolTipText(error);
+				return thePlaceholder;
+			}
+			theColumn.displayed();
 			try {
-				Component rendered = super.renderCell(parent, cell, ctx);
+				// Cells highlighted for a search are rendered specially, so don't cache them.
+				// The cell's value has already been evaluated by the table at this point; the cache only saves the renderer's work.
+				RenderCache.CellKey key = theRenderCache == null || (ctx != null && ctx != CellRenderContext.DEFAULT) ? null
+					: new RenderCache.CellKey(cell);
+				Component cached = key == null ? null : theRenderCache.get(key, cell);
+				Component rendered;
+				if (cached != null)
+					rendered = cached;
+				else {
+					rendered = super.renderCell(parent, cell, ctx);
+					if (key != null && rendered != null)
+						theRenderCache.put(key, cell, rendered);
+				}
 				onOwner(o -> o.setCursor(rendered.getCursor()));
 				return rendered;
 			} catch (RuntimeException e) {
@@ -703,6 +817,8 @@ class QuickSwingTablePopulation {
 			if (!theEditors.isEmpty()) {
 				QuickCompositeCellEditor<R2, C> cellEditor = new QuickCompositeCellEditor<>(theEditors);
 				mutation.editableIf(cell -> {
+					if (!theColumn.isMaterialized())
+						return false;
 					setCellContext(cell, theRenderTableContext, false);
 					if (isEnabled != null) {
 						if (isEnabled.get() != null)
@@ -785,6 +785,19 @@ public class QuickXSwing implements QuickInterpretation {
 				super.doPopulate(panel, superQuick, component);
 		}
 
+		@Override
+		protected ObservableCollection<R> filterRows(ObservableCollection<R> rows, QuickTable<R, C> quick,
+			QuickSwingColumnSet<R, R>.Populator columns, Observable<?> until) {
+			rows = super.filterRows(rows, quick, columns, until);
+			if (theContentControl == null)
+				return rows;
+			// Narrow the rows with an index, so the table's filtering only needs to check the rows that may match
+			TableSearchIndex<R> index = new TableSearchIndex<>(rows, columns::renderText, columns.textChanges(until), until);
+			theContentControl.noInitChanges().takeUntil(until).act(evt -> index.search(//
+				evt.getNewValue() == null ? null : TableContentControl.FORMAT.format(evt.getNewValue())));
+			return index.getResults();
+		}
+
 		@Override
 		protected void modifyTable(TableBuilder<R, ?, ?> table, QuickTable<R, C> quick) {
 			super.modifyTable(table, quick);
@@ -0,0 +1,204 @@
+package org.observe.quick.swing;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.swing.Icon;
+import javax.swing.JLabel;
+import javax.swing.border.Border;
+
+import org.observe.quick.base.QuickTableColumn;
+import org.observe.util.swing.ModelCell;
+
+/**
+ * <p>
+ * A least-recently-used cache of the rendered state of a table column's cells, so that repainting a cell whose inputs have not changed
+ * (e.g. when scrolling) does not need to evaluate the column's renderer models.
+ * </p>
+ * <p>
+ * The cache does not save evaluation of the column's value. The table evaluates the value for each painted cell before the cell is
+ * rendered, and the value is part of the key, so that a cell whose value changes without a row update is not restored stale.
+ * </p>
+ * <p>
+ * A cell is identified by its row value (by identity), its row and column indexes, its value, and its selected, focused, hovered, and
+ * enabled state. Only cells rendered as a {@link JLabel} are cached. The cache must be {@link #invalidate(Object)
+ * invalidated} for a row when the row changes, and {@link #clear() cleared} when the column's rendering changes.
+ * </p>
+ */
+class RenderCache {
+	static class CellKey {
+		final Object row;
+		final int rowIndex;
+		final int columnIndex;
+		final Object value;
+		final int state;
+		final String enabled;
+		private final int hashCode;
+
+		CellKey(ModelCell<?, ?> cell) {
+			row = cell.getModelValue();
+			rowIndex = cell.getRowIndex();
+			columnIndex = cell.getColumnIndex();
+			value = cell.getCellValue();
+			state = (cell.isSelected() ? 1 : 0) | (cell.isCellFocused() ? 2 : 0) | (cell.isCellHovered() ? 4 : 0);
+			enabled = cell.isEnabled();
+			hashCode = Objects.hash(System.identityHashCode(row), rowIndex, columnIndex, value, state, enabled);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CellKey))
+				return false;
+			CellKey other = (CellKey) obj;
+			return row == other.row && rowIndex == other.rowIndex && columnIndex == other.columnIndex && state == other.state
+				&& Objects.equals(value, other.value) && Objects.equals(enabled, other.enabled);
+		}
+	}
+
+	static class RenderedCell {
+		final JLabel label;
+		final String text;
+		final Icon icon;
+		final String tooltip;
+		final Color foreground;
+		final Color background;
+		final Font font;
+		final Border border;
+		final Cursor cursor;
+		final boolean opaque;
+		final boolean labelEnabled;
+		final int horizontalAlignment;
+		final int verticalAlignment;
+		/** The enablement of the cell after rendering, which the renderer may modify */
+		final String cellEnabled;
+
+		RenderedCell(JLabel label, String cellEnabled) {
+			this.label = label;
+			text = label.getText();
+			icon = label.getIcon();
+			tooltip = label.getToolTipText();
+			foreground = label.getForeground();
+			background = label.getBackground();
+			font = label.getFont();
+			border = label.getBorder();
+			cursor = label.getCursor();
+			opaque = label.isOpaque();
+			labelEnabled = label.isEnabled();
+			horizontalAlignment = label.getHorizontalAlignment();
+			verticalAlignment = label.getVerticalAlignment();
+			this.cellEnabled = cellEnabled;
+		}
+
+		JLabel restore(ModelCell<?, ?> cell) {
+			label.setText(text);
+			label.setIcon(icon); // Clears any icon left over from rendering another cell
+			label.setToolTipText(tooltip);
+			label.setForeground(foreground);
+			label.setBackground(background);
+			label.setFont(font);
+			label.setBorder(border);
+			label.setCursor(cursor);
+			label.setOpaque(opaque);
+			label.setEnabled(labelEnabled);
+			label.setHorizontalAlignment(horizontalAlignment);
+			label.setVerticalAlignment(verticalAlignment);
+			if (!Objects.equals(cell.isEnabled(), cellEnabled))
+				cell.setEnabled(cellEnabled);
+			return label;
+		}
+	}
+
+	private final int theSize;
+	private final LinkedHashMap<CellKey, RenderedCell> theCells;
+	/** The cached cells for each row, so that a row's cells can be invalidated without scanning the cache */
+	private final IdentityHashMap<Object, List<CellKey>> theRowCells;
+	private final QuickTableColumn.RenderCacheStats theStats;
+
+	/**
+	 * @param size The maximum number of cells to cache
+	 * @param stats The statistics to record cache hits and misses in
+	 */
+	RenderCache(int size, QuickTableColumn.RenderCacheStats stats) {
+		if (size <= 0)
+			throw new IllegalArgumentException("Cache size must be positive: " + size);
+		theSize = size;
+		theStats = stats;
+		theCells = new LinkedHashMap<CellKey, RenderedCell>(Math.min(size, 1024), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CellKey, RenderedCell> eldest) {
+				if (size() <= theSize)
+					return false;
+				removeFromRow(eldest.getKey());
+				return true;
+			}
+		};
+		theRowCells = new IdentityHashMap<>();
+	}
+
+	/**
+	 * @param key The key of the cell to render
+	 * @param cell The cell to render
+	 * @return The cached rendered component for the cell, or null if it must be rendered
+	 */
+	synchronized Component get(CellKey key, ModelCell<?, ?> cell) {
+		RenderedCell rendered = theCells.get(key);
+		theStats.cellRendered(rendered != null);
+		if (rendered == null)
+			return null;
+		return rendered.restore(cell);
+	}
+
+	/**
+	 * @param key The key of the rendered cell
+	 * @param cell The rendered cell
+	 * @param component The component that the cell was rendered into
+	 */
+	synchronized void put(CellKey key, ModelCell<?, ?> cell, Component component) {
+		if (!(component instanceof JLabel))
+			return;
+		if (theCells.put(key, new RenderedCell((JLabel) component, cell.isEnabled())) == null)
+			theRowCells.computeIfAbsent(key.row, __ -> new ArrayList<>(2)).add(key);
+	}
+
+	private void removeFromRow(CellKey key) {
+		List<CellKey> rowCells = theRowCells.get(key.row);
+		if (rowCells != null) {
+			rowCells.remove(key);
+			if (rowCells.isEmpty())
+				theRowCells.remove(key.row);
+		}
+	}
+
+	/** @param row The row whose cells to remove from the cache, e.g. because it has changed */
+	synchronized void invalidate(Object row) {
+		List<CellKey> rowCells = theRowCells.remove(row);
+		if (rowCells != null) {
+			for (CellKey key : rowCells)
+				theCells.remove(key);
+		}
+	}
+
+	/** Removes all cells from the cache, e.g. because the column's rendering has changed */
+	synchronized void clear() {
+		theCells.clear();
+		theRowCells.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Render cache " + theCells.size() + "/" + theSize + ": " + theStats;
+	}
+}
@@ -0,0 +1,100 @@
+package org.observe.quick.swing;
+
+import java.awt.EventQueue;
+import java.time.Duration;
+
+import org.qommons.threading.QommonsTimer;
+
+/**
+ * <p>
+ * Coalesces repaint requests for a component so that bursts of changes, e.g. from a high-rate data source, produce at most one repaint
+ * per frame.
+ * </p>
+ * <p>
+ * The first request after a repaint schedules the next one no sooner than one frame after the previous repaint, and no sooner than the
+ * coalescing delay after the request. Requests made while a repaint is pending are satisfied by that repaint, and are counted as
+ * {@link #getSkippedRepaints() skipped}.
+ * </p>
+ */
+class RepaintScheduler {
+	private final Runnable theRepaint;
+	private final long theFrameNanos;
+	private final long theCoalesceNanos;
+	private final QommonsTimer.TaskHandle theTask;
+	private boolean isPending;
+	private boolean isDisposed;
+	/** The {@link System#nanoTime()} of the most recent repaint */
+	private long theLastRepaint;
+	private long theRepaints;
+	private long theSkipped;
+
+	/**
+	 * @param maxFps The maximum number of times per second to repaint
+	 * @param coalesceMillis The number of milliseconds to wait after a request before repainting
+	 * @param repaint The action to repaint the component, which will be run on the EDT
+	 */
+	RepaintScheduler(int maxFps, int coalesceMillis, Runnable repaint) {
+		if (maxFps <= 0)
+			throw new IllegalArgumentException("Max FPS must be positive: " + maxFps);
+		theRepaint = repaint;
+		theFrameNanos = 1_000_000_000L / maxFps;
+		theCoalesceNanos = coalesceMillis * 1_000_000L;
+		theTask = QommonsTimer.getCommonInstance().build(this::fire, null, false).onEDT();
+		theLastRepaint = System.nanoTime() - theFrameNanos;
+	}
+
+	/** Requests that the component be repainted at the next opportunity. May be called from any thread. */
+	void requestRepaint() {
+		long delay;
+		synchronized (this) {
+			if (isDisposed)
+				return;
+			else if (isPending) {
+				theSkipped++;
+				return;
+			}
+			isPending = true;
+			delay = Math.max(theLastRepaint + theFrameNanos - System.nanoTime(), theCoalesceNanos);
+		}
+		if (delay <= 0)
+			EventQueue.invokeLater(this::fire);
+		else
+			theTask.runNextIn(Duration.ofNanos(delay));
+	}
+
+	private void fire() {
+		synchronized (this) {
+			if (isDisposed || !isPending)
+				return;
+			// Clear the flag before repainting, so that changes made during the repaint schedule the next frame
+			isPending = false;
+			theLastRepaint = System.nanoTime();
+			theRepaints++;
+		}
+		theRepaint.run();
+	}
+
+	/** @return The number of times the component has been repainted by this scheduler */
+	synchronized long getRepaints() {
+		return theRepaints;
+	}
+
+	/** @return The number of repaint requests that were coalesced into another request's repaint */
+	synchronized long getSkippedRepaints() {
+		return theSkipped;
+	}
+
+	/** Stops this scheduler from repainting the component */
+	void dispose() {
+		synchronized (this) {
+			isDisposed = true;
+			isPending = false;
+		}
+		theTask.setActive(false);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Repaints: " + theRepaints + ", skipped " + theSkipped;
+	}
+}
@@ -0,0 +1,99 @@
+package org.observe.quick.swing;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A uniform grid spatial index of the bounds of drawn shapes, used to avoid testing every shape in a large collection for every mouse
+ * event.
+ * </p>
+ * <p>
+ * Values are added in draw order. {@link #getCandidates(float, float)} returns the values whose bounds contain a point in reverse draw
+ * order, i.e. the order in which mouse events are dispatched.
+ * </p>
+ *
+ * @param <V> The type of value associated with each shape's bounds
+ */
+class ShapeHitIndex<V> {
+	private static final int CELL_SIZE = 32;
+
+	private final int theColumns;
+	private final int theRows;
+	private final List<V> theValues;
+	private final List<Rectangle> theBounds;
+	/** For each grid cell, the indexes of all the values whose bounds intersect it, in draw order */
+	private final List<Integer>[] theCells;
+
+	/**
+	 * @param width The width of the area to index
+	 * @param height The height of the area to index
+	 */
+	ShapeHitIndex(float width, float height) {
+		theColumns = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+		theRows = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+		theValues = new ArrayList<>();
+		theBounds = new ArrayList<>();
+		theCells = new List[theColumns * theRows];
+	}
+
+	/** @return The number of values in this index */
+	int size() {
+		return theValues.size();
+	}
+
+	/**
+	 * @param bounds The bounds of the drawn shape(s) for the value
+	 * @param value The value to add
+	 */
+	void add(Rectangle bounds, V value) {
+		int index = theValues.size();
+		theValues.add(value);
+		theBounds.add(new Rectangle(bounds));
+		if (bounds.isEmpty())
+			return;
+		int minCol = Math.max(0, bounds.x / CELL_SIZE);
+		int maxCol = Math.min(theColumns - 1, (bounds.x + bounds.width) / CELL_SIZE);
+		int minRow = Math.max(0, bounds.y / CELL_SIZE);
+		int maxRow = Math.min(theRows - 1, (bounds.y + bounds.height) / CELL_SIZE);
+		for (int r = minRow; r <= maxRow; r++) {
+			for (int c = minCol; c <= maxCol; c++) {
+				int cell = r * theColumns + c;
+				if (theCells[cell] == null)
+					theCells[cell] = new ArrayList<>(4);
+				theCells[cell].add(index);
+			}
+		}
+	}
+
+	/**
+	 * @param x The x-coordinate of the point
+	 * @param y The y-coordinate of the point
+	 * @return All values whose bounds contain the given point, in reverse draw order, or null if the point is outside the indexed area
+	 */
+	List<V> getCandidates(float x, float y) {
+		if (x < 0 || y < 0)
+			return null;
+		int col = (int) (x / CELL_SIZE);
+		int row = (int) (y / CELL_SIZE);
+		if (col >= theColumns || row >= theRows)
+			return null;
+		List<Integer> cell = theCells[row * theColumns + col];
+		if (cell == null)
+			return Collections.emptyList();
+		List<V> candidates = new ArrayList<>();
+		for (int i = cell.size() - 1; i >= 0; i--) {
+			int index = cell.get(i);
+			if (theBounds.get(index).contains(x, y))
+				candidates.add(theValues.get(index));
+		}
+		return candidates;
+	}
+
+	@Override
+	public String toString() {
+		return theValues.size() + " shapes in " + theColumns + "x" + theRows + " cells";
+	}
+}
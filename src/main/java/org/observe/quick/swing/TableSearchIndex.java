@@ -0,0 +1,621 @@
+package org.observe.quick.swing;
+
+import java.awt.EventQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+import org.observe.Observable;
+import org.observe.SimpleObservable;
+import org.observe.collect.ObservableCollection;
+import org.qommons.Subscription;
+import org.qommons.Transaction;
+import org.qommons.collect.CollectionElement;
+import org.qommons.collect.ElementId;
+
+/**
+ * <p>
+ * An index of the rendered text of a table's rows, used to narrow the rows that a search must examine.
+ * </p>
+ * <p>
+ * The text of each row is normalized to its lower-cased letters and digits, and the rows containing each trigram (sequence of 3
+ * characters) of normalized text are recorded. A {@link #search(String) search} for a simple term then only needs to verify the rows
+ * containing the term's rarest trigram. When the term contains the previous term, e.g. as the user types more characters, only the rows
+ * matching the previous term are examined.
+ * </p>
+ * <p>
+ * The index is built when the first search is made, and is maintained from the row collection's changes after that. Row text must be
+ * rendered on the EDT, since the column renderers' models are shared with the table, but it is rendered in short batches so that the EDT
+ * is never held for long. Normalizing and indexing the text, as well as searching, happen on a background thread. A search is cancelled
+ * when a new one is started.
+ * </p>
+ * <p>
+ * The index is a superset filter: rows whose text has not been indexed, e.g. because they were just added or changed, or because the
+ * index is being built, pass until their text has been rendered. Queries that are not simple terms do not narrow the rows at all. If a
+ * model that the rendered text depends on changes other than by rendering, the whole index is discarded and rebuilt, with all rows passing
+ * in the meantime. Exact matching is left to the table's own filtering.
+ * </p>
+ * <p>
+ * Rows are assigned to one of a fixed number of buckets, and when a search or newly indexed text changes whether rows pass, only the
+ * buckets of those rows are re-filtered.
+ * </p>
+ *
+ * @param <R> The type of rows in the table
+ */
+class TableSearchIndex<R> {
+	/** The minimum length of a term for which the trigram index is used, rather than checking every row */
+	static final int MIN_INDEXED_TERM = 3;
+	/** The number of candidate rows to check between checks for cancellation */
+	private static final int CANCEL_CHECK_INTERVAL = 4096;
+	/** The number of removed rows' slots to tolerate before compacting the index */
+	private static final int MIN_COMPACT = 1024;
+	/** The number of buckets that rows are re-filtered in. Must be a power of 2. */
+	private static final int BUCKETS = 1024;
+	/** The maximum time to spend rendering row text on the EDT at once */
+	private static final long RENDER_BATCH_NANOS = 8_000_000;
+
+	private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "Quick Table Search");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static class Entry {
+		final Object row;
+		final int bucket;
+		ElementId element;
+		/** The number of times the row occurs in the collection */
+		int count;
+		/** The index of the row's text in the index, or -1 if it needs to be rendered */
+		int slot = -1;
+		/** Incremented whenever the row's text may have changed, so that text rendered before the change is not indexed */
+		int version;
+		boolean queued;
+		boolean removed;
+
+		Entry(Object row, ElementId element) {
+			this.row = row;
+			bucket = bucket(row);
+			this.element = element;
+		}
+	}
+
+	static class Rendered {
+		final Entry entry;
+		final int version;
+		final String text;
+
+		Rendered(Entry entry, int version, String text) {
+			this.entry = entry;
+			this.version = version;
+			this.text = text;
+		}
+	}
+
+	static class Postings {
+		int[] slots = new int[4];
+		int size;
+
+		void add(int slot) {
+			// The same slot may be added repeatedly for the same trigram, but only consecutively
+			if (size > 0 && slots[size - 1] == slot)
+				return;
+			if (size == slots.length)
+				slots = Arrays.copyOf(slots, size * 2);
+			slots[size++] = slot;
+		}
+	}
+
+	private final ObservableCollection<R> theRows;
+	private final BiFunction<? super R, Integer, String> theText;
+	private final SimpleObservable<Void>[] theBuckets;
+	private final ObservableCollection<R> theResults;
+	private final Subscription theSubscription;
+
+	// Guarded by this, since the rows may change and be filtered off the EDT
+	private final IdentityHashMap<Object, Entry> theEntries;
+	/** The rows to render the text of, in the order they should be rendered */
+	private final ArrayDeque<Entry> thePending;
+	/** The slots of the rows that do not pass the current search, or null if all rows pass */
+	private BitSet theVisibleExcluded;
+	/** Incremented when slots are renumbered, so that results computed for the old slots are not applied */
+	private int theLayout;
+	private boolean isIndexing;
+	private boolean isRenderScheduled;
+	private boolean isInvalidationScheduled;
+
+	// Modified only on the search thread
+	private String[] theTexts;
+	private Entry[] theSlotEntries;
+	private int theSlotCount;
+	private BitSet theDead;
+	private int theDeadCount;
+	private final Map<Long, Postings> thePostings;
+	/** The normalized term of the most recently completed search */
+	private String theTerm;
+	/** The slots of the rows that do not match the most recently completed search */
+	private BitSet theExcluded;
+
+	// Modified only on the EDT
+	private String theRequestedTerm;
+
+	private volatile int theGeneration;
+
+	/**
+	 * @param rows The rows of the table
+	 * @param text Renders the text of all of a row's columns, given the row and its index in the collection
+	 * @param textChanges An observable that fires when the rendered text of the rows may have changed, other than by changes to the rows
+	 * @param until An observable that fires when the table is no longer needed
+	 */
+	TableSearchIndex(ObservableCollection<R> rows, BiFunction<? super R, Integer, String> text, Observable<?> textChanges,
+		Observable<?> until) {
+		theRows = rows;
+		theText = text;
+		theEntries = new IdentityHashMap<>();
+		thePending = new ArrayDeque<>();
+		thePostings = new HashMap<>();
+		theTexts = new String[16];
+		theSlotEntries = new Entry[16];
+		theDead = new BitSet();
+		theExcluded = new BitSet();
+		theBuckets = new SimpleObservable[BUCKETS];
+		for (int b = 0; b < BUCKETS; b++)
+			theBuckets[b] = new SimpleObservable<>();
+		// Subscribe before the results are derived, so that changed rows are marked for re-indexing before they are filtered
+		theSubscription = rows.subscribe(evt -> {
+			switch (evt.getType()) {
+			case add:
+				added(evt.getNewValue(), evt.getElementId());
+				break;
+			case remove:
+				removed(evt.getOldValue());
+				break;
+			case set:
+				if (evt.getOldValue() == evt.getNewValue())
+					updated(evt.getNewValue());
+				else {
+					removed(evt.getOldValue());
+					added(evt.getNewValue(), evt.getElementId());
+				}
+				break;
+			}
+		}, true);
+		theResults = rows.flow()//
+			.refreshEach(row -> theBuckets[bucket(row)])//
+			.filter(row -> accepts(row) ? null : "Not matched by search")//
+			.collectActive(until);
+		textChanges.takeUntil(until).act(__ -> scheduleInvalidate());
+		until.take(1).act(__ -> {
+			theSubscription.unsubscribe();
+			theGeneration++;
+			synchronized (this) {
+				isIndexing = false;
+				thePending.clear();
+			}
+		});
+	}
+
+	/** @return The rows of the table that may match the current search */
+	ObservableCollection<R> getResults() {
+		return theResults;
+	}
+
+	/**
+	 * @param text The text to normalize
+	 * @return The lower-cased letters and digits of the text
+	 */
+	static String normalize(CharSequence text) {
+		StringBuilder str = new StringBuilder(text.length());
+		for (int c = 0; c < text.length(); c++) {
+			char ch = text.charAt(c);
+			if (Character.isLetterOrDigit(ch))
+				str.append(Character.toLowerCase(ch));
+		}
+		return str.toString();
+	}
+
+	/**
+	 * @param query The search text
+	 * @return The normalized term to search for, or null if the query is not a simple term that can be searched with this index
+	 */
+	static String toTerm(String query) {
+		if (query == null)
+			return null;
+		query = query.trim();
+		for (int c = 0; c < query.length(); c++) {
+			if (!Character.isLetterOrDigit(query.charAt(c)))
+				return null; // Search syntax or multiple terms, which must be matched by the table's filtering
+		}
+		return normalize(query);
+	}
+
+	private static int bucket(Object row) {
+		return System.identityHashCode(row) & (BUCKETS - 1);
+	}
+
+	private static long trigram(String text, int start) {
+		return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+	}
+
+	private synchronized boolean accepts(R row) {
+		if (theVisibleExcluded == null)
+			return true;
+		Entry entry = theEntries.get(row);
+		if (entry == null || entry.slot < 0)
+			return true; // Not indexed
+		return !theVisibleExcluded.get(entry.slot);
+	}
+
+	private synchronized void added(R row, ElementId element) {
+		Entry entry = theEntries.get(row);
+		if (entry != null) {
+			entry.count++;
+			return;
+		}
+		entry = new Entry(row, element);
+		entry.count = 1;
+		theEntries.put(row, entry);
+		if (isIndexing)
+			queue(entry);
+	}
+
+	private void removed(R row) {
+		int slot, layout;
+		synchronized (this) {
+			Entry entry = theEntries.get(row);
+			if (entry == null || --entry.count > 0)
+				return;
+			theEntries.remove(row);
+			entry.removed = true;
+			entry.version++;
+			slot = entry.slot;
+			entry.slot = -1;
+			layout = theLayout;
+		}
+		if (slot >= 0)
+			SEARCH_EXECUTOR.execute(() -> kill(slot, layout));
+	}
+
+	private void updated(R row) {
+		int slot, layout;
+		synchronized (this) {
+			Entry entry = theEntries.get(row);
+			if (entry == null)
+				return;
+			// The row's text may have changed, so let it pass until it is re-rendered
+			entry.version++;
+			slot = entry.slot;
+			entry.slot = -1;
+			layout = theLayout;
+			if (isIndexing)
+				queue(entry);
+		}
+		if (slot >= 0)
+			SEARCH_EXECUTOR.execute(() -> kill(slot, layout));
+	}
+
+	/** Must be called while synchronized on this */
+	private void queue(Entry entry) {
+		if (!entry.queued) {
+			entry.queued = true;
+			thePending.add(entry);
+		}
+		if (!isRenderScheduled) {
+			isRenderScheduled = true;
+			EventQueue.invokeLater(this::renderPending);
+		}
+	}
+
+	/** Renders the text of pending rows on the EDT for a short time, then hands it to the search thread to index */
+	private void renderPending() {
+		long deadline = System.nanoTime() + RENDER_BATCH_NANOS;
+		List<Rendered> batch = new ArrayList<>();
+		try (Transaction t = theRows.lock(false, null)) {
+			while (true) {
+				Entry entry;
+				int version;
+				synchronized (this) {
+					if (thePending.isEmpty()) {
+						isRenderScheduled = false;
+						break;
+					} else if (System.nanoTime() >= deadline) {
+						// Let the EDT do other work before continuing
+						EventQueue.invokeLater(this::renderPending);
+						break;
+					}
+					entry = thePending.poll();
+					entry.queued = false;
+					if (entry.removed || entry.slot >= 0)
+						continue;
+					version = entry.version;
+				}
+				if (!entry.element.isPresent()) {
+					// The row is still present, but its first occurrence was removed
+					CollectionElement<R> el = theRows.getElement((R) entry.row, true);
+					if (el == null)
+						continue;
+					entry.element = el.getElementId();
+				}
+				String text = theText.apply((R) entry.row, theRows.getElementsBefore(entry.element));
+				batch.add(new Rendered(entry, version, text));
+			}
+		}
+		if (!batch.isEmpty())
+			SEARCH_EXECUTOR.execute(() -> index(batch));
+	}
+
+	/** Indexes rendered row text, on the search thread */
+	private void index(List<Rendered> batch) {
+		BitSet changed = new BitSet();
+		for (Rendered rendered : batch) {
+			String text = normalize(rendered.text);
+			if (theSlotCount == theTexts.length) {
+				theTexts = Arrays.copyOf(theTexts, theSlotCount * 2);
+				theSlotEntries = Arrays.copyOf(theSlotEntries, theSlotCount * 2);
+			}
+			int slot = theSlotCount++;
+			theTexts[slot] = text;
+			theSlotEntries[slot] = rendered.entry;
+			for (int c = 0; c + MIN_INDEXED_TERM <= text.length(); c++)
+				thePostings.computeIfAbsent(trigram(text, c), __ -> new Postings()).add(slot);
+			synchronized (this) {
+				if (rendered.entry.removed || rendered.entry.version != rendered.version) {
+					// Changed since it was rendered, and queued again
+					theDead.set(slot);
+					theDeadCount++;
+					continue;
+				}
+				rendered.entry.slot = slot;
+			}
+			if (theTerm != null && !text.contains(theTerm)) {
+				// The row passed while unindexed, but doesn't match
+				theExcluded.set(slot);
+				changed.set(slot);
+			}
+		}
+		publish(changed);
+		compactIfNeeded();
+	}
+
+	/** Discards a removed or changed row's text, on the search thread */
+	private void kill(int slot, int layout) {
+		synchronized (this) {
+			if (layout != theLayout)
+				return; // The slots were renumbered or discarded, which dropped this slot
+		}
+		// The text is left in place until the index is compacted, since the slot numbers must not change
+		theDead.set(slot);
+		theDeadCount++;
+		theExcluded.clear(slot);
+		compactIfNeeded();
+	}
+
+	/**
+	 * Makes the current exclusions visible to the filter and re-filters the buckets of the rows that changed, on the EDT
+	 *
+	 * @param changedSlots The slots of the rows whose exclusion has changed
+	 */
+	private void publish(BitSet changedSlots) {
+		if (changedSlots.isEmpty())
+			return;
+		BitSet buckets = new BitSet(BUCKETS);
+		for (int s = changedSlots.nextSetBit(0); s >= 0; s = changedSlots.nextSetBit(s + 1))
+			buckets.set(theSlotEntries[s].bucket);
+		BitSet excluded = (BitSet) theExcluded.clone();
+		int layout;
+		synchronized (this) {
+			layout = theLayout;
+		}
+		EventQueue.invokeLater(() -> {
+			synchronized (this) {
+				if (layout == theLayout)
+					theVisibleExcluded = excluded;
+			}
+			for (int b = buckets.nextSetBit(0); b >= 0; b = buckets.nextSetBit(b + 1))
+				theBuckets[b].onNext(null);
+		});
+	}
+
+	/** Moves the texts of live rows to the beginning of the index, discarding removed rows, on the search thread */
+	private void compactIfNeeded() {
+		if (theDeadCount < MIN_COMPACT || theDeadCount * 2 < theSlotCount)
+			return;
+		int[] newSlots = new int[theSlotCount];
+		String[] texts = new String[Math.max(16, theSlotCount - theDeadCount)];
+		Entry[] entries = new Entry[texts.length];
+		BitSet excluded = new BitSet();
+		int count = 0;
+		synchronized (this) {
+			for (int s = 0; s < theSlotCount; s++) {
+				// A slot whose row has been re-indexed since is dropped too, even if it hasn't been killed yet
+				if (theDead.get(s) || theSlotEntries[s].slot != s)
+					newSlots[s] = -1;
+				else {
+					newSlots[s] = count;
+					texts[count] = theTexts[s];
+					entries[count] = theSlotEntries[s];
+					if (theExcluded.get(s))
+						excluded.set(count);
+					theSlotEntries[s].slot = count;
+					count++;
+				}
+			}
+			theLayout++;
+			theVisibleExcluded = theTerm == null ? null : (BitSet) excluded.clone();
+		}
+		thePostings.clear();
+		for (int s = 0; s < count; s++) {
+			for (int c = 0; c + MIN_INDEXED_TERM <= texts[s].length(); c++)
+				thePostings.computeIfAbsent(trigram(texts[s], c), __ -> new Postings()).add(s);
+		}
+		theTexts = texts;
+		theSlotEntries = entries;
+		theSlotCount = count;
+		theDead = new BitSet();
+		theDeadCount = 0;
+		theExcluded = excluded;
+	}
+
+	private void scheduleInvalidate() {
+		synchronized (this) {
+			if (!isIndexing || isInvalidationScheduled)
+				return;
+			isInvalidationScheduled = true;
+		}
+		EventQueue.invokeLater(this::invalidate);
+	}
+
+	/**
+	 * Discards the index because the rendered text of the rows may have changed. All rows pass until they are re-indexed, which begins
+	 * immediately.
+	 */
+	private void invalidate() {
+		BitSet buckets = new BitSet(BUCKETS);
+		try (Transaction t = theRows.lock(false, null)) {
+			synchronized (this) {
+				isInvalidationScheduled = false;
+				if (!isIndexing)
+					return;
+				for (Entry entry : theEntries.values()) {
+					if (entry.slot >= 0 && theVisibleExcluded != null && theVisibleExcluded.get(entry.slot))
+						buckets.set(entry.bucket);
+					entry.slot = -1;
+					entry.version++;
+				}
+				theVisibleExcluded = null;
+				queueAll();
+			}
+		}
+		SEARCH_EXECUTOR.execute(this::reset);
+		for (int b = buckets.nextSetBit(0); b >= 0; b = buckets.nextSetBit(b + 1))
+			theBuckets[b].onNext(null);
+	}
+
+	/** Discards all indexed text, on the search thread */
+	private void reset() {
+		synchronized (this) {
+			theLayout++;
+			theVisibleExcluded = null;
+		}
+		theTexts = new String[16];
+		theSlotEntries = new Entry[16];
+		theSlotCount = 0;
+		theDead = new BitSet();
+		theDeadCount = 0;
+		thePostings.clear();
+		theExcluded = new BitSet();
+	}
+
+	/** Queues all rows for rendering in order. Must be called while holding the row lock and synchronized on this. */
+	private void queueAll() {
+		thePending.clear();
+		for (CollectionElement<R> el = theRows.getTerminalElement(true); el != null; el = theRows
+			.getAdjacentElement(el.getElementId(), true)) {
+			Entry entry = theEntries.get(el.get());
+			if (entry != null) {
+				entry.queued = false;
+				queue(entry);
+			}
+		}
+	}
+
+	/**
+	 * Starts a search for rows matching a query. Must be called on the EDT.
+	 *
+	 * @param query The search text
+	 */
+	void search(String query) {
+		String term = toTerm(query);
+		if (term != null && term.isEmpty())
+			term = null;
+		if (Objects.equals(term, theRequestedTerm))
+			return;
+		theRequestedTerm = term;
+		int generation = ++theGeneration;
+		if (term != null) {
+			try (Transaction t = theRows.lock(false, null)) {
+				synchronized (this) {
+					if (!isIndexing) {
+						isIndexing = true;
+						queueAll();
+					}
+				}
+			}
+		}
+		String fTerm = term;
+		SEARCH_EXECUTOR.execute(() -> doSearch(fTerm, generation));
+	}
+
+	/** Finds the indexed rows that don't match a term, on the search thread */
+	private void doSearch(String term, int generation) {
+		if (generation != theGeneration)
+			return;
+		BitSet excluded;
+		if (term == null)
+			excluded = new BitSet();
+		else {
+			BitSet live = new BitSet(theSlotCount);
+			live.set(0, theSlotCount);
+			live.andNot(theDead);
+			BitSet matches = new BitSet(theSlotCount);
+			int checked = 0;
+			if (theTerm != null && term.contains(theTerm)) {
+				// Narrow the previous result
+				BitSet candidates = (BitSet) live.clone();
+				candidates.andNot(theExcluded);
+				for (int s = candidates.nextSetBit(0); s >= 0; s = candidates.nextSetBit(s + 1)) {
+					if (++checked % CANCEL_CHECK_INTERVAL == 0 && generation != theGeneration)
+						return;
+					if (theTexts[s].contains(term))
+						matches.set(s);
+				}
+			} else if (term.length() >= MIN_INDEXED_TERM) {
+				Postings rarest = null;
+				for (int c = 0; c + MIN_INDEXED_TERM <= term.length(); c++) {
+					Postings postings = thePostings.get(trigram(term, c));
+					if (postings == null) {
+						rarest = null;
+						break;
+					} else if (rarest == null || postings.size < rarest.size)
+						rarest = postings;
+				}
+				for (int i = 0; rarest != null && i < rarest.size; i++) {
+					if (++checked % CANCEL_CHECK_INTERVAL == 0 && generation != theGeneration)
+						return;
+					int s = rarest.slots[i];
+					if (!theDead.get(s) && theTexts[s].contains(term))
+						matches.set(s);
+				}
+			} else {
+				for (int s = live.nextSetBit(0); s >= 0; s = live.nextSetBit(s + 1)) {
+					if (++checked % CANCEL_CHECK_INTERVAL == 0 && generation != theGeneration)
+						return;
+					if (theTexts[s].contains(term))
+						matches.set(s);
+				}
+			}
+			excluded = live;
+			excluded.andNot(matches);
+		}
+		// Only the rows whose exclusion changed need to be re-filtered
+		BitSet changed = (BitSet) excluded.clone();
+		changed.xor(theExcluded);
+		theExcluded = excluded;
+		theTerm = term;
+		publish(changed);
+	}
+
+	@Override
+	public String toString() {
+		return "Search index of " + theSlotCount + " rows, " + thePostings.size() + " trigrams";
+	}
+}
@@ -0,0 +1,246 @@
+package org.observe.quick.textfilter;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.observe.quick.textfilter.QuickTextFilter.MatchWithOffset;
+
+/**
+ * Applies a list of {@link QuickTextFilter}s to text for a single round of filtering. A pass may be applied to a whole document at once, or
+ * to successive sections of a document that is too large to hold in memory.
+ */
+class FilterPass {
+	/** The minimum length of text to split among multiple cores in {@link #applyParallel(String, List, boolean, int[])} */
+	static final int PARALLEL_THRESHOLD = 1 << 20;
+	/** The minimum length of each block of text filtered in parallel */
+	static final int PARALLEL_BLOCK = 1 << 18;
+	/** Regular expression constructs that may match across a line break or look outside the current line */
+	private static final String[] MULTI_LINE_CONSTRUCTS = { "\\n", "\\r", "\\s", "\\R", "\\v", "\\V", "\\H", "\\W", "\\D",
+		"\\p", "\\P", "\\x", "\\u", "\\0", "\\c", "\\A", "\\G", "\\z", "\\Z", "[^", "(?<" };
+	/** Matches an embedded flag expression that may enable {@link Pattern#DOTALL} */
+	private static final Pattern EMBEDDED_DOTALL = Pattern.compile("\\(\\?[a-zA-Z-]*s");
+
+	private final List<QuickTextFilter> theFilters;
+	private final boolean isPreservingUnmatched;
+	private final boolean isPrintingPositions;
+	private final List<MatchWithOffset> theMatches;
+	/** Each filter's next match, ordered by position, so that finding the first match does not require checking every filter */
+	private final PriorityQueue<MatchWithOffset> thePending;
+	private int theApplied;
+
+	/**
+	 * @param filters The filters to apply
+	 * @param preserveUnmatched Whether to keep text that is not matched by any filter
+	 * @param firstRound Whether this is the first round of filtering, where the whole-line setting of each filter applies and unmatched text
+	 *        may be discarded
+	 * @param printPositions Whether to print the source position of each match for filters that request it
+	 */
+	FilterPass(List<QuickTextFilter> filters, boolean preserveUnmatched, boolean firstRound, boolean printPositions) {
+		theFilters = filters;
+		isPreservingUnmatched = preserveUnmatched || !firstRound;
+		isPrintingPositions = printPositions;
+		theMatches = new ArrayList<>(filters.size());
+		for (int f = 0; f < filters.size(); f++)
+			theMatches.add(new MatchWithOffset(f));
+		thePending = new PriorityQueue<>(Math.max(1, filters.size()));
+	}
+
+	/** @return Whether this pass will ever need the positions of matches in the source */
+	boolean needsPositions() {
+		if (!isPrintingPositions)
+			return false;
+		for (QuickTextFilter filter : theFilters) {
+			if (filter.isEnabled() && filter.isPrintSourcePosition())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return Whether this pass must be applied to the whole text at once, because its result would depend on where the text was split.
+	 *         This is the case when a source position is printed before the unmatched text preceding its match, which may lie in a
+	 *         previous section.
+	 */
+	boolean needsWholeText() {
+		return isPreservingUnmatched && needsPositions();
+	}
+
+	/** @return The total number of matches replaced by this pass */
+	int getApplied() {
+		return theApplied;
+	}
+
+	/**
+	 * @param filterIndex The index of the filter
+	 * @return The number of matches of the given filter replaced by this pass
+	 */
+	int getApplied(int filterIndex) {
+		return theMatches.get(filterIndex).applied;
+	}
+
+	/**
+	 * @param filter The filter to inspect
+	 * @return Whether the filter's matches are always contained within a single line and do not depend on text in other lines
+	 */
+	static boolean isLineLocal(QuickTextFilter filter) {
+		String pattern = filter.getPattern();
+		if (pattern == null)
+			return true;
+		else if (pattern.indexOf('\n') >= 0 || pattern.indexOf('\r') >= 0)
+			return false;
+		else if (filter.isRegex()) {
+			if (filter.isDotMatchesNewLine() || EMBEDDED_DOTALL.matcher(pattern).find())
+				return false;
+			for (String construct : MULTI_LINE_CONSTRUCTS) {
+				if (pattern.contains(construct))
+					return false;
+			}
+			return true;
+		} else if (filter.isExtended())
+			return !pattern.contains("\\n");
+		else
+			return true;
+	}
+
+	/**
+	 * Applies a single round of filtering to a large text on multiple cores. The text is split into blocks at line boundaries, each block
+	 * is filtered independently, and the results are joined in order.
+	 *
+	 * @param source The text to filter
+	 * @param filters The filters to apply
+	 * @param preserveUnmatched Whether to keep text that is not matched by any filter
+	 * @param filterApplied The array in which to put the number of matches replaced for each filter
+	 * @return The filtered text, or null if the filtering could not be done in parallel, e.g. because the text is too small, a filter's
+	 *         matches may span lines, or the pass {@link #needsWholeText() needs the whole text}
+	 */
+	static String applyParallel(String source, List<QuickTextFilter> filters, boolean preserveUnmatched, int[] filterApplied) {
+		int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		if (parallelism < 2 || source.length() < PARALLEL_THRESHOLD)
+			return null;
+		for (QuickTextFilter filter : filters) {
+			if (filter.isEnabled() && !isLineLocal(filter))
+				return null;
+		}
+		FilterPass wholePass = new FilterPass(filters, preserveUnmatched, true, true);
+		if (wholePass.needsWholeText())
+			return null;
+		// Several blocks per core, so that a core that finishes early can pick up more work
+		int blockSize = Math.max(PARALLEL_BLOCK, source.length() / (parallelism * 4));
+		List<Integer> blockStarts = new ArrayList<>();
+		for (int start = 0; start < source.length();) {
+			blockStarts.add(start);
+			int end = source.indexOf('\n', Math.min(source.length() - 1, start + blockSize));
+			start = end < 0 ? source.length() : end + 1;
+		}
+		blockStarts.add(source.length());
+		SourcePositions positions = wholePass.needsPositions() ? new SourcePositions(source) : null;
+		FilterPass[] passes = new FilterPass[blockStarts.size() - 1];
+		StringBuilder[] results = IntStream.range(0, passes.length).parallel().mapToObj(b -> {
+			int start = blockStarts.get(b), end = blockStarts.get(b + 1);
+			// Include the first character of the next line so that empty matches at the end of the block are not applied here
+			// as well as at the beginning of the next block
+			CharSequence block = CharBuffer.wrap(source, start, Math.min(source.length(), end + 1));
+			int limit = end - start;
+			FilterPass pass = new FilterPass(filters, preserveUnmatched, true, true);
+			passes[b] = pass;
+			StringBuilder str = new StringBuilder(limit);
+			SourcePositions blockPositions = positions == null ? null
+				: new SourcePositions(block, positions.getLine(start), positions.getColumn(start));
+			if (pass.apply(block, limit, blockPositions, str) != limit)
+				return null; // A match extended into the next block
+			return str;
+		}).toArray(StringBuilder[]::new);
+		int length = 0;
+		for (StringBuilder result : results) {
+			if (result == null)
+				return null;
+			length += result.length();
+		}
+		StringBuilder str = new StringBuilder(length);
+		for (StringBuilder result : results)
+			str.append(result);
+		for (FilterPass pass : passes) {
+			for (int f = 0; f < filterApplied.length; f++)
+				filterApplied[f] += pass.getApplied(f);
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Applies this pass's filters to a section of text
+	 *
+	 * @param text The text to filter
+	 * @param limit The position in the text at or after which matches will not be applied. This allows the caller to hold back the end of
+	 *        the text so that matches near it can be found with more context, in the next section. If this is the length of the text, all
+	 *        matches, including an empty match at the end of the text, will be applied.
+	 * @param positions The index of the text's positions in the source document, or null if not {@link #needsPositions() needed}
+	 * @param str The string builder to append the filtered text to
+	 * @return The position in the text up to which it has been consumed. Text after this position has not been processed and should be
+	 *         included at the beginning of the next section.
+	 */
+	int apply(CharSequence text, int limit, SourcePositions positions, StringBuilder str) {
+		int index = 0;
+		for (int f = 0; f < theFilters.size(); f++) {
+			MatchWithOffset match = theMatches.get(f);
+			if (theFilters.get(f).isEnabled()) {
+				match.reset(theFilters.get(f).getRealPattern().matcher(text));
+				if (match.match != null)
+					thePending.add(match);
+			}
+		}
+		boolean limited = limit < text.length();
+		for (MatchWithOffset match = thePending.poll(); match != null; match = thePending.poll()) {
+			if (limited && match.getStart() >= limit)
+				break; // Left for the next section
+			QuickTextFilter filter = theFilters.get(match.filterIndex);
+			match.applied++;
+			theApplied++;
+			if (positions != null && filter.isPrintSourcePosition())
+				str.append(positions.printPosition(match.getStart())).append(": ");
+			if (isPreservingUnmatched)
+				str.append(text, index, match.getStart());
+			else if (filter.isIncludeWholeLine()) {
+				int lineStart = match.getStart();
+				while (lineStart > index && text.charAt(lineStart - 1) != '\n')
+					lineStart--;
+				str.append(text, lineStart, match.getStart());
+			}
+			index = match.getEnd();
+			filter.appendReplacement(str, match.match);
+			if (!isPreservingUnmatched && filter.isIncludeWholeLine()) {
+				int lineEnd = index;
+				while (lineEnd < text.length() && text.charAt(lineEnd) != '\n')
+					lineEnd++;
+				if (lineEnd < text.length())
+					lineEnd++; // Include the newline
+				str.append(text, index, lineEnd);
+				index = lineEnd;
+			}
+			do {
+				match.nextMatch();
+			} while (match.match != null && match.getStart() < index);
+			// Skip other filters' matches that overlap the text just consumed.
+			// Only the matches at the head of the queue can start before the index.
+			while (!thePending.isEmpty() && thePending.peek().getStart() < index) {
+				MatchWithOffset other = thePending.poll();
+				do {
+					other.nextMatch();
+				} while (other.match != null && other.getStart() < index);
+				if (other.match != null)
+					thePending.add(other);
+			}
+			if (match.match != null)
+				thePending.add(match);
+		}
+		thePending.clear();
+		int consumed = Math.max(index, limit);
+		if (isPreservingUnmatched)
+			str.append(text, index, consumed);
+		return consumed;
+	}
+}
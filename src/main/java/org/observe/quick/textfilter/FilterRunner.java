@@ -0,0 +1,165 @@
+package org.observe.quick.textfilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.observe.SettableValue;
+
+/** Runs all the rounds of filtering for {@link QuickTextFilter}'s static filtering methods, over text or a file */
+class FilterRunner {
+	private FilterRunner() {
+	}
+
+	/**
+	 * @param source The source text
+	 * @param filters The list of filters to apply
+	 * @param multipleRounds Whether to re-apply the filter list to the result over and over
+	 * @param preserveUnmatched Whether to keep source text that was not matched by any filters in the first round
+	 * @param result The structure to record the number of rounds and matches in
+	 * @return The filtered text
+	 */
+	static String filter(String source, List<QuickTextFilter> filters, boolean multipleRounds, boolean preserveUnmatched,
+		FilterResult result) {
+		if (!multipleRounds) {
+			String filtered = FilterPass.applyParallel(source, filters, preserveUnmatched, result.filterApplied);
+			if (filtered != null) {
+				for (int count : result.filterApplied)
+					result.applied += count;
+				result.rounds = (result.applied == 0 || QuickTextFilter.sequencesEqual(filtered, source)) ? 0 : 1;
+				return filtered;
+			}
+		}
+		StringBuilder str = new StringBuilder(source);
+		int round = 0;
+		int keepGoing = 100;
+		while (round == 0 || (multipleRounds && keepGoing > 0)) {
+			String roundSource = str.toString();
+			str.setLength(0);
+			FilterPass pass = new FilterPass(filters, preserveUnmatched, round == 0, !multipleRounds);
+			SourcePositions positions = pass.needsPositions() ? new SourcePositions(source) : null;
+			pass.apply(roundSource, roundSource.length(), positions, str);
+			for (int f = 0; f < filters.size(); f++)
+				result.filterApplied[f] += pass.getApplied(f);
+			result.applied += pass.getApplied();
+			if (pass.getApplied() == 0 || QuickTextFilter.sequencesEqual(str, roundSource))
+				break;
+			else if (str.length() >= roundSource.length())
+				keepGoing--; // Don't keep replacing forever if there's no terminal condition
+			round++;
+		}
+		result.rounds = round;
+		return str.toString();
+	}
+
+	/**
+	 * @param source The file to filter
+	 * @param target The file to write the filtered text to
+	 * @param filters The list of filters to apply
+	 * @param multipleRounds Whether to re-apply the filter list to the result over and over
+	 * @param preserveUnmatched Whether to keep source text that was not matched by any filters in the first round
+	 * @param result A text variable in which to put a user-readable status for the progress and result of the replacement
+	 * @param canceled Checked between sections to determine whether the filtering has been canceled
+	 * @param onUI Executes status updates on the thread that owns the result and the filters
+	 */
+	static void filterFile(File source, File target, List<QuickTextFilter> filters, boolean multipleRounds,
+		boolean preserveUnmatched, SettableValue<String> result, BooleanSupplier canceled, Consumer<Runnable> onUI) {
+		if (source == null || target == null) {
+			onUI.accept(() -> result.set("Select a source and target file"));
+			return;
+		} else if (source.getAbsoluteFile().equals(target.getAbsoluteFile())) {
+			onUI.accept(() -> result.set("The target file must be different from the source file"));
+			return;
+		}
+		FilterResult filterResult = new FilterResult(filters.size());
+		try {
+			// Multiple rounds need the whole text, as does a pass whose printed positions would depend on where the file is split
+			if (multipleRounds || new FilterPass(filters, preserveUnmatched, true, true).needsWholeText()) {
+				onUI.accept(() -> result.set("Filtering " + source.getName() + "..."));
+				String text = new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8);
+				String filtered = filter(text, filters, multipleRounds, preserveUnmatched, filterResult);
+				Files.write(target.toPath(), filtered.getBytes(StandardCharsets.UTF_8));
+			} else if (!streamFile(source, target, filters, preserveUnmatched, filterResult, result, canceled, onUI)) {
+				onUI.accept(() -> result.set("Canceled filtering " + source.getName() + "--" + target.getName() + " is incomplete"));
+				return;
+			}
+			onUI.accept(
+				() -> QuickTextFilter.reportStatus(filters, filterResult.rounds, filterResult.applied, filterResult.filterApplied, result));
+		} catch (IOException e) {
+			e.printStackTrace();
+			onUI.accept(() -> result.set("Could not filter " + source.getName() + ": " + e.getMessage()));
+		}
+	}
+
+	static boolean streamFile(File source, File target, List<QuickTextFilter> filters, boolean preserveUnmatched,
+		FilterResult filterResult, SettableValue<String> result, BooleanSupplier canceled, Consumer<Runnable> onUI) throws IOException {
+		FilterPass pass = new FilterPass(filters, preserveUnmatched, true, true);
+		boolean needsPositions = pass.needsPositions();
+		int line = 0, column = 1;
+		long fileLength = Math.max(1, source.length());
+		long filtered = 0;
+		char[] readBuffer = new char[8192];
+		StringBuilder section = new StringBuilder(QuickTextFilter.STREAM_SECTION + QuickTextFilter.STREAM_OVERLAP + readBuffer.length);
+		StringBuilder str = new StringBuilder();
+		try (Reader in = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8);
+			Writer out = Files.newBufferedWriter(target.toPath(), StandardCharsets.UTF_8)) {
+			boolean eof = false;
+			do {
+				if (canceled.getAsBoolean())
+					return false;
+				while (!eof && section.length() < QuickTextFilter.STREAM_SECTION + QuickTextFilter.STREAM_OVERLAP) {
+					int read = in.read(readBuffer);
+					if (read < 0)
+						eof = true;
+					else
+						section.append(readBuffer, 0, read);
+				}
+				int limit;
+				if (eof)
+					limit = section.length();
+				else {
+					// Hold back the overlap, starting at a line boundary so that whole-line filters see the entire line
+					limit = section.length() - QuickTextFilter.STREAM_OVERLAP;
+					int lineStart = section.lastIndexOf("\n", limit - 1) + 1;
+					if (lineStart > 0)
+						limit = lineStart;
+				}
+				SourcePositions positions = needsPositions ? new SourcePositions(section, line, column) : null;
+				int consumed = pass.apply(section, limit, positions, str);
+				out.append(str);
+				str.setLength(0);
+				if (positions != null) {
+					line = positions.getLine(consumed);
+					column = positions.getColumn(consumed);
+				}
+				section.delete(0, consumed);
+				// Characters are counted against the byte length of the file, so this is approximate for non-ASCII text
+				filtered += consumed;
+				int percent = (int) Math.min(99, filtered * 100 / fileLength);
+				onUI.accept(() -> result.set("Filtering " + source.getName() + ": " + percent + "%"));
+			} while (!eof || section.length() > 0);
+		}
+		for (int f = 0; f < filters.size(); f++)
+			filterResult.filterApplied[f] = pass.getApplied(f);
+		filterResult.applied = pass.getApplied();
+		filterResult.rounds = 1;
+		return true;
+	}
+
+	/** The number of rounds and matches of a filtering operation */
+	static class FilterResult {
+		int rounds;
+		int applied;
+		final int[] filterApplied;
+
+		FilterResult(int filters) {
+			filterApplied = new int[filters];
+		}
+	}
+}
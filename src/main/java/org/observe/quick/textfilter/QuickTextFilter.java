@@ -1,7 +1,9 @@
 package org.observe.quick.textfilter;
 
 import java.awt.Color;
+import java.awt.EventQueue;
 import java.beans.Transient;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +18,14 @@ import org.qommons.io.BetterPattern.Matcher;
  * be used against matches of the filter string to create a modified text document.
  */
 public interface QuickTextFilter extends QuickTextPattern {
+	/**
+	 * The number of characters of a file to filter at a time when
+	 * {@link #applyPatterns(File, File, List, boolean, boolean, SettableValue) streaming}
+	 */
+	int STREAM_SECTION = 1 << 20;
+	/** The number of characters after each streamed section that are available to matches starting in the section */
+	int STREAM_OVERLAP = 1 << 16;
+
 	boolean isEnabled();
 	QuickTextFilter setEnabled(boolean enabled);
 
@@ -91,89 +101,97 @@ public interface QuickTextFilter extends QuickTextPattern {
 		SettableValue<String> result) {
 		if (source == null || source.isEmpty())
 			return source;
-		StringBuilder str = new StringBuilder(source);
-		List<MatchWithOffset> matches = new ArrayList<>(filters.size());
-		for (int f = 0; f < filters.size(); f++)
-			matches.add(new MatchWithOffset(f));
-		int anyApplied = 0;
-		boolean applied;
-		int round = 0;
-		int index;
-		int keepGoing = 100;
-		while (round == 0 || (multipleRounds && keepGoing > 0)) {
-			String roundSource = str.toString();
-			str.setLength(0);
-			applied = false;
-			index = 0;
-			for (int f = 0; f < filters.size(); f++) {
-				MatchWithOffset match = matches.get(f);
-				if (filters.get(f).isEnabled())
-					match.reset(filters.get(f).getRealPattern().matcher(roundSource));
-			}
-			for (MatchWithOffset match = firstMatch(matches); match != null; match = firstMatch(matches)) {
-				QuickTextFilter filter = filters.get(match.filterIndex);
-				match.applied++;
-				applied = true;
-				anyApplied++;
-				if (!multipleRounds && filter.isPrintSourcePosition())
-					str.append(QuickTextPattern.printPosition(match.getStart(), source)).append(": ");
-				if (preserveUnmatched || round > 0) {
-					str.append(roundSource, index, match.getStart());
-				} else if (filter.isIncludeWholeLine()) {
-					int lineStart = match.getStart();
-					while (lineStart > index && roundSource.charAt(lineStart - 1) != '\n')
-						lineStart--;
-					str.append(roundSource, lineStart, match.getStart());
-				}
-				index = match.getEnd();
-				filter.appendReplacement(str, match.match);
-				if (!preserveUnmatched && round == 0 && filter.isIncludeWholeLine()) {
-					int lineEnd = index;
-					while (lineEnd < roundSource.length() && roundSource.charAt(lineEnd) != '\n')
-						lineEnd++;
-					if (lineEnd < roundSource.length())
-						lineEnd++; // Include the newline
-					str.append(roundSource, index, lineEnd);
-					index = lineEnd;
-				}
-				do {
-					match.nextMatch();
-				} while (match.match != null && match.getStart() < index);
-				for (MatchWithOffset other : matches) {
-					if (other != match) {
-						while (other.match != null && other.getStart() < index) {
-							other.nextMatch();
-						}
-					}
-				}
+		FilterRunner.FilterResult filterResult = new FilterRunner.FilterResult(filters.size());
+		String filtered = FilterRunner.filter(source, filters, multipleRounds, preserveUnmatched, filterResult);
+		reportStatus(filters, filterResult.rounds, filterResult.applied, filterResult.filterApplied, result);
+		return filtered;
+	}
+
+	/**
+	 * <p>
+	 * Applies filters to a file, writing the result to another file.
+	 * </p>
+	 * <p>
+	 * For a single round of filtering, the source is streamed through in sections, so that memory use is bounded regardless of the size of
+	 * the file. Matches are only found within a section, with {@link #STREAM_OVERLAP} characters of context after the section, so
+	 * multi-line patterns that span more than that will not be matched. For multiple rounds, each round depends on the complete result of
+	 * the previous one, so the file is filtered in memory.
+	 * </p>
+	 * <p>
+	 * This method filters the file on the calling thread. UIs should use
+	 * {@link #filterFileInBackground(File, File, List, boolean, boolean, SettableValue, SettableValue)}.
+	 * </p>
+	 *
+	 * @param source The file to filter
+	 * @param target The file to write the filtered text to
+	 * @param filters The list of filters to apply
+	 * @param multipleRounds Whether to re-apply the filter list to the result over and over, as in
+	 *        {@link #applyPatterns(String, List, boolean, boolean, SettableValue)}
+	 * @param preserveUnmatched Whether to keep source text that was not matched by any filters in the first round
+	 * @param result A text variable in which to put a user-readable status for the result of the replacement
+	 */
+	public static void applyPatterns(File source, File target, List<QuickTextFilter> filters, boolean multipleRounds,
+		boolean preserveUnmatched, SettableValue<String> result) {
+		FilterRunner.filterFile(source, target, filters, multipleRounds, preserveUnmatched, result, () -> false, Runnable::run);
+	}
+
+	/**
+	 * Starts {@link #applyPatterns(File, File, List, boolean, boolean, SettableValue) filtering a file} on a background thread. Progress
+	 * and the result are reported to the result value on the EDT. The filters should not be modified while the file is being filtered.
+	 *
+	 * @param source The file to filter
+	 * @param target The file to write the filtered text to
+	 * @param filters The list of filters to apply
+	 * @param multipleRounds Whether to re-apply the filter list to the result over and over
+	 * @param preserveUnmatched Whether to keep source text that was not matched by any filters in the first round
+	 * @param result A text variable in which to put a user-readable status for the progress and result of the replacement
+	 * @param running A value which is set to true while the file is being filtered. Setting it to false cancels the filtering.
+	 */
+	public static void filterFileInBackground(File source, File target, List<QuickTextFilter> filters, boolean multipleRounds,
+		boolean preserveUnmatched, SettableValue<String> result, SettableValue<Boolean> running) {
+		if (Boolean.TRUE.equals(running.get()))
+			return; // Already filtering
+		List<QuickTextFilter> filterCopy = new ArrayList<>(filters);
+		running.set(true);
+		Thread worker = new Thread(() -> {
+			try {
+				FilterRunner.filterFile(source, target, filterCopy, multipleRounds, preserveUnmatched, result,
+					() -> !Boolean.TRUE.equals(running.get()), EventQueue::invokeLater);
+			} finally {
+				EventQueue.invokeLater(() -> running.set(false));
 			}
-			if (preserveUnmatched || round > 0)
-				str.append(roundSource, index, roundSource.length());
-			if (!applied || sequencesEqual(str, roundSource))
-				break;
-			else if (str.length() >= roundSource.length())
-				keepGoing--; // Don't keep replacing forever if there's no terminal condition
-			round++;
-		}
+		}, "Quick Text File Filter");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * @param filters The filters that were applied
+	 * @param rounds The number of rounds of filtering that were applied
+	 * @param anyApplied The total number of matches replaced
+	 * @param filterApplied The number of matches replaced for each filter
+	 * @param result A text variable in which to put a user-readable status for the result of the replacement
+	 */
+	static void reportStatus(List<QuickTextFilter> filters, int rounds, int anyApplied, int[] filterApplied, SettableValue<String> result) {
 		if (anyApplied == 0)
 			result.set("No matches found");
 		else {
-			StringBuilder resultStr = new StringBuilder("In ").append(round).append(" round");
-			if (round > 1)
+			StringBuilder resultStr = new StringBuilder("In ").append(rounds).append(" round");
+			if (rounds > 1)
 				resultStr.append('s');
 			resultStr.append(" of searching, replaced ").append(anyApplied).append(" match");
 			if (anyApplied > 1)
 				resultStr.append("es");
+			result.set(resultStr.toString());
 			for (int f = 0; f < filters.size(); f++) {
 				if (!filters.get(f).isEnabled())
 					filters.get(f).setStatus(null).update();
 				else {
-					int count = matches.get(f).applied;
+					int count = filterApplied[f];
 					filters.get(f).setStatus(count == 0 ? "Not found" : "Found " + count + " time" + (count == 1 ? "" : "s")).update();
 				}
 			}
 		}
-		return str.toString();
 	}
 
 	static class MatchWithOffset implements Comparable<MatchWithOffset> {
@@ -212,13 +230,6 @@ public interface QuickTextFilter extends QuickTextPattern {
 		}
 	}
 
-	static MatchWithOffset firstMatch(List<MatchWithOffset> matches) {
-		return matches.stream()//
-			.filter(mwo -> mwo.match != null)//
-			.min(MatchWithOffset::compareTo)//
-			.orElse(null);
-	}
-
 	static boolean sequencesEqual(CharSequence seq1, CharSequence seq2) {
 		if (seq1.length() != seq2.length())
 			return false;
@@ -124,24 +124,7 @@ public interface QuickTextPattern {
 	}
 
 	static String printPosition(int pos, String text) {
-		int line = 1;
-		int col = 1;
-		for (int i = 0; i < pos; i++) {
-			switch (text.charAt(i)) {
-			case '\n':
-				line++;
-				col = 1;
-				break;
-			case '\t':
-				col += 4;
-				break;
-			case '\r':
-				break;
-			default:
-				col++;
-			}
-		}
-		return "Line " + line + " Col " + col;
+		return SourcePositions.of(text).printPosition(pos);
 	}
 
 	default int searchCount(String source) {
@@ -167,7 +150,7 @@ public interface QuickTextPattern {
 		} while (match != null);
 
 		if (count == 1) {
-			setStatus("1 match found at " + printPosition(firstMatch, source));
+			setStatus("1 match found at " + SourcePositions.of(source).printPosition(firstMatch));
 		} else
 			setStatus(count + " matches found");
 		return count;
@@ -185,6 +168,8 @@ public interface QuickTextPattern {
 			rebuild();
 			pattern = getRealPattern();
 		}
+		// Searches are typically repeated over the same document, so the position index is cached
+		SourcePositions positions = SourcePositions.of(source);
 		if (forward) {
 			Match match = find(new DefaultCharSubSequence(source, lead.get(), source.length()));
 			if (match != null) {
@@ -192,7 +177,7 @@ public interface QuickTextPattern {
 				try (Causable.CausableInUse cause = Causable.cause()) {
 					anchor.set(pos, cause);
 					lead.set(lead.get() + match.getEnd(), cause);
-					setStatus("Match found at " + printPosition(pos, source));
+					setStatus("Match found at " + positions.printPosition(pos));
 				}
 			} else {
 				match = find(source);
@@ -201,7 +186,7 @@ public interface QuickTextPattern {
 					try (Causable.CausableInUse cause = Causable.cause()) {
 						anchor.set(pos, cause);
 						lead.set(match.getEnd(), cause);
-						setStatus("End reached. Starting at beginning. " + printPosition(pos, source));
+						setStatus("End reached. Starting at beginning. " + positions.printPosition(pos));
 					}
 				} else
 					setStatus("No match found in document");
@@ -220,7 +205,7 @@ public interface QuickTextPattern {
 				try (Causable.CausableInUse cause = Causable.cause()) {
 					anchor.set(pos, cause);
 					lead.set(match.getEnd(), cause);
-					setStatus("Match found at " + printPosition(pos, source));
+					setStatus("Match found at " + positions.printPosition(pos));
 				}
 			} else {
 				matcher = pattern.matcher(source);
@@ -236,7 +221,7 @@ public interface QuickTextPattern {
 					try (Causable.CausableInUse cause = Causable.cause()) {
 						anchor.set(pos, cause);
 						lead.set(lead.get() + match.getEnd(), cause);
-						setStatus("Beginning.  Starting at end. " + printPosition(pos, source));
+						setStatus("Beginning.  Starting at end. " + positions.printPosition(pos));
 					}
 				} else
 					setStatus("No match found in document");
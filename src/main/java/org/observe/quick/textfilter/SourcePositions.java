@@ -0,0 +1,118 @@
+package org.observe.quick.textfilter;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * An index of the line starts in a text, so that the line and column of any position can be printed without re-scanning the text from
+ * the beginning
+ */
+class SourcePositions {
+	private static volatile SourcePositions theLastIndex;
+
+	private final WeakReference<CharSequence> theTextRef;
+	private final CharSequence theText;
+	/** The position of the first character of each line in the text */
+	private final int[] theLineStarts;
+	private final int theLineCount;
+	/** The 0-based line number of the first line of the text */
+	private final int theFirstLine;
+	/** The column of the first character of the text */
+	private final int theFirstColumn;
+
+	/**
+	 * @param text The text to index
+	 * @return The position index for the text. The index for the most recently indexed text is cached, so repeated calls for the same
+	 *         text (e.g. when searching the same document repeatedly) do not need to re-scan it.
+	 */
+	static SourcePositions of(String text) {
+		SourcePositions index = theLastIndex;
+		if (index == null || index.theTextRef.get() != text) {
+			index = new SourcePositions(text, false, 0, 1);
+			theLastIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Creates an index for a single use, e.g. within a filter operation
+	 *
+	 * @param text The text to index
+	 */
+	SourcePositions(CharSequence text) {
+		this(text, true, 0, 1);
+	}
+
+	/**
+	 * Creates an index for a section of a larger text, e.g. a chunk of a file being streamed
+	 *
+	 * @param text The section of text to index
+	 * @param firstLine The 0-based line number in the larger text of the first line of the section
+	 * @param firstColumn The column in the larger text of the first character of the section
+	 */
+	SourcePositions(CharSequence text, int firstLine, int firstColumn) {
+		this(text, true, firstLine, firstColumn);
+	}
+
+	private SourcePositions(CharSequence text, boolean strong, int firstLine, int firstColumn) {
+		// The cached index must not keep a large document in memory after it is no longer used
+		theTextRef = new WeakReference<>(text);
+		theText = strong ? text : null;
+		int[] lineStarts = new int[Math.max(16, text.length() / 64)];
+		int lines = 1; // The first line starts at 0
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				if (lines == lineStarts.length)
+					lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+				lineStarts[lines++] = i + 1;
+			}
+		}
+		theLineStarts = lineStarts;
+		theLineCount = lines;
+		theFirstLine = firstLine;
+		theFirstColumn = firstColumn;
+	}
+
+	/**
+	 * @param pos The position in the text
+	 * @return The 0-based line number of the position
+	 */
+	int getLine(int pos) {
+		return theFirstLine + getLocalLine(pos);
+	}
+
+	private int getLocalLine(int pos) {
+		int found = Arrays.binarySearch(theLineStarts, 0, theLineCount, pos);
+		return found >= 0 ? found : -found - 2;
+	}
+
+	/**
+	 * @param pos The position in the text
+	 * @return The 1-based column of the position
+	 */
+	int getColumn(int pos) {
+		CharSequence text = theText != null ? theText : theTextRef.get();
+		int line = getLocalLine(pos);
+		int col = line == 0 ? theFirstColumn : 1;
+		for (int i = theLineStarts[line]; i < pos; i++) {
+			switch (text.charAt(i)) {
+			case '\t':
+				col += 4;
+				break;
+			case '\r':
+				break;
+			default:
+				col++;
+			}
+		}
+		return col;
+	}
+
+	/**
+	 * @param pos The position in the text
+	 * @return A user-readable representation of the line and column of the position, as {@link QuickTextPattern#printPosition(int, String)}
+	 */
+	String printPosition(int pos) {
+		return "Line " + (getLine(pos) + 1) + " Col " + getColumn(pos);
+	}
+}
@@ -107,6 +107,16 @@
 				</transform>
 				<hook name="applyOnSourceChange" on="source">(!filterSetDirty &amp; canApplyFilters==null) ? doApplyFilters : null</hook>
 				<hook name="watchGlobalFilterSettings" on="source || config.multiRound || config.preserveUnmatched">filterSetChanged=true</hook>
+				
+				<!-- Filters a file directly to another file, for files too large to load into the text areas -->
+				<value name="streamSource" type="java.io.File" />
+				<value name="streamTarget" type="java.io.File" />
+				<value name="filteringFile" init="false" />
+				<action name="filterFile" always-enabled="true">
+					QuickTextFilter.filterFileInBackground(streamSource, streamTarget, filters, config.multiRound, config.preserveUnmatched,
+						resultStatus, filteringFile)
+				</action>
+				<action name="cancelFilterFile">filteringFile=false</action>
 			</model>
 		</models>
 		<style-sheet>
@@ -293,6 +303,14 @@
 				<box layout="inline-layout" orientation="horizontal" main-align="center" cross-align="justify">
 					<button action="app.applyFilters">`Apply Filters`"</button>
 				</box>
+				<field-panel>
+					<file-button field-label="`Filter File:`" value="app.streamSource" open="true" file-descrip="`Text file to filter`" />
+					<file-button field-label="`Write To:`" value="app.streamTarget" open="false" file-descrip="`Filtered text file`" />
+				</field-panel>
+				<box layout="inline-layout" orientation="horizontal" main-align="center" cross-align="justify">
+					<button action="app.filterFile" visible="!app.filteringFile">`Filter File`</button>
+					<button action="app.cancelFilterFile" visible="app.filteringFile">`Cancel`</button>
+				</box>
 			</box>
 		</general-dialog>
 		<split orientation="horizontal" split-position="`100%`*config.mainSplit">
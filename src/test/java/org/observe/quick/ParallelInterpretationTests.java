@@ -0,0 +1,83 @@
+package org.observe.quick;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.observe.expresso.CompiledExpressoEnv;
+import org.observe.expresso.ExpressoInterpretationException;
+import org.observe.expresso.InterpretedExpressoEnv;
+import org.observe.expresso.ObservableModelSet;
+import org.observe.expresso.qonfig.ExpressoDocument;
+import org.observe.expresso.qonfig.ExpressoHeadSection;
+import org.qommons.StringUtils;
+import org.qommons.config.QonfigInterpretationException;
+import org.qommons.config.QonfigParseException;
+import org.qommons.io.TextParseException;
+
+/** Tests {@link ParallelInterpretation} against serial interpretation of the same documents */
+public class ParallelInterpretationTests {
+	/** The number of times to interpret each document in parallel, to give races a chance to show up */
+	private static final int PARALLEL_RUNS = 10;
+
+	/** Reverts to the system property after each test */
+	@After
+	public void resetParallel() {
+		ParallelInterpretation.setParallel(null);
+	}
+
+	/**
+	 * Interprets a document with several tabs and other sibling containers serially, then repeatedly in parallel, and checks that each
+	 * parallel interpretation produces the same widget structure as the serial one
+	 *
+	 * @throws IOException If the document could not be read
+	 * @throws TextParseException If the document could not be parsed as XML
+	 * @throws QonfigParseException If the document could not be validated
+	 * @throws QonfigInterpretationException If the document could not be compiled
+	 * @throws ExpressoInterpretationException If the document could not be interpreted
+	 */
+	@Test
+	public void testParallelTabs()
+		throws IOException, TextParseException, QonfigParseException, QonfigInterpretationException, ExpressoInterpretationException {
+		String serial = interpretStructure("swing/tabs-demo-app.qml", false);
+		for (int i = 0; i < PARALLEL_RUNS; i++)
+			Assert.assertEquals(serial, interpretStructure("swing/tabs-demo-app.qml", true));
+	}
+
+	private static String interpretStructure(String appFile, boolean parallel)
+		throws IOException, TextParseException, QonfigParseException, QonfigInterpretationException, ExpressoInterpretationException {
+		ParallelInterpretation.setParallel(parallel);
+		URL appUrl = ParallelInterpretationTests.class.getResource(appFile);
+		Assert.assertNotNull("No such app file " + appFile, appUrl);
+		QuickApp quickApp = QuickApp.parseApp(appUrl, new URL[] { QuickApplication.class.getResource("quick-app.qtd") },
+			Collections.emptyList(), null);
+		QuickDocument.Def quickDocDef = quickApp.parseQuick(null);
+
+		InterpretedExpressoEnv env = InterpretedExpressoEnv.INTERPRETED_STANDARD_JAVA;
+		if (quickDocDef.getHead().getClassViewElement() != null)
+			env = env.with(quickDocDef.getHead().getClassViewElement().configureClassView(env.getClassView().copy()).build());
+		ExpressoHeadSection.Def head = quickDocDef.getAddOn(ExpressoDocument.Def.class).getHead();
+		CompiledExpressoEnv headEnv = head.getExpressoEnv(head.getDocument());
+		ObservableModelSet.ExternalModelSet extModels = QuickApp.parseExtModels(headEnv.getBuiltModels(), Collections.emptyList(),
+			ObservableModelSet.buildExternal(ObservableModelSet.JAVA_NAME_CHECKER), env);
+
+		QuickDocument.Interpreted interpretedDoc = quickDocDef.interpret(null);
+		interpretedDoc.updateDocument(env.withExt(extModels));
+		StringBuilder structure = new StringBuilder();
+		printStructure(interpretedDoc.getBody(), structure, 0);
+		interpretedDoc.destroy();
+		return structure.toString();
+	}
+
+	private static void printStructure(QuickWidget.Interpreted<?> widget, StringBuilder structure, int indent) {
+		StringUtils.indent(structure, indent);
+		structure.append(widget.getClass().getName()).append(' ').append(widget.getDefinition().reporting().getPosition()).append('\n');
+		if (widget instanceof QuickContainer.Interpreted) {
+			for (QuickWidget.Interpreted<?> content : ((QuickContainer.Interpreted<?, ?>) widget).getContents())
+				printStructure(content, structure, indent + 1);
+		}
+	}
+}
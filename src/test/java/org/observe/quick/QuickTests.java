@@ -3,12 +3,21 @@ package org.observe.quick;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
+import org.observe.quick.draw.SampleSeriesTests;
 import org.observe.quick.style.QuickStyleTests;
+import org.observe.quick.textfilter.FilterPassTests;
+import org.observe.quick.textfilter.FilterRunnerTests;
+import org.observe.quick.textfilter.SourcePositionsTests;
 
 /** Runs all unit tests in the ObServe project. */
 @RunWith(Suite.class)
 @SuiteClasses({ //
-	QuickStyleTests.class
+	QuickStyleTests.class, //
+	ParallelInterpretationTests.class, //
+	SampleSeriesTests.class, //
+	FilterPassTests.class, //
+	FilterRunnerTests.class, //
+	SourcePositionsTests.class
 })
 public class QuickTests {
 }
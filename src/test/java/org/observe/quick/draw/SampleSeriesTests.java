@@ -0,0 +1,122 @@
+package org.observe.quick.draw;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests {@link SampleSeries} and its {@link SampleSeries.Mirror} */
+public class SampleSeriesTests {
+	/** Tests that the series and a mirror stay correct as the ring buffer wraps around many times */
+	@Test
+	public void testWrapAround() {
+		SampleSeries series = new SampleSeries(4);
+		SampleSeries.Mirror mirror = new SampleSeries.Mirror(4);
+		for (int i = 0; i < 19; i++) {
+			series.append(i, i * 10);
+			Assert.assertTrue(mirror.update(series));
+			assertMirrors(series, mirror);
+			Assert.assertEquals(Math.min(i + 1, 4), series.size());
+			Assert.assertEquals(Math.max(0, i - 3), series.getX(0), 0);
+			Assert.assertEquals(i, series.getX(series.size() - 1), 0);
+			Assert.assertEquals(i * 10, series.getY(series.size() - 1), 0);
+		}
+		Assert.assertFalse(mirror.update(series));
+	}
+
+	/** Tests that samples outside the window are evicted, and that a mirror drops them as well */
+	@Test
+	public void testWindowEviction() {
+		SampleSeries series = new SampleSeries(100, 5);
+		SampleSeries.Mirror mirror = new SampleSeries.Mirror(100);
+		List<SampleSeries.SeriesChange> changes = new ArrayList<>();
+		series.changes().act(changes::add);
+		for (int i = 0; i <= 20; i++) {
+			series.append(i, -i);
+			Assert.assertTrue(mirror.update(series));
+			assertMirrors(series, mirror);
+			Assert.assertEquals(Math.max(0, i - 5), series.getX(0), 0);
+		}
+		Assert.assertEquals(6, series.size());
+		Assert.assertEquals(21, changes.size());
+		for (int i = 0; i < changes.size(); i++) {
+			Assert.assertEquals(1, changes.get(i).getAppended());
+			Assert.assertEquals(i > 5 ? 1 : 0, changes.get(i).getEvicted());
+		}
+
+		// A gap in the x-coordinates evicts several samples at once
+		changes.clear();
+		series.appendAll(new double[] { 23, 24 }, new double[] { -23, -24 }, 2);
+		Assert.assertEquals(1, changes.size());
+		Assert.assertEquals(2, changes.get(0).getAppended());
+		Assert.assertEquals(4, changes.get(0).getEvicted());
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+		Assert.assertEquals(19, series.getX(0), 0);
+	}
+
+	/** Tests that a mirror follows a series through {@link SampleSeries#clear()} and subsequent appends */
+	@Test
+	public void testClearThenAppend() {
+		SampleSeries series = new SampleSeries(4);
+		SampleSeries.Mirror mirror = new SampleSeries.Mirror(4);
+		for (int i = 0; i < 6; i++)
+			series.append(i, i);
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+
+		series.clear();
+		Assert.assertEquals(0, series.size());
+		Assert.assertTrue(mirror.update(series));
+		Assert.assertEquals(0, mirror.size());
+		Assert.assertFalse(mirror.update(series));
+
+		for (int i = 0; i < 3; i++)
+			series.append(100 + i, 200 + i);
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+		Assert.assertEquals(3, mirror.size());
+		Assert.assertEquals(100, mirror.getX(0), 0);
+
+		// Clear and refill without updating the mirror in between
+		series.clear();
+		for (int i = 0; i < 5; i++)
+			series.append(300 + i, 400 + i);
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+		Assert.assertEquals(301, mirror.getX(0), 0);
+	}
+
+	/** Tests a mirror that has fallen more than a full capacity of samples behind its series */
+	@Test
+	public void testMirrorFarBehind() {
+		SampleSeries series = new SampleSeries(4);
+		SampleSeries.Mirror mirror = new SampleSeries.Mirror(4);
+		series.append(0, 0);
+		series.append(1, 1);
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+
+		for (int i = 2; i < 13; i++)
+			series.append(i, i * i);
+		Assert.assertTrue(mirror.update(series));
+		assertMirrors(series, mirror);
+		Assert.assertEquals(9, mirror.getX(0), 0);
+		Assert.assertEquals(144, mirror.getY(3), 0);
+
+		// A mirror switched to a different series starts over
+		SampleSeries other = new SampleSeries(4);
+		other.append(-1, -1);
+		Assert.assertTrue(mirror.update(other));
+		assertMirrors(other, mirror);
+	}
+
+	private static void assertMirrors(SampleSeries series, SampleSeries.Mirror mirror) {
+		Assert.assertEquals(series.size(), mirror.size());
+		for (int i = 0; i < series.size(); i++) {
+			Assert.assertEquals(series.getX(i), mirror.getX(i), 0);
+			Assert.assertEquals(series.getY(i), mirror.getY(i), 0);
+		}
+	}
+}
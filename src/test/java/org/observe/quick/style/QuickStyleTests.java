@@ -1,5 +1,9 @@
 package org.observe.quick.style;
 
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.observe.ObservableValue;
@@ -10,6 +14,11 @@ import org.observe.expresso.tests.AbstractExpressoTest;
 
 /** Tests the default implementation of the Quick-Style toolkit */
 public class QuickStyleTests extends AbstractExpressoTest<ExpressoHeadSection> {
+	/** A static final field, which style values may treat as constant */
+	public static final int FINAL_STYLE_VALUE = 3;
+	/** A static field which may change, so style values referring to it may not be treated as constant */
+	public static int NON_FINAL_STYLE_VALUE = 5;
+
 	@Override
 	protected String getTestAppFile() {
 		return "quick-style-tests-app.qml";
@@ -54,6 +63,66 @@ public class QuickStyleTests extends AbstractExpressoTest<ExpressoHeadSection> {
 		executeTest("localStyleSheet");
 	}
 
+	/**
+	 * Tests style sheet rules keyed by child role, element type, and add-on, and checks that the {@link StyleRuleIndex indexed} style
+	 * sheet lookup for every styled test element compiled so far matched a linear scan of the style sheet
+	 *
+	 * @throws ExpressoInterpretationException If an error occurs interpreting the test
+	 * @throws ModelInstantiationException If an error occurs instantiating the test structures
+	 */
+	@Test
+	public void testStyleRuleIndex() throws ExpressoInterpretationException, ModelInstantiationException {
+		executeTest("styleRuleIndex");
+		Assert.assertTrue(TestInterpretation.getStyleRuleIndexChecks() > 0);
+		Assert.assertEquals(Collections.emptyList(), TestInterpretation.getStyleRuleIndexMismatches());
+	}
+
+	/**
+	 * Tests style values which are constant, and so are shared between element instances, next to values depending on models
+	 *
+	 * @throws ExpressoInterpretationException If an error occurs interpreting the test
+	 * @throws ModelInstantiationException If an error occurs instantiating the test structures
+	 */
+	@Test
+	public void testConstantStyleValues() throws ExpressoInterpretationException, ModelInstantiationException {
+		executeTest("constantStyleValues");
+	}
+
+	/**
+	 * Tests that style values follow changes to the conditions they are applied under, including conditions shared between attributes
+	 *
+	 * @throws ExpressoInterpretationException If an error occurs interpreting the test
+	 * @throws ModelInstantiationException If an error occurs instantiating the test structures
+	 */
+	@Test
+	public void testConditionalStyleValues() throws ExpressoInterpretationException, ModelInstantiationException {
+		executeTest("conditionalStyleValues");
+	}
+
+	/**
+	 * Tests that style values referring to static final fields, or operating on them, are treated as constant, but values referring to
+	 * non-final static fields are not
+	 *
+	 * @throws ExpressoInterpretationException If an error occurs interpreting the test
+	 * @throws ModelInstantiationException If an error occurs instantiating the test structures
+	 */
+	@Test
+	public void testStaticFieldStyleValues() throws ExpressoInterpretationException, ModelInstantiationException {
+		executeTest("staticFieldStyleValues");
+		int finalValues = 0, nonFinalValues = 0;
+		for (Map.Entry<String, Boolean> constancy : TestInterpretation.getStyleValueConstancy().entrySet()) {
+			if (constancy.getKey().contains("NON_FINAL_STYLE_VALUE")) {
+				nonFinalValues++;
+				Assert.assertFalse(constancy.getKey(), constancy.getValue());
+			} else if (constancy.getKey().contains("FINAL_STYLE_VALUE")) {
+				finalValues++;
+				Assert.assertTrue(constancy.getKey(), constancy.getValue());
+			}
+		}
+		Assert.assertEquals(2, finalValues);
+		Assert.assertEquals(1, nonFinalValues);
+	}
+
 	/**
 	 * Tests against an inline style sheet with conditionally-applied style sets
 	 *
@@ -2,8 +2,12 @@ package org.observe.quick.style;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.observe.ObservableValue;
@@ -24,6 +28,7 @@ import org.observe.expresso.qonfig.CompiledExpression;
 import org.observe.expresso.qonfig.DocumentMap;
 import org.observe.expresso.qonfig.ExElement;
 import org.observe.expresso.qonfig.ExNamed;
+import org.observe.expresso.qonfig.ExWithRequiredModels;
 import org.observe.expresso.qonfig.ExpressoQIS;
 import org.observe.expresso.qonfig.ModelValueElement;
 import org.observe.expresso.qonfig.ObservableModelElement;
@@ -46,6 +51,63 @@ public class TestInterpretation implements QonfigInterpretation {
 	/** The version of the test toolkit */
 	public static final Version VERSION = new Version(0, 1, 0);
 
+	private static final AtomicInteger STYLE_RULE_INDEX_CHECKS = new AtomicInteger();
+	private static final List<String> STYLE_RULE_INDEX_MISMATCHES = Collections.synchronizedList(new ArrayList<>());
+	private static final Map<String, Boolean> STYLE_VALUE_CONSTANCY = new ConcurrentHashMap<>();
+
+	/** @return The number of styled test elements whose indexed style sheet lookup has been checked against a linear scan of the sheet */
+	public static int getStyleRuleIndexChecks() {
+		return STYLE_RULE_INDEX_CHECKS.get();
+	}
+
+	/** @return Descriptions of each styled test element for which the indexed style sheet lookup differed from a linear scan */
+	public static List<String> getStyleRuleIndexMismatches() {
+		synchronized (STYLE_RULE_INDEX_MISMATCHES) {
+			return new ArrayList<>(STYLE_RULE_INDEX_MISMATCHES);
+		}
+	}
+
+	/**
+	 * @return Whether each style value interpreted so far for a test element's style attributes was {@link InterpretedStyleValue#isConstant()
+	 *         constant}, keyed by the text of its value expression
+	 */
+	public static Map<String, Boolean> getStyleValueConstancy() {
+		return new HashMap<>(STYLE_VALUE_CONSTANCY);
+	}
+
+	static <T> QuickInterpretedStyle.QuickElementStyleAttribute<T> recordConstancy(
+		QuickInterpretedStyle.QuickElementStyleAttribute<T> attribute) {
+		for (InterpretedStyleValue<T> value : attribute.getValues())
+			STYLE_VALUE_CONSTANCY.put(value.getStyleValue().getValueExpression().getExpression().toString(), value.isConstant());
+		return attribute;
+	}
+
+	/**
+	 * Collects style values the way style sheets did before {@link StyleRuleIndex}: by testing every rule of the sheet against the element
+	 *
+	 * @param styleSheet The style sheet to get style values from
+	 * @param styleValues The collection to add the style values into
+	 * @param element The element to get style values for
+	 * @param env The compiled environment to validate against
+	 * @throws QonfigInterpretationException If the style values could not be compiled
+	 */
+	static void scanStyleValues(QuickStyleSheet styleSheet, List<QuickStyleValue> styleValues, ExElement.Def<?> element,
+		CompiledExpressoEnv env) throws QonfigInterpretationException {
+		ExWithRequiredModels.RequiredModelContext modelContext = styleSheet.getAddOn(ExWithRequiredModels.Def.class).getContext(env);
+		for (QuickStyleElement.Def styleEl : styleSheet.getStyleElements())
+			styleEl.getStyleValues(styleValues, StyleApplicationDef.ALL, element, env, modelContext);
+		for (QuickStyleSheet imported : styleSheet.getImportedStyleSheets().values())
+			scanStyleValues(imported, styleValues, element, env);
+	}
+
+	private static List<String> printSorted(List<QuickStyleValue> styleValues) {
+		List<String> printed = new ArrayList<>(styleValues.size());
+		for (QuickStyleValue value : styleValues)
+			printed.add(value.toString());
+		Collections.sort(printed);
+		return printed;
+	}
+
 	@Override
 	public Set<Class<? extends SpecialSession<?>>> getExpectedAPIs() {
 		return QommonsUtils.unmodifiableDistinctCopy(ExpressoQIS.class);
@@ -78,6 +140,7 @@ public class TestInterpretation implements QonfigInterpretation {
 		static abstract class Def<T> extends QuickStyledElement.Def.Abstract<StyledTestElement<T>>
 		implements ModelValueElement.CompiledSynth<SettableValue<?>, StyledTestElement<T>> {
 			private String theModelPath;
+			private QuickStyleSheet theStyleSheet;
 
 			protected Def(ExElement.Def<?> parent, QonfigElementOrAddOn qonfigType) {
 				super(parent, qonfigType);
@@ -109,6 +172,35 @@ public class TestInterpretation implements QonfigInterpretation {
 						theModelPath += "." + name;
 				}
 			}
+
+			@Override
+			protected void doUpdate(ExpressoQIS session) throws QonfigInterpretationException {
+				super.doUpdate(session);
+
+				theStyleSheet = session.get(ExWithStyleSheet.QUICK_STYLE_SHEET, QuickStyleSheet.class);
+			}
+
+			/** Checks that the style sheet's indexed lookup yields the same style values for this element as a linear scan of the sheet */
+			void checkStyleRuleIndex() {
+				if (theStyleSheet == null)
+					return;
+				CompiledExpressoEnv env = getExpressoEnv(getDocument());
+				List<QuickStyleValue> indexed = new ArrayList<>();
+				List<QuickStyleValue> scanned = new ArrayList<>();
+				try {
+					theStyleSheet.getStyleValues(indexed, this, env);
+					scanStyleValues(theStyleSheet, scanned, this, env);
+				} catch (QonfigInterpretationException e) {
+					STYLE_RULE_INDEX_MISMATCHES.add(reporting().getPosition() + ": " + e.getMessage());
+					return;
+				}
+				STYLE_RULE_INDEX_CHECKS.incrementAndGet();
+				List<String> indexedPrinted = printSorted(indexed);
+				List<String> scannedPrinted = printSorted(scanned);
+				if (!indexedPrinted.equals(scannedPrinted))
+					STYLE_RULE_INDEX_MISMATCHES
+					.add(reporting().getPosition() + ": indexed " + indexedPrinted + " but scanned " + scannedPrinted);
+			}
 		}
 
 		static abstract class Interpreted<T> extends QuickStyledElement.Interpreted.Abstract<StyledTestElement<T>>
@@ -144,6 +236,13 @@ public class TestInterpretation implements QonfigInterpretation {
 				update();
 			}
 
+			@Override
+			protected void doUpdate() throws ExpressoInterpretationException {
+				super.doUpdate();
+
+				getDefinition().checkStyleRuleIndex();
+			}
+
 			@Override
 			public StyledTestElement<T> instantiate() throws ModelInstantiationException {
 				return create();
@@ -731,8 +830,8 @@ public class TestInterpretation implements QonfigInterpretation {
 					super.update(element, styleSheet);
 					InterpretedExpressoEnv env = element.getDefaultEnv();
 					QuickInterpretedStyleCache cache = QuickInterpretedStyleCache.get(env);
-					s3 = get(cache.getAttribute(getDefinition().getS3(), int.class, env));
-					s4 = get(cache.getAttribute(getDefinition().getS4(), int.class, env));
+					s3 = recordConstancy(get(cache.getAttribute(getDefinition().getS3(), int.class, env)));
+					s4 = recordConstancy(get(cache.getAttribute(getDefinition().getS4(), int.class, env)));
 				}
 
 				@Override
@@ -1055,6 +1154,7 @@ public class TestInterpretation implements QonfigInterpretation {
 			private final ModelValueInstantiator<SettableValue<Integer>> h;
 
 			private final QuickStyleAttributeInstantiator<Integer> s6;
+			private final QuickStyleAttributeInstantiator<Integer> s7;
 
 			public Instantiator(D.Interpreted interpreted) throws ModelInstantiationException {
 				super(interpreted);
@@ -1062,6 +1162,7 @@ public class TestInterpretation implements QonfigInterpretation {
 				h = interpreted.h.instantiate();
 
 				s6 = interpreted.getStyle().getS6().instantiate();
+				s7 = interpreted.getStyle().getS7().instantiate();
 			}
 
 			@Override
@@ -1075,26 +1176,35 @@ public class TestInterpretation implements QonfigInterpretation {
 				ObservableValue<Integer> s4, List<A> children, ModelSetInstance models) throws ModelInstantiationException {
 				SettableValue<Integer> hInst = h.get(models);
 				ObservableValue<Integer> s6Inst = s6.evaluate(models);
+				ObservableValue<Integer> s7Inst = s7.evaluate(models);
 
-				return SettableValue.of(new D(eInst, fInst, hInst, s3, s4, s6Inst, children), "Not settable");
+				return SettableValue.of(new D(eInst, fInst, hInst, s3, s4, s6Inst, s7Inst, children), "Not settable");
 			}
 		}
 
 		static class Style extends B.Style {
 			static class Def extends B.Style.Def {
 				private final QuickStyleAttributeDef s6;
+				private final QuickStyleAttributeDef s7;
 
 				public Def(QuickInstanceStyle.Def parent, D.Def styledElement, QuickCompiledStyle wrapped) {
 					super(parent, styledElement, wrapped);
 					QuickTypeStyle typeStyle = QuickStyled.getTypeStyle(wrapped.getStyleTypes(), wrapped.getElement(), TOOLKIT_NAME,
 						VERSION, "d");
 					s6 = addApplicableAttribute(typeStyle.getAttribute("s6"));
+					QuickTypeStyle highlightedStyle = QuickStyled.getTypeStyle(wrapped.getStyleTypes(), wrapped.getElement(), TOOLKIT_NAME,
+						VERSION, "highlighted");
+					s7 = addApplicableAttribute(highlightedStyle.getAttribute("s7"));
 				}
 
 				public QuickStyleAttributeDef getS6() {
 					return s6;
 				}
 
+				public QuickStyleAttributeDef getS7() {
+					return s7;
+				}
+
 				@Override
 				public Interpreted interpret(ExElement.Interpreted<?> parentEl, QuickInterpretedStyle parent)
 					throws ExpressoInterpretationException {
@@ -1105,6 +1215,7 @@ public class TestInterpretation implements QonfigInterpretation {
 
 			static class Interpreted extends B.Style.Interpreted {
 				private QuickElementStyleAttribute<Integer> s6;
+				private QuickElementStyleAttribute<Integer> s7;
 
 				public Interpreted(Def definition, D.Interpreted styledElement, QuickInstanceStyle.Interpreted parent,
 					QuickInterpretedStyle wrapped) {
@@ -1120,13 +1231,18 @@ public class TestInterpretation implements QonfigInterpretation {
 					return s6;
 				}
 
+				public QuickElementStyleAttribute<Integer> getS7() {
+					return s7;
+				}
+
 				@Override
 				public void update(ExElement.Interpreted<?> element, QuickStyleSheet.Interpreted styleSheet)
 					throws ExpressoInterpretationException {
 					super.update(element, styleSheet);
 					InterpretedExpressoEnv env = element.getDefaultEnv();
 					QuickInterpretedStyleCache cache = QuickInterpretedStyleCache.get(env);
-					s6 = get(cache.getAttribute(getDefinition().getS6(), int.class, env));
+					s6 = recordConstancy(get(cache.getAttribute(getDefinition().getS6(), int.class, env)));
+					s7 = recordConstancy(get(cache.getAttribute(getDefinition().getS7(), int.class, env)));
 				}
 			}
 		}
@@ -1135,12 +1251,15 @@ public class TestInterpretation implements QonfigInterpretation {
 		public final SettableValue<Integer> h;
 		/** Style value s6 */
 		public final ObservableValue<Integer> s6;
+		/** Style value s7, from the highlighted add-on */
+		public final ObservableValue<Integer> s7;
 
 		D(SettableValue<Boolean> e, SettableValue<Integer> f, SettableValue<Integer> h, ObservableValue<Integer> s3,
-			ObservableValue<Integer> s4, ObservableValue<Integer> s6, List<A> a) {
+			ObservableValue<Integer> s4, ObservableValue<Integer> s6, ObservableValue<Integer> s7, List<A> a) {
 			super(e, f, s3, s4, a);
 			this.h = h;
 			this.s6 = s6;
+			this.s7 = s7;
 		}
 	}
 }
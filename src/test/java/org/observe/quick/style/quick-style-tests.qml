@@ -241,6 +241,143 @@
 		<action>assertEquals(179, b0.a.get(0).s1)</action>
 		<!-- TODO Include local styles also-->
 	</test>
+	<test name="styleRuleIndex">
+		<model>
+			<!-- Elements which are and are not targeted by style sheet rules keyed by child role, element type, and add-on -->
+			<a name="a0" a="false" b="false" c="0" d="false" />
+			<b name="b0" e="false" f="0">
+				<a a="false" b="false" c="0" d="false" />
+			</b>
+			<c name="c0" e="false" f="0" g="false">
+				<a a="false" b="false" c="0" d="false" />
+			</c>
+			<d name="d0" e="false" f="0" h="0" />
+		</model>
+		<style-sheet>
+			<style element="b" attr="s3">3</style>
+			<style element="c">
+				<style attr="s5">true</style>
+				<style child="a" attr="s2">true</style>
+			</style>
+			<style element="d" attr="s6">6</style>
+			<style element="highlighted" attr="s7">7</style>
+		</style-sheet>
+
+		<!-- Role rule -->
+		<action>assertEquals(null, a0.s2)</action>
+		<action>assertEquals(null, b0.a.get(0).s2)</action>
+		<action>assertEquals(true, c0.a.get(0).s2)</action>
+		<!-- Type rules -->
+		<action>assertEquals(3, b0.s3)</action>
+		<action>assertEquals(3, c0.s3)</action>
+		<action>assertEquals(3, d0.s3)</action>
+		<action>assertEquals(true, c0.s5)</action>
+		<action>assertEquals(6, d0.s6)</action>
+		<!-- Add-on rule -->
+		<action>assertEquals(7, d0.s7)</action>
+	</test>
+	<test name="constantStyleValues">
+		<model>
+			<!-- Constant style values, which are shared between instances, next to values which depend on models -->
+			<d name="d0" e="false" f="0" h="1" />
+			<d name="d1" e="false" f="0" h="models.m3" />
+		</model>
+		<style-sheet>
+			<style element="d">
+				<style attr="s3">3</style>
+				<style attr="s4">models.m1</style>
+				<style attr="s6">h</style>
+				<style attr="s7">7</style>
+			</style>
+		</style-sheet>
+
+		<action>models.m1=10</action>
+		<action>models.m3=20</action>
+		<action>assertEquals(3, d0.s3)</action>
+		<action>assertEquals(3, d1.s3)</action>
+		<action>assertEquals(7, d0.s7)</action>
+		<action>assertEquals(7, d1.s7)</action>
+		<action>assertEquals(10, d0.s4)</action>
+		<action>assertEquals(10, d1.s4)</action>
+		<action>assertEquals(1, d0.s6)</action>
+		<action>assertEquals(20, d1.s6)</action>
+
+		<!-- Values depending on head models or element model values must not be treated as constant -->
+		<action>models.m1=11</action>
+		<action>assertEquals(11, d0.s4)</action>
+		<action>assertEquals(11, d1.s4)</action>
+		<action>models.m3=21</action>
+		<action>assertEquals(1, d0.s6)</action>
+		<action>assertEquals(21, d1.s6)</action>
+		<action>assertEquals(3, d1.s3)</action>
+	</test>
+	<test name="conditionalStyleValues">
+		<model>
+			<!-- Conditional styles sharing conditions between attributes, overriding a constant value -->
+			<d name="d0" e="models.m0" f="0" h="models.m1" />
+		</model>
+		<style-sheet>
+			<style element="d">
+				<style attr="s7">7</style>
+				<style if="e">
+					<style attr="s3">h</style>
+					<style attr="s7">h*10</style>
+					<style if="models.m2">
+						<style attr="s7">-1</style>
+					</style>
+				</style>
+				<style attr="s6" if="models.m2">6</style>
+			</style>
+		</style-sheet>
+
+		<action>models.m1=5</action>
+		<action>assertEquals(null, d0.s3)</action>
+		<action>assertEquals(7, d0.s7)</action>
+		<action>assertEquals(null, d0.s6)</action>
+
+		<!-- One condition change updates every attribute using the condition -->
+		<action>models.m0=true</action>
+		<action>assertEquals(5, d0.s3)</action>
+		<action>assertEquals(50, d0.s7)</action>
+
+		<!-- A nested condition overrides its parent's value, and a condition may be shared between rules -->
+		<action>models.m2=true</action>
+		<action>assertEquals(-1, d0.s7)</action>
+		<action>assertEquals(6, d0.s6)</action>
+		<action>assertEquals(5, d0.s3)</action>
+
+		<!-- Failing the outer condition drops the nested value as well -->
+		<action>models.m0=false</action>
+		<action>assertEquals(null, d0.s3)</action>
+		<action>assertEquals(7, d0.s7)</action>
+		<action>assertEquals(6, d0.s6)</action>
+
+		<!-- Values under a passing condition follow their models -->
+		<action>models.m0=true</action>
+		<action>models.m2=false</action>
+		<action>assertEquals(50, d0.s7)</action>
+		<action>assertEquals(null, d0.s6)</action>
+		<action>models.m1=8</action>
+		<action>assertEquals(8, d0.s3)</action>
+		<action>assertEquals(80, d0.s7)</action>
+	</test>
+	<test name="staticFieldStyleValues">
+		<model>
+			<!-- Style values referring to static fields, which are only constant if the field is final -->
+			<d name="d0" e="false" f="0" h="1" />
+		</model>
+		<style-sheet>
+			<style element="d">
+				<style attr="s3">-FINAL_STYLE_VALUE</style>
+				<style attr="s6">FINAL_STYLE_VALUE+1</style>
+				<style attr="s7">NON_FINAL_STYLE_VALUE</style>
+			</style>
+		</style-sheet>
+
+		<action>assertEquals(-FINAL_STYLE_VALUE, d0.s3)</action>
+		<action>assertEquals(FINAL_STYLE_VALUE+1, d0.s6)</action>
+		<action>assertEquals(NON_FINAL_STYLE_VALUE, d0.s7)</action>
+	</test>
 	<test name="importedStyleSheet">
 		<!-- TODO Test styles that are prescribed by a style sheet imported from outside this document -->
 		<model>
@@ -0,0 +1,107 @@
+package org.observe.quick.textfilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/** Tests {@link FilterPass} */
+public class FilterPassTests {
+	/** Tests that filtering a large text in parallel blocks produces the same text and counts as filtering it serially */
+	@Test
+	public void testParallelMatchesSerial() {
+		Assume.assumeTrue("Parallel filtering needs at least 2 cores", ForkJoinPool.getCommonPoolParallelism() >= 2);
+		String source = createSource(new Random(20), FilterPass.PARALLEL_THRESHOLD * 3);
+
+		// Empty matches at line ends and line starts fall on block boundaries
+		assertParallelMatchesSerial(source, true, Arrays.asList(//
+			TestTextFilter.regex("a+b", "X"), //
+			TestTextFilter.literal("foo", "bar"), //
+			TestTextFilter.regex("$", ";")));
+		assertParallelMatchesSerial(source, true, Arrays.asList(//
+			TestTextFilter.regex("^\\d+", "N"), //
+			TestTextFilter.regex("b*", "-")));
+
+		// Without preserving unmatched text, whole-line filters must see the entire line in their block
+		TestTextFilter wholeLine = TestTextFilter.literal("foo", "FOO");
+		wholeLine.setIncludeWholeLine(true);
+		assertParallelMatchesSerial(source, false, Arrays.asList(wholeLine, TestTextFilter.regex("a+b", "X")));
+
+		// Positions printed in each block must be relative to the whole text
+		TestTextFilter positioned = TestTextFilter.regex("\\d{3}", "#");
+		positioned.setPrintSourcePosition(true);
+		wholeLine = TestTextFilter.regex("b\ta", "tab");
+		wholeLine.setIncludeWholeLine(true);
+		assertParallelMatchesSerial(source, false, Arrays.asList(positioned, wholeLine));
+	}
+
+	/** Tests that a pass whose matches may span lines is not split into blocks */
+	@Test
+	public void testMultiLineNotParallel() {
+		String source = createSource(new Random(21), FilterPass.PARALLEL_THRESHOLD * 2);
+		int[] applied = new int[1];
+		Assert.assertNull(
+			FilterPass.applyParallel(source, Arrays.<QuickTextFilter> asList(TestTextFilter.regex("b\\s+a", "X")), true, applied));
+		Assert.assertEquals(0, applied[0]);
+
+		TestTextFilter positioned = TestTextFilter.literal("foo", "bar");
+		positioned.setPrintSourcePosition(true);
+		Assert.assertNull(FilterPass.applyParallel(source, Arrays.<QuickTextFilter> asList(positioned), true, applied));
+	}
+
+	private static void assertParallelMatchesSerial(String source, boolean preserveUnmatched, List<? extends QuickTextFilter> filters) {
+		List<QuickTextFilter> filterList = new ArrayList<>(filters);
+		int[] parallelApplied = new int[filterList.size()];
+		String parallel = FilterPass.applyParallel(source, filterList, preserveUnmatched, parallelApplied);
+		Assert.assertNotNull("Text was not filtered in parallel", parallel);
+
+		FilterPass serialPass = new FilterPass(filterList, preserveUnmatched, true, true);
+		SourcePositions positions = serialPass.needsPositions() ? new SourcePositions(source) : null;
+		StringBuilder serial = new StringBuilder();
+		Assert.assertEquals(source.length(), serialPass.apply(source, source.length(), positions, serial));
+
+		Assert.assertEquals(serial.length(), parallel.length());
+		for (int i = 0; i < parallel.length(); i++) {
+			if (parallel.charAt(i) != serial.charAt(i))
+				Assert.fail("Parallel result differs from serial at " + i + ": "
+					+ serial.substring(Math.max(0, i - 20), Math.min(serial.length(), i + 20)) + " vs "
+					+ parallel.substring(Math.max(0, i - 20), Math.min(parallel.length(), i + 20)));
+		}
+		for (int f = 0; f < filterList.size(); f++) {
+			Assert.assertTrue("Filter " + f + " was never applied", serialPass.getApplied(f) > 0);
+			Assert.assertEquals("Filter " + f, serialPass.getApplied(f), parallelApplied[f]);
+		}
+	}
+
+	/**
+	 * @param random The source of randomness for the text
+	 * @param length The minimum length of the text
+	 * @return A multi-line text of mostly short lines, with some empty lines, some Windows line endings, and some lines longer than a
+	 *         parallel block
+	 */
+	static String createSource(Random random, int length) {
+		String alphabet = "aab foo123\t";
+		StringBuilder str = new StringBuilder(length + FilterPass.PARALLEL_BLOCK * 2);
+		while (str.length() < length) {
+			int lineLength;
+			int type = random.nextInt(1000);
+			if (type == 0)
+				lineLength = FilterPass.PARALLEL_BLOCK + random.nextInt(FilterPass.PARALLEL_BLOCK);
+			else if (type < 50)
+				lineLength = 0;
+			else
+				lineLength = random.nextInt(200);
+			for (int c = 0; c < lineLength; c++)
+				str.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			if (random.nextInt(10) == 0)
+				str.append('\r');
+			str.append('\n');
+		}
+		return str.toString();
+	}
+}
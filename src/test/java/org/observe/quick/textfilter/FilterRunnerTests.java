@@ -0,0 +1,107 @@
+package org.observe.quick.textfilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.observe.SettableValue;
+
+/** Tests {@link FilterRunner} */
+public class FilterRunnerTests {
+	/** Holds the files to stream through the filters */
+	@Rule
+	public TemporaryFolder theFolder = new TemporaryFolder();
+
+	/**
+	 * Tests that streaming a file through filters in sections produces the same text and counts as filtering it in memory, for matches
+	 * that straddle the boundaries between sections
+	 *
+	 * @throws IOException If the files could not be written or read
+	 */
+	@Test
+	public void testStreamMatchesInMemory() throws IOException {
+		String source = createSource(new Random(19), QuickTextFilter.STREAM_SECTION * 3 + QuickTextFilter.STREAM_OVERLAP / 2);
+
+		// Every line break is matched, including the one at the end of each section,
+		// and blocks of several lines may run from a section into the overlap after it
+		assertStreamMatchesInMemory(source, true, Arrays.asList(//
+			TestTextFilter.regex("end\\nstart", "|"), //
+			TestTextFilter.regex("(?s)<<.*?>>", "<>"), //
+			TestTextFilter.literal("ab", "X")));
+
+		// Whole-line filters and printed positions carry across sections
+		TestTextFilter wholeLine = TestTextFilter.regex("a\\tb", "tab");
+		wholeLine.setIncludeWholeLine(true);
+		TestTextFilter positioned = TestTextFilter.regex("(?s)<<.*?>>", "<>");
+		positioned.setPrintSourcePosition(true);
+		TestTextFilter lineBreaks = TestTextFilter.regex("end\\nstart", "|");
+		lineBreaks.setPrintSourcePosition(true);
+		assertStreamMatchesInMemory(source, false, Arrays.asList(wholeLine, positioned, lineBreaks));
+	}
+
+	private void assertStreamMatchesInMemory(String source, boolean preserveUnmatched, List<? extends QuickTextFilter> filters)
+		throws IOException {
+		List<QuickTextFilter> filterList = new ArrayList<>(filters);
+		FilterRunner.FilterResult memoryResult = new FilterRunner.FilterResult(filterList.size());
+		String inMemory = FilterRunner.filter(source, filterList, false, preserveUnmatched, memoryResult);
+
+		File sourceFile = theFolder.newFile();
+		File targetFile = theFolder.newFile();
+		Files.write(sourceFile.toPath(), source.getBytes(StandardCharsets.UTF_8));
+		FilterRunner.FilterResult streamResult = new FilterRunner.FilterResult(filterList.size());
+		SettableValue<String> status = SettableValue.create();
+		Assert.assertTrue(FilterRunner.streamFile(sourceFile, targetFile, filterList, preserveUnmatched, streamResult, status, () -> false,
+			Runnable::run));
+		String streamed = new String(Files.readAllBytes(targetFile.toPath()), StandardCharsets.UTF_8);
+
+		Assert.assertEquals(inMemory.length(), streamed.length());
+		for (int i = 0; i < streamed.length(); i++) {
+			if (streamed.charAt(i) != inMemory.charAt(i))
+				Assert.fail("Streamed result differs from in-memory at " + i + ": "
+					+ inMemory.substring(Math.max(0, i - 20), Math.min(inMemory.length(), i + 20)) + " vs "
+					+ streamed.substring(Math.max(0, i - 20), Math.min(streamed.length(), i + 20)));
+		}
+		Assert.assertEquals(memoryResult.applied, streamResult.applied);
+		for (int f = 0; f < filterList.size(); f++) {
+			Assert.assertTrue("Filter " + f + " was never applied", memoryResult.filterApplied[f] > 0);
+			Assert.assertEquals("Filter " + f, memoryResult.filterApplied[f], streamResult.filterApplied[f]);
+		}
+	}
+
+	/**
+	 * @param random The source of randomness for the text
+	 * @param length The minimum length of the text
+	 * @return A text of lines that each begin with "start" and end with "end", with occasional blocks delimited by "&lt;&lt;" and
+	 *         "&gt;&gt;" spanning several lines
+	 */
+	private static String createSource(Random random, int length) {
+		String alphabet = "aab \t";
+		StringBuilder str = new StringBuilder(length + 1000);
+		boolean inBlock = false;
+		int blockStart = 0;
+		while (str.length() < length) {
+			str.append("start");
+			int lineLength = random.nextInt(100);
+			for (int c = 0; c < lineLength; c++) {
+				str.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				// Keep blocks well within the overlap, which is as far as a match can extend past its section
+				if (random.nextInt(2000) == 0 || (inBlock && str.length() - blockStart > QuickTextFilter.STREAM_OVERLAP / 4)) {
+					str.append(inBlock ? ">>" : "<<");
+					inBlock = !inBlock;
+					blockStart = str.length();
+				}
+			}
+			str.append("end\n");
+		}
+		return str.toString();
+	}
+}
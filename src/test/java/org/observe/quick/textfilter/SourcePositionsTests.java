@@ -0,0 +1,92 @@
+package org.observe.quick.textfilter;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests {@link SourcePositions} */
+public class SourcePositionsTests {
+	/** Tests the line and column of every position in a text against a scan of the text from the beginning */
+	@Test
+	public void testAgainstScan() {
+		Random random = new Random(18);
+		// Start with and include runs of empty lines, and end without a line break
+		String text = "\n\n" + createText(random, 5000) + "\n\n\nlast";
+		SourcePositions positions = SourcePositions.of(text);
+		assertMatchesScan(text, positions);
+		Assert.assertSame(positions, SourcePositions.of(text));
+		assertMatchesScan(text, new SourcePositions(text));
+
+		Assert.assertEquals("Line 1 Col 1", positions.printPosition(0));
+		Assert.assertEquals("Line 3 Col 1", positions.printPosition(2));
+		Assert.assertEquals(QuickTextPattern.printPosition(text.length(), text), positions.printPosition(text.length()));
+
+		// Tabs, carriage returns and a text with no line breaks
+		String tabs = "\ta\r\n\t\tb\r\rc\n";
+		assertMatchesScan(tabs, new SourcePositions(tabs));
+		Assert.assertEquals(6, new SourcePositions(tabs).getColumn(2));
+		assertMatchesScan("abc", new SourcePositions("abc"));
+		assertMatchesScan("", new SourcePositions(""));
+	}
+
+	/** Tests that the positions in sections of a text, as when streaming, are the same as the positions in the whole text */
+	@Test
+	public void testSections() {
+		String text = createText(new Random(181), 20000);
+		SourcePositions whole = new SourcePositions(text);
+		Random random = new Random(182);
+		for (int start = 0; start < text.length();) {
+			// Sections start both at line starts and in the middle of lines
+			int end = Math.min(text.length(), start + 1 + random.nextInt(3000));
+			SourcePositions section = new SourcePositions(text.subSequence(start, end), whole.getLine(start), whole.getColumn(start));
+			for (int pos = start; pos <= end; pos++) {
+				Assert.assertEquals("Line at " + pos, whole.getLine(pos), section.getLine(pos - start));
+				Assert.assertEquals("Column at " + pos, whole.getColumn(pos), section.getColumn(pos - start));
+			}
+			start = end;
+		}
+	}
+
+	private static void assertMatchesScan(CharSequence text, SourcePositions positions) {
+		int line = 0, column = 1;
+		for (int pos = 0; pos <= text.length(); pos++) {
+			Assert.assertEquals("Line at " + pos, line, positions.getLine(pos));
+			Assert.assertEquals("Column at " + pos, column, positions.getColumn(pos));
+			if (pos == text.length())
+				break;
+			switch (text.charAt(pos)) {
+			case '\n':
+				line++;
+				column = 1;
+				break;
+			case '\t':
+				column += 4;
+				break;
+			case '\r':
+				break;
+			default:
+				column++;
+			}
+		}
+	}
+
+	/**
+	 * @param random The source of randomness for the text
+	 * @param lines The number of lines in the text, enough that the line index must grow past its initial size
+	 * @return A text of lines of varying lengths, with tabs and some Windows line endings
+	 */
+	private static String createText(Random random, int lines) {
+		String alphabet = "ab c\t";
+		StringBuilder str = new StringBuilder();
+		for (int l = 0; l < lines; l++) {
+			int lineLength = random.nextInt(10) == 0 ? 0 : random.nextInt(40);
+			for (int c = 0; c < lineLength; c++)
+				str.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			if (random.nextInt(5) == 0)
+				str.append('\r');
+			str.append('\n');
+		}
+		return str.toString();
+	}
+}
@@ -0,0 +1,224 @@
+package org.observe.quick.textfilter;
+
+import java.awt.Color;
+
+import org.observe.Observable;
+import org.observe.SimpleObservable;
+import org.qommons.io.BetterPattern;
+
+/** A simple field-backed {@link QuickTextFilter} for testing filtering outside of the UI */
+class TestTextFilter implements QuickTextFilter {
+	private final SimpleObservable<Void> theUpdate = new SimpleObservable<>();
+	private String thePattern;
+	private boolean isExtended;
+	private boolean isMatchCase;
+	private boolean isRegex;
+	private boolean isDotMatchesNewLine;
+	private String theError;
+	private String theStatus;
+	private BetterPattern theRealPattern;
+	private boolean isEnabled;
+	private boolean isIncludeWholeLine;
+	private boolean isPrintSourcePosition;
+	private String theReplacement;
+	private boolean isDirty;
+	private Color theColor;
+	private BetterPattern.BetterPatternReplacement theRealReplacement;
+
+	/**
+	 * @param pattern The regular expression to match
+	 * @param replacement The replacement for matches
+	 * @return An enabled, case-sensitive regex filter
+	 */
+	static TestTextFilter regex(String pattern, String replacement) {
+		TestTextFilter filter = new TestTextFilter();
+		filter.init();
+		filter.setRegex(true).setMatchCase(true).setPattern(pattern);
+		filter.setReplacement(replacement);
+		filter.rebuild();
+		return filter;
+	}
+
+	/**
+	 * @param pattern The literal text to match
+	 * @param replacement The replacement for matches
+	 * @return An enabled, case-sensitive literal filter
+	 */
+	static TestTextFilter literal(String pattern, String replacement) {
+		TestTextFilter filter = new TestTextFilter();
+		filter.init();
+		filter.setMatchCase(true).setPattern(pattern);
+		filter.setReplacement(replacement);
+		filter.rebuild();
+		return filter;
+	}
+
+	@Override
+	public String getPattern() {
+		return thePattern;
+	}
+
+	@Override
+	public TestTextFilter setPattern(String pattern) {
+		thePattern = pattern;
+		return this;
+	}
+
+	@Override
+	public boolean isExtended() {
+		return isExtended;
+	}
+
+	@Override
+	public TestTextFilter setExtended(boolean extended) {
+		isExtended = extended;
+		return this;
+	}
+
+	@Override
+	public boolean isMatchCase() {
+		return isMatchCase;
+	}
+
+	@Override
+	public TestTextFilter setMatchCase(boolean matchCase) {
+		isMatchCase = matchCase;
+		return this;
+	}
+
+	@Override
+	public boolean isRegex() {
+		return isRegex;
+	}
+
+	@Override
+	public TestTextFilter setRegex(boolean regex) {
+		isRegex = regex;
+		return this;
+	}
+
+	@Override
+	public boolean isDotMatchesNewLine() {
+		return isDotMatchesNewLine;
+	}
+
+	@Override
+	public TestTextFilter setDotMatchesNewLine(boolean dotMatchesNewLine) {
+		isDotMatchesNewLine = dotMatchesNewLine;
+		return this;
+	}
+
+	@Override
+	public String getError() {
+		return theError;
+	}
+
+	@Override
+	public TestTextFilter setError(String error) {
+		theError = error;
+		return this;
+	}
+
+	@Override
+	public String getStatus() {
+		return theStatus;
+	}
+
+	@Override
+	public TestTextFilter setStatus(String status) {
+		theStatus = status;
+		return this;
+	}
+
+	@Override
+	public BetterPattern getRealPattern() {
+		return theRealPattern;
+	}
+
+	@Override
+	public void setRealPattern(BetterPattern pattern) {
+		theRealPattern = pattern;
+	}
+
+	@Override
+	public Observable<Void> getUpdate() {
+		return theUpdate;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return isEnabled;
+	}
+
+	@Override
+	public TestTextFilter setEnabled(boolean enabled) {
+		isEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public boolean isIncludeWholeLine() {
+		return isIncludeWholeLine;
+	}
+
+	@Override
+	public TestTextFilter setIncludeWholeLine(boolean includeLine) {
+		isIncludeWholeLine = includeLine;
+		return this;
+	}
+
+	@Override
+	public boolean isPrintSourcePosition() {
+		return isPrintSourcePosition;
+	}
+
+	@Override
+	public TestTextFilter setPrintSourcePosition(boolean printSourcePos) {
+		isPrintSourcePosition = printSourcePos;
+		return this;
+	}
+
+	@Override
+	public String getReplacement() {
+		return theReplacement;
+	}
+
+	@Override
+	public TestTextFilter setReplacement(String replacement) {
+		theReplacement = replacement;
+		return this;
+	}
+
+	@Override
+	public boolean isDirty() {
+		return isDirty;
+	}
+
+	@Override
+	public TestTextFilter setDirty(boolean dirty) {
+		isDirty = dirty;
+		return this;
+	}
+
+	@Override
+	public Color getColor() {
+		return theColor;
+	}
+
+	@Override
+	public TestTextFilter setColor(Color color) {
+		theColor = color;
+		return this;
+	}
+
+	@Override
+	public BetterPattern.BetterPatternReplacement getRealReplacement() {
+		return theRealReplacement;
+	}
+
+	@Override
+	public TestTextFilter setRealReplacement(BetterPattern.BetterPatternReplacement replacement) {
+		theRealReplacement = replacement;
+		return this;
+	}
+}